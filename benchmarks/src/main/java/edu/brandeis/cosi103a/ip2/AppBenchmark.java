@@ -0,0 +1,71 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the buy phase at several points in a game.
+ * Decks grow as the game goes on, so later turns have larger decks.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AppBenchmark {
+    private static final long SEED = 20260101L;
+
+    /** Number of turns played before measuring, which sets the deck size. */
+    @Param({ "0", "20", "60" })
+    private int turnsPlayed;
+
+    private Strategy[] strategies;
+    private App game;
+    private long seed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        strategies = Strategies.forSeats("heuristic", "heuristic");
+        seed = SEED;
+    }
+
+    /**
+     * Finishes the previous turn, or starts a fresh game that has already
+     * played turnsPlayed turns once the current game gets too far ahead.
+     */
+    @Setup(Level.Invocation)
+    public void nextTurn() {
+        if (game != null && !game.isGameOver() && game.getTurn() < turnsPlayed + 10) {
+            game.executeCleanupPhase();
+            game.endTurn();
+            return;
+        }
+        do {
+            game = new App(seed++, strategies);
+            game.playGame(turnsPlayed);
+        } while (game.isGameOver());
+    }
+
+    /**
+     * Plays all cryptocurrency cards in hand and buys one card.
+     *
+     * @return true if a card was bought
+     */
+    @Benchmark
+    public boolean executeBuyPhase() {
+        return game.executeBuyPhase();
+    }
+}
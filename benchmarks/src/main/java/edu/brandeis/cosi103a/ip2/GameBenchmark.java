@@ -0,0 +1,58 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * End-to-end benchmark: complete games per second, from new App() until the
+ * Framework pile is empty. Games cycle through a fixed set of seeds.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameBenchmark {
+    private static final int SEED_COUNT = 1024;
+
+    /** Strategy used by both seats. */
+    @Param({ "heuristic", "big-money" })
+    private String strategy;
+
+    private Strategy[] strategies;
+    private long[] seeds;
+    private int nextSeed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        strategies = Strategies.forSeats(strategy, strategy);
+        seeds = new long[SEED_COUNT];
+        for (int i = 0; i < SEED_COUNT; i++) {
+            seeds[i] = GameSimulator.gameSeed(20260101L, i);
+        }
+    }
+
+    /**
+     * Plays one complete game.
+     *
+     * @return the number of turns played
+     */
+    @Benchmark
+    public int playGame() {
+        App game = new App(seeds[nextSeed++ & (SEED_COUNT - 1)], strategies);
+        return game.playGame(GameSimulator.DEFAULT_TURN_LIMIT);
+    }
+}
@@ -0,0 +1,102 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the Player deck operations at several deck sizes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerBenchmark {
+    private static final long SEED = 20260101L;
+
+    @Param({ "10", "40", "160" })
+    private int deckSize;
+
+    private Player drawingPlayer;
+    private Player cleanupPlayer;
+    private Player reshufflingPlayer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        drawingPlayer = newPlayer(deckSize);
+        cleanupPlayer = newPlayer(deckSize);
+        cleanupPlayer.cleanupPhase();
+        reshufflingPlayer = newPlayer(deckSize);
+    }
+
+    /**
+     * Draws one card and plays it back to the discard pile. The draw pile is
+     * reshuffled once every deckSize draws.
+     *
+     * @return the drawn card
+     */
+    @Benchmark
+    public Card drawCard() {
+        Card card = drawingPlayer.drawCard();
+        drawingPlayer.playCard(card);
+        return card;
+    }
+
+    /**
+     * Discards the hand and deals a new hand of five cards.
+     *
+     * @return the new hand size
+     */
+    @Benchmark
+    public int cleanupPhase() {
+        cleanupPlayer.cleanupPhase();
+        return cleanupPlayer.getHandSize();
+    }
+
+    /**
+     * Draws from an empty draw pile, which reshuffles the whole discard pile
+     * into the draw pile. The draw pile is emptied first by swapping it with
+     * the empty discard pile, and the drawn card goes back onto the draw pile
+     * afterwards; both steps take constant time, so the score is dominated by
+     * the reshuffle without needing a per-invocation setup.
+     *
+     * @return the drawn card
+     */
+    @Benchmark
+    public Card reshuffleDiscardIntoDraw() {
+        reshufflingPlayer.getDrawPile().swap(reshufflingPlayer.getDiscardPile());
+        Card card = reshufflingPlayer.drawCard();
+        reshufflingPlayer.removeCardFromHand(card);
+        reshufflingPlayer.addCardToDrawPile(card);
+        return card;
+    }
+
+    /**
+     * Creates a player whose draw pile holds deckSize cards of every standard
+     * type in turn.
+     *
+     * @param deckSize the number of cards
+     * @return the player
+     */
+    private static Player newPlayer(int deckSize) {
+        Player player = new Player("Bench", 0, new SplittableRandom(SEED));
+        for (int i = 0; i < deckSize; i++) {
+            player.addCardToDrawPile(CardType.byId(i % CardType.STANDARD_COUNT).getCard());
+        }
+        return player;
+    }
+}
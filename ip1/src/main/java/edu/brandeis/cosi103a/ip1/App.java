@@ -1,7 +1,8 @@
 package edu.brandeis.cosi103a.ip1;
 
-import java.util.Scanner;
 import java.util.Random;
+import java.util.Scanner;
+import java.util.random.RandomGenerator;
 
 /**
  * A 2-player command-line dice rolling game.
@@ -9,25 +10,62 @@ import java.util.Random;
  * On each turn, a player rolls a 6-sided die and can re-roll up to 2 times.
  * The final die value is added to their score.
  * The player with the highest score wins.
+ * Run with the argument {@code --computer} to play against an
+ * {@link OptimalPlayer} as Player 2.
+ *
+ * The game itself is a {@link DiceGame}; the static methods below drive one
+ * shared console game and are kept for existing callers.
  */
 public class App {
-    private static final int MAX_TURNS = 10;
-    private static final int MAX_REROLLS = 2;
-    private static final int DIE_SIDES = 6;
+    private static final int MAX_TURNS = DiceGame.DEFAULT_TURNS;
+    private static final int MAX_REROLLS = DiceGame.DEFAULT_REROLLS;
+    private static final int DIE_SIDES = DiceGame.DEFAULT_SIDES;
 
-    private static int player1Score = 0;
-    private static int player2Score = 0;
     private static Scanner scanner;
-    private static Random random;
+    private static Random random = new Random();
+    private static ConsoleRerollPolicy console;
+
+    /**
+     * Re-roll policy that asks on the console. It forwards to a
+     * {@link ConsoleRerollPolicy} that is created once for each scanner.
+     */
+    private static final RerollPolicy CONSOLE = new RerollPolicy() {
+        @Override
+        public boolean shouldReroll(int currentRoll, int rerollsUsed) {
+            return console.shouldReroll(currentRoll, rerollsUsed);
+        }
+    };
+
+    /** Die rolls for the shared game, taken from the current random. */
+    private static final RandomGenerator ROLLS = new RandomGenerator() {
+        @Override
+        public long nextLong() {
+            return random.nextLong();
+        }
+
+        @Override
+        public int nextInt(int bound) {
+            return random.nextInt(bound);
+        }
+    };
+
+    private static DiceGame game = newConsoleGame(CONSOLE);
 
     public static void main(String[] args) {
-        scanner = new Scanner(System.in);
+        setScanner(new Scanner(System.in));
         random = new Random();
+        OptimalPlayer computer = null;
+        for (String arg : args) {
+            if (arg.equals("--computer")) {
+                computer = new OptimalPlayer(DIE_SIDES, MAX_REROLLS);
+            }
+        }
+        game = newConsoleGame(computer != null ? computer : CONSOLE);
 
         System.out.println("========================================");
         System.out.println("    Welcome to the Dice Rolling Game!    ");
         System.out.println("========================================");
-        System.out.println("Players: Player 1 vs Player 2");
+        System.out.println("Players: Player 1 vs Player 2" + (computer != null ? " (computer)" : ""));
         System.out.println("Max Turns: " + MAX_TURNS);
         System.out.println("Max Re-rolls per turn: " + MAX_REROLLS);
         System.out.println("========================================\n");
@@ -37,12 +75,12 @@ public class App {
             System.out.println("--- TURN " + turn + " ---");
 
             // Player 1's turn
-            playTurn("Player 1");
+            game.playTurn(0);
 
             // Player 2's turn
-            playTurn("Player 2");
+            game.playTurn(1);
 
-            System.out.println("\nCurrent Scores: Player 1: " + player1Score + " | Player 2: " + player2Score + "\n");
+            System.out.println("\nCurrent Scores: Player 1: " + getPlayer1Score() + " | Player 2: " + getPlayer2Score() + "\n");
         }
 
         // Determine the winner
@@ -50,14 +88,13 @@ public class App {
         System.out.println("              GAME OVER!                 ");
         System.out.println("========================================");
         System.out.println("Final Scores:");
-        System.out.println("Player 1: " + player1Score);
-        System.out.println("Player 2: " + player2Score);
+        System.out.println("Player 1: " + getPlayer1Score());
+        System.out.println("Player 2: " + getPlayer2Score());
         System.out.println("========================================");
 
-        if (player1Score > player2Score) {
-            System.out.println("🎉 Player 1 WINS! 🎉");
-        } else if (player2Score > player1Score) {
-            System.out.println("🎉 Player 2 WINS! 🎉");
+        int winner = game.getWinner();
+        if (winner >= 0) {
+            System.out.println("🎉 " + game.getPlayerName(winner) + " WINS! 🎉");
         } else {
             System.out.println("It's a TIE!");
         }
@@ -65,6 +102,18 @@ public class App {
         scanner.close();
     }
 
+    /**
+     * Creates the shared console game. Player 1 always answers on the console.
+     *
+     * @param player2 the re-roll policy of Player 2
+     * @return the new game
+     */
+    private static DiceGame newConsoleGame(RerollPolicy player2) {
+        DiceGame newGame = new DiceGame(DIE_SIDES, MAX_REROLLS, MAX_TURNS, ROLLS, CONSOLE, player2);
+        newGame.setOutput(System.out);
+        return newGame;
+    }
+
     /**
      * Simulates one player's turn.
      * The player rolls a die and can choose to re-roll up to 2 times.
@@ -72,41 +121,7 @@ public class App {
      * @param playerName the name of the player taking the turn
      */
     public static void playTurn(String playerName) {
-        System.out.println("\n" + playerName + "'s Turn:");
-
-        int currentRoll = rollDie();
-        System.out.println("You rolled: " + currentRoll);
-
-        int rerollsUsed = 0;
-
-        // Allow up to 2 re-rolls
-        while (rerollsUsed < MAX_REROLLS) {
-            System.out.print("Do you want to re-roll? (yes/no): ");
-            String response = scanner.nextLine().trim().toLowerCase();
-
-            if (response.equals("yes") || response.equals("y")) {
-                rerollsUsed++;
-                currentRoll = rollDie();
-                System.out.println("You rolled: " + currentRoll);
-            } else if (response.equals("no") || response.equals("n")) {
-                break;
-            } else {
-                System.out.println("Invalid input. Please enter 'yes' or 'no'.");
-            }
-        }
-
-        if (rerollsUsed == MAX_REROLLS) {
-            System.out.println("You've used all your re-rolls. Your final score for this turn: " + currentRoll);
-        } else {
-            System.out.println("Your final score for this turn: " + currentRoll);
-        }
-
-        // Add the score to the player's total
-        if (playerName.equals("Player 1")) {
-            player1Score += currentRoll;
-        } else {
-            player2Score += currentRoll;
-        }
+        game.playTurn(playerName.equals("Player 1") ? 0 : 1);
     }
 
     /**
@@ -116,6 +131,7 @@ public class App {
      */
     public static void setScanner(Scanner newScanner) {
         scanner = newScanner;
+        console = new ConsoleRerollPolicy(newScanner, System.out);
     }
 
     /**
@@ -124,7 +140,7 @@ public class App {
      * @return a random number between 1 and 6
      */
     public static int rollDie() {
-        return random.nextInt(DIE_SIDES) + 1;
+        return game.rollDie();
     }
 
     /**
@@ -133,7 +149,7 @@ public class App {
      * @return player 1's score
      */
     public static int getPlayer1Score() {
-        return player1Score;
+        return game.getScore(0);
     }
 
     /**
@@ -142,15 +158,14 @@ public class App {
      * @return player 2's score
      */
     public static int getPlayer2Score() {
-        return player2Score;
+        return game.getScore(1);
     }
 
     /**
      * Resets both player scores to 0.
      */
     public static void resetScores() {
-        player1Score = 0;
-        player2Score = 0;
+        game.resetScores();
     }
 
     /**
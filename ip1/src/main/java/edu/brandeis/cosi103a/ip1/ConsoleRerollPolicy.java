@@ -0,0 +1,47 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.io.PrintStream;
+import java.util.Scanner;
+
+/**
+ * Asks a human player whether to re-roll, reading "yes" or "no" answers.
+ */
+public class ConsoleRerollPolicy implements RerollPolicy {
+    private final Scanner scanner;
+    private final PrintStream out;
+
+    /**
+     * Constructs a policy that prompts on the given stream and reads answers
+     * from the given scanner.
+     *
+     * @param scanner the source of the player's answers
+     * @param out     the stream to print prompts to
+     */
+    public ConsoleRerollPolicy(Scanner scanner, PrintStream out) {
+        this.scanner = scanner;
+        this.out = out;
+    }
+
+    /**
+     * Asks until the player answers "yes" or "no" (or "y" or "n").
+     *
+     * @param currentRoll the value currently showing on the die
+     * @param rerollsUsed the number of re-rolls already used this turn
+     * @return true if the player answered yes
+     */
+    @Override
+    public boolean shouldReroll(int currentRoll, int rerollsUsed) {
+        while (true) {
+            out.print("Do you want to re-roll? (yes/no): ");
+            String response = scanner.nextLine().trim().toLowerCase();
+
+            if (response.equals("yes") || response.equals("y")) {
+                return true;
+            } else if (response.equals("no") || response.equals("n")) {
+                return false;
+            } else {
+                out.println("Invalid input. Please enter 'yes' or 'no'.");
+            }
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.io.PrintStream;
+import java.util.random.RandomGenerator;
+
+/**
+ * One game of the dice rolling game.
+ * Each player gets a fixed number of turns to roll a die. On each turn the
+ * player may re-roll a limited number of times, and the final die value is
+ * added to their score. The player with the highest score wins.
+ *
+ * All state belongs to the instance, so any number of games can run at the
+ * same time. Re-roll decisions come from one {@link RerollPolicy} per player
+ * and all rolls come from either an injected random number generator or, for
+ * simulations, a batching {@link DiceRoller}.
+ */
+public class DiceGame {
+    /** Default number of turns per player. */
+    public static final int DEFAULT_TURNS = 10;
+    /** Default number of re-rolls per turn. */
+    public static final int DEFAULT_REROLLS = 2;
+    /** Default number of sides on the die. */
+    public static final int DEFAULT_SIDES = 6;
+
+    private final int dieSides;
+    private final int maxRerolls;
+    private final int turns;
+    private final RandomGenerator random;
+    private final DiceRoller roller;
+    private final RerollPolicy[] policies;
+    private final int[] scores;
+    private PrintStream out;
+
+    /**
+     * Constructs a silent game with the default die, re-rolls and turns.
+     *
+     * @param random   the source of all die rolls
+     * @param policies the re-roll policy of each player, in turn order
+     */
+    public DiceGame(RandomGenerator random, RerollPolicy... policies) {
+        this(DEFAULT_SIDES, DEFAULT_REROLLS, DEFAULT_TURNS, random, policies);
+    }
+
+    /**
+     * Constructs a silent game.
+     *
+     * @param dieSides   the number of sides on the die
+     * @param maxRerolls the number of re-rolls allowed per turn
+     * @param turns      the number of turns per player
+     * @param random     the source of all die rolls
+     * @param policies   the re-roll policy of each player, in turn order
+     * @throws IllegalArgumentException if a parameter is out of range or no
+     *                                  policies are given
+     */
+    public DiceGame(int dieSides, int maxRerolls, int turns, RandomGenerator random, RerollPolicy... policies) {
+        this(dieSides, maxRerolls, turns, random, null, policies);
+    }
+
+    /**
+     * Constructs a silent game that takes its rolls from a batch roller.
+     * The die has as many sides as the roller's die.
+     *
+     * @param roller     the source of all die rolls
+     * @param maxRerolls the number of re-rolls allowed per turn
+     * @param turns      the number of turns per player
+     * @param policies   the re-roll policy of each player, in turn order
+     * @throws IllegalArgumentException if a parameter is out of range or no
+     *                                  policies are given
+     */
+    public DiceGame(DiceRoller roller, int maxRerolls, int turns, RerollPolicy... policies) {
+        this(roller.getSides(), maxRerolls, turns, null, roller, policies);
+    }
+
+    /**
+     * Constructs a silent game with exactly one source of rolls.
+     *
+     * @param dieSides   the number of sides on the die
+     * @param maxRerolls the number of re-rolls allowed per turn
+     * @param turns      the number of turns per player
+     * @param random     the source of rolls, or null if roller is used
+     * @param roller     the source of rolls, or null if random is used
+     * @param policies   the re-roll policy of each player, in turn order
+     */
+    private DiceGame(int dieSides, int maxRerolls, int turns, RandomGenerator random, DiceRoller roller,
+            RerollPolicy... policies) {
+        if (dieSides < 1 || maxRerolls < 0 || turns < 0) {
+            throw new IllegalArgumentException("Invalid game: " + dieSides + " sides, "
+                    + maxRerolls + " re-rolls, " + turns + " turns");
+        }
+        if (policies.length == 0) {
+            throw new IllegalArgumentException("A game needs at least one player");
+        }
+        this.dieSides = dieSides;
+        this.maxRerolls = maxRerolls;
+        this.turns = turns;
+        this.random = random;
+        this.roller = roller;
+        this.policies = policies.clone();
+        this.scores = new int[policies.length];
+    }
+
+    /**
+     * Sets the stream that turns are narrated to.
+     *
+     * @param out the stream to print to, or null to play silently
+     */
+    public void setOutput(PrintStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Plays every turn of the game from the current scores.
+     *
+     * @return the index of the winning player, or -1 if the highest score is
+     *         shared
+     */
+    public int play() {
+        for (int turn = 1; turn <= turns; turn++) {
+            if (out != null) {
+                out.println("--- TURN " + turn + " ---");
+            }
+            for (int player = 0; player < policies.length; player++) {
+                playTurn(player);
+            }
+        }
+        return getWinner();
+    }
+
+    /**
+     * Plays one turn for a player and adds the final die value to their score.
+     *
+     * @param player the index of the player taking the turn
+     * @return the final die value of the turn
+     */
+    public int playTurn(int player) {
+        if (out != null) {
+            out.println("\n" + getPlayerName(player) + "'s Turn:");
+        }
+
+        int currentRoll = rollDie();
+        if (out != null) {
+            out.println("You rolled: " + currentRoll);
+        }
+
+        int rerollsUsed = 0;
+        while (rerollsUsed < maxRerolls && policies[player].shouldReroll(currentRoll, rerollsUsed)) {
+            rerollsUsed++;
+            currentRoll = rollDie();
+            if (out != null) {
+                out.println("You rolled: " + currentRoll);
+            }
+        }
+
+        if (out != null) {
+            if (rerollsUsed == maxRerolls) {
+                out.println("You've used all your re-rolls. Your final score for this turn: " + currentRoll);
+            } else {
+                out.println("Your final score for this turn: " + currentRoll);
+            }
+        }
+
+        scores[player] += currentRoll;
+        return currentRoll;
+    }
+
+    /**
+     * Rolls the die.
+     *
+     * @return a random number between 1 and the number of sides
+     */
+    public int rollDie() {
+        if (roller != null) {
+            return roller.roll();
+        }
+        return random.nextInt(dieSides) + 1;
+    }
+
+    /**
+     * Gets the winner by the current scores.
+     *
+     * @return the index of the player with the highest score, or -1 if the
+     *         highest score is shared
+     */
+    public int getWinner() {
+        int winner = -1;
+        int best = Integer.MIN_VALUE;
+        for (int player = 0; player < scores.length; player++) {
+            if (scores[player] > best) {
+                best = scores[player];
+                winner = player;
+            } else if (scores[player] == best) {
+                winner = -1;
+            }
+        }
+        return winner;
+    }
+
+    /**
+     * Gets a player's display name.
+     *
+     * @param player the index of the player
+     * @return the name, such as "Player 1"
+     */
+    public String getPlayerName(int player) {
+        return "Player " + (player + 1);
+    }
+
+    /**
+     * Gets a player's current score.
+     *
+     * @param player the index of the player
+     * @return the player's score
+     */
+    public int getScore(int player) {
+        return scores[player];
+    }
+
+    /**
+     * Gets the number of players.
+     *
+     * @return the number of players
+     */
+    public int getPlayerCount() {
+        return policies.length;
+    }
+
+    /**
+     * Gets the number of turns per player.
+     *
+     * @return the number of turns
+     */
+    public int getTurns() {
+        return turns;
+    }
+
+    /**
+     * Gets the number of re-rolls allowed per turn.
+     *
+     * @return the re-roll budget
+     */
+    public int getMaxRerolls() {
+        return maxRerolls;
+    }
+
+    /**
+     * Gets the number of sides on the die.
+     *
+     * @return the number of sides
+     */
+    public int getDieSides() {
+        return dieSides;
+    }
+
+    /**
+     * Resets every player's score to 0, so the game can be played again.
+     */
+    public void resetScores() {
+        for (int player = 0; player < scores.length; player++) {
+            scores[player] = 0;
+        }
+    }
+}
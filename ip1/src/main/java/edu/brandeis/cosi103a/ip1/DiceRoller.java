@@ -0,0 +1,158 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.nio.IntBuffer;
+
+/**
+ * Fast, unsynchronized source of die rolls for simulations.
+ * Rolls are generated in batches with the xoroshiro128++ generator. Each
+ * 64-bit output gives two 32-bit samples, which are mapped onto the die with
+ * Lemire's multiply-shift method. Samples that would make some faces more
+ * likely are rejected, so every face is exactly equally likely.
+ *
+ * A roller is meant to be owned by one thread; use one roller per thread.
+ */
+public final class DiceRoller {
+    /** Number of rolls generated at a time for {@link #roll()}. */
+    private static final int BATCH = 1024;
+
+    private static final long LOW_32 = 0xFFFFFFFFL;
+
+    private final int sides;
+    private final long threshold;
+    private final int[] batch;
+    private int position;
+    private long s0;
+    private long s1;
+
+    /**
+     * Constructs a roller for a die with the given number of sides.
+     *
+     * @param sides the number of sides, numbered 1 to sides
+     * @param seed  the seed of the generator
+     * @throws IllegalArgumentException if sides is less than 1
+     */
+    public DiceRoller(int sides, long seed) {
+        if (sides < 1) {
+            throw new IllegalArgumentException("Die must have at least one side: " + sides);
+        }
+        this.sides = sides;
+        // 2^32 mod sides: low products below this are rejected
+        this.threshold = (1L << 32) % sides;
+        this.batch = new int[BATCH];
+        reseed(seed);
+    }
+
+    /**
+     * Restarts the generator from a new seed and discards buffered rolls.
+     *
+     * @param seed the new seed
+     */
+    public void reseed(long seed) {
+        s0 = mix(seed + 0x9e3779b97f4a7c15L);
+        s1 = mix(seed + 0x3c6ef372fe94f82aL);
+        if ((s0 | s1) == 0) {
+            s1 = 1;
+        }
+        position = BATCH;
+    }
+
+    /**
+     * Gets the number of sides on the die.
+     *
+     * @return the number of sides
+     */
+    public int getSides() {
+        return sides;
+    }
+
+    /**
+     * Rolls the die once, taking the roll from the current batch and
+     * generating a new batch when it runs out.
+     *
+     * @return a number between 1 and the number of sides
+     */
+    public int roll() {
+        if (position == BATCH) {
+            fill(batch, 0, BATCH);
+            position = 0;
+        }
+        return batch[position++];
+    }
+
+    /**
+     * Fills an array with rolls.
+     *
+     * @param rolls the array to fill
+     */
+    public void fill(int[] rolls) {
+        fill(rolls, 0, rolls.length);
+    }
+
+    /**
+     * Fills part of an array with rolls.
+     *
+     * @param rolls the array to fill
+     * @param from  the first index to fill, inclusive
+     * @param to    the last index to fill, exclusive
+     */
+    public void fill(int[] rolls, int from, int to) {
+        long a = s0;
+        long b = s1;
+        long n = sides;
+        long limit = threshold;
+        int i = from;
+        while (i < to) {
+            // xoroshiro128++ step
+            long result = Long.rotateLeft(a + b, 17) + a;
+            b ^= a;
+            a = Long.rotateLeft(a, 49) ^ b ^ (b << 21);
+            b = Long.rotateLeft(b, 28);
+
+            long m = (result >>> 32) * n;
+            if ((m & LOW_32) >= limit) {
+                rolls[i++] = (int) (m >>> 32) + 1;
+            }
+            if (i < to) {
+                m = (result & LOW_32) * n;
+                if ((m & LOW_32) >= limit) {
+                    rolls[i++] = (int) (m >>> 32) + 1;
+                }
+            }
+        }
+        s0 = a;
+        s1 = b;
+    }
+
+    /**
+     * Fills the remaining space of a buffer with rolls, advancing its
+     * position to its limit.
+     *
+     * @param rolls the buffer to fill
+     */
+    public void fill(IntBuffer rolls) {
+        if (rolls.hasArray()) {
+            int start = rolls.arrayOffset() + rolls.position();
+            fill(rolls.array(), start, start + rolls.remaining());
+            rolls.position(rolls.limit());
+            return;
+        }
+        int[] chunk = new int[Math.min(BATCH, rolls.remaining())];
+        while (rolls.hasRemaining()) {
+            int count = Math.min(chunk.length, rolls.remaining());
+            fill(chunk, 0, count);
+            rolls.put(chunk, 0, count);
+        }
+    }
+
+    /**
+     * Scrambles a seed with the SplitMix64 finalizer.
+     *
+     * @param z the value to scramble
+     * @return the scrambled value
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
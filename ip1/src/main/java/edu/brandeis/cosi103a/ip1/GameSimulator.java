@@ -0,0 +1,182 @@
+package edu.brandeis.cosi103a.ip1;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays large batches of automated dice games and aggregates the results.
+ * Games are silent and fully determined by the simulator seed. Games are
+ * played in fixed blocks of consecutive indices; each block draws its rolls
+ * from one {@link DiceRoller} whose seed depends only on the run seed and the
+ * block's index. Parallel tasks only split at block boundaries, so sequential
+ * and parallel runs of the same batch produce identical results regardless of
+ * the number of threads.
+ */
+public class GameSimulator {
+    /** Number of games played from one roller seed, and the smallest task. */
+    private static final int GAMES_PER_BLOCK = 4096;
+
+    /**
+     * Increment of the SplitMix64 sequence used to derive block seeds. The
+     * roller is reseeded once per block of {@link #GAMES_PER_BLOCK} games,
+     * not once per game.
+     */
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final int dieSides;
+    private final int maxRerolls;
+    private final int turns;
+    private final RerollPolicy[] policies;
+
+    /**
+     * Constructs a simulator for games with the default die, re-rolls and
+     * turns.
+     *
+     * @param policies the re-roll policy of each player, in turn order; they
+     *                 are shared by all games and must be thread-safe
+     */
+    public GameSimulator(RerollPolicy... policies) {
+        this(DiceGame.DEFAULT_SIDES, DiceGame.DEFAULT_REROLLS, DiceGame.DEFAULT_TURNS, policies);
+    }
+
+    /**
+     * Constructs a simulator.
+     *
+     * @param dieSides   the number of sides on the die
+     * @param maxRerolls the number of re-rolls allowed per turn
+     * @param turns      the number of turns per player
+     * @param policies   the re-roll policy of each player, in turn order; they
+     *                   are shared by all games and must be thread-safe
+     */
+    public GameSimulator(int dieSides, int maxRerolls, int turns, RerollPolicy... policies) {
+        this.dieSides = dieSides;
+        this.maxRerolls = maxRerolls;
+        this.turns = turns;
+        this.policies = policies.clone();
+    }
+
+    /**
+     * Runs a batch of games on the calling thread.
+     *
+     * @param games the number of games to play
+     * @param seed  the seed from which each game's seed is derived
+     * @return the aggregate results of all games
+     */
+    public SimulationResult run(long games, long seed) {
+        return runBlocks(seed, 0, blocks(games), games);
+    }
+
+    /**
+     * Runs a batch of games spread across all cores of the common fork-join
+     * pool.
+     *
+     * @param games the number of games to play
+     * @param seed  the seed from which each game's seed is derived
+     * @return the aggregate results of all games
+     */
+    public SimulationResult runParallel(long games, long seed) {
+        return runParallel(games, seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Runs a batch of games spread across the threads of the given pool.
+     *
+     * @param games the number of games to play
+     * @param seed  the seed from which each game's seed is derived
+     * @param pool  the pool to run the games on
+     * @return the aggregate results of all games
+     */
+    public SimulationResult runParallel(long games, long seed, ForkJoinPool pool) {
+        return pool.invoke(new SimulationTask(seed, 0, blocks(games), games));
+    }
+
+    /**
+     * Counts the blocks needed for a number of games.
+     *
+     * @param games the number of games
+     * @return the number of blocks, the last of which may be partial
+     */
+    private static long blocks(long games) {
+        return (games + GAMES_PER_BLOCK - 1) / GAMES_PER_BLOCK;
+    }
+
+    /**
+     * Plays the games of the blocks with indices in [from, to), reusing one
+     * game and one roller for all of them.
+     *
+     * @param seed  the run seed
+     * @param from  the first block index, inclusive
+     * @param to    the last block index, exclusive
+     * @param games the total number of games in the run
+     * @return the aggregate results of those games
+     */
+    private SimulationResult runBlocks(long seed, long from, long to, long games) {
+        SimulationResult result = new SimulationResult(policies.length);
+        DiceRoller roller = new DiceRoller(dieSides, 0L);
+        DiceGame game = new DiceGame(roller, maxRerolls, turns, policies);
+        for (long block = from; block < to; block++) {
+            roller.reseed(gameSeed(seed, block));
+            long end = Math.min(games, (block + 1) * GAMES_PER_BLOCK);
+            for (long i = block * GAMES_PER_BLOCK; i < end; i++) {
+                game.resetScores();
+                result.recordGame(game, game.play());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Derives the seed of one block of games from the run seed, using the
+     * SplitMix64 mixing function.
+     *
+     * @param seed  the run seed
+     * @param index the block's index within the run
+     * @return the block's seed
+     */
+    static long gameSeed(long seed, long index) {
+        long z = seed + (index + 1L) * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Fork-join task that plays a range of blocks, splitting it in half until
+     * a single block is left.
+     */
+    private class SimulationTask extends RecursiveTask<SimulationResult> {
+        private static final long serialVersionUID = 1L;
+        private final long seed;
+        private final long from;
+        private final long to;
+        private final long games;
+
+        /**
+         * Constructs a task for the blocks with indices in [from, to).
+         *
+         * @param seed  the run seed
+         * @param from  the first block index, inclusive
+         * @param to    the last block index, exclusive
+         * @param games the total number of games in the run
+         */
+        SimulationTask(long seed, long from, long to, long games) {
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+            this.games = games;
+        }
+
+        @Override
+        protected SimulationResult compute() {
+            if (to - from <= 1) {
+                return runBlocks(seed, from, to, games);
+            }
+            long middle = (from + to) >>> 1;
+            SimulationTask left = new SimulationTask(seed, from, middle, games);
+            left.fork();
+            SimulationResult result = new SimulationTask(seed, middle, to, games).compute();
+            result.merge(left.join());
+            return result;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package edu.brandeis.cosi103a.ip1;
+
+/**
+ * A computer player that makes re-roll decisions with a {@link RerollSolver},
+ * maximizing its expected score. The player is stateless, so one instance can
+ * be shared by many concurrent games.
+ */
+public class OptimalPlayer implements RerollPolicy {
+    private final RerollSolver solver;
+
+    /**
+     * Constructs a player for the given die and re-roll budget.
+     *
+     * @param dieSides   the number of sides on the die
+     * @param maxRerolls the number of re-rolls allowed per turn
+     */
+    public OptimalPlayer(int dieSides, int maxRerolls) {
+        this(new RerollSolver(dieSides, maxRerolls));
+    }
+
+    /**
+     * Constructs a player that uses an existing solver.
+     *
+     * @param solver the solved re-roll policy
+     */
+    public OptimalPlayer(RerollSolver solver) {
+        this.solver = solver;
+    }
+
+    /**
+     * Decides whether to re-roll the current die.
+     *
+     * @param currentRoll the value currently showing on the die
+     * @param rerollsUsed the number of re-rolls already used this turn
+     * @return true to re-roll, false to keep the current value
+     */
+    @Override
+    public boolean shouldReroll(int currentRoll, int rerollsUsed) {
+        return solver.shouldReroll(solver.getMaxRerolls() - rerollsUsed, currentRoll);
+    }
+
+    /**
+     * Gets the solver this player uses.
+     *
+     * @return the solver
+     */
+    public RerollSolver getSolver() {
+        return solver;
+    }
+}
@@ -0,0 +1,19 @@
+package edu.brandeis.cosi103a.ip1;
+
+/**
+ * Decides whether a player re-rolls the die during a turn of the dice game.
+ * Policies used by {@link GameSimulator#runParallel} are shared between
+ * threads, so they must be thread-safe; stateless policies are.
+ */
+public interface RerollPolicy {
+
+    /**
+     * Decides whether to re-roll the current die.
+     * This is only asked while the player has re-rolls left.
+     *
+     * @param currentRoll the value currently showing on the die
+     * @param rerollsUsed the number of re-rolls already used this turn
+     * @return true to re-roll, false to keep the current value
+     */
+    boolean shouldReroll(int currentRoll, int rerollsUsed);
+}
@@ -0,0 +1,154 @@
+package edu.brandeis.cosi103a.ip1;
+
+/**
+ * Computes the optimal re-roll policy for the dice game.
+ * On each turn a player rolls a die and may re-roll a limited number of
+ * times, keeping the last roll. Turns are independent and scores add up, so
+ * maximizing the expected score of a game means maximizing the expected score
+ * of each turn.
+ *
+ * The solver fills a table of the expected turn score for every
+ * (re-rolls left, current value) pair, building on the row for one fewer
+ * re-roll. With r re-rolls left and a current roll of v, the player should
+ * re-roll exactly when v is below the expected score of a fresh roll with
+ * r - 1 re-rolls left. Solving takes O(rerolls * sides) time, so a
+ * 1000-sided die with 50 re-rolls takes well under a millisecond.
+ */
+public class RerollSolver {
+    private final int dieSides;
+    private final int maxRerolls;
+    private final double[][] values;
+    private final double[] freshRoll;
+
+    /**
+     * Constructs a solver for the given die and re-roll budget and solves it.
+     *
+     * @param dieSides   the number of sides on the die, numbered 1 to dieSides
+     * @param maxRerolls the number of re-rolls allowed per turn
+     * @throws IllegalArgumentException if dieSides is less than 1 or
+     *                                  maxRerolls is negative
+     */
+    public RerollSolver(int dieSides, int maxRerolls) {
+        if (dieSides < 1) {
+            throw new IllegalArgumentException("Die must have at least one side: " + dieSides);
+        }
+        if (maxRerolls < 0) {
+            throw new IllegalArgumentException("Re-rolls cannot be negative: " + maxRerolls);
+        }
+        this.dieSides = dieSides;
+        this.maxRerolls = maxRerolls;
+        this.values = new double[maxRerolls + 1][dieSides + 1];
+        this.freshRoll = new double[maxRerolls + 1];
+        solve();
+    }
+
+    /**
+     * Fills the value table one re-roll budget at a time.
+     */
+    private void solve() {
+        for (int rerolls = 0; rerolls <= maxRerolls; rerolls++) {
+            // Value of re-rolling: a fresh roll with one fewer re-roll left
+            double rerollValue = rerolls == 0 ? Double.NEGATIVE_INFINITY : freshRoll[rerolls - 1];
+            double sum = 0;
+            for (int value = 1; value <= dieSides; value++) {
+                values[rerolls][value] = Math.max(value, rerollValue);
+                sum += values[rerolls][value];
+            }
+            freshRoll[rerolls] = sum / dieSides;
+        }
+    }
+
+    /**
+     * Gets the number of sides on the die.
+     *
+     * @return the number of sides
+     */
+    public int getDieSides() {
+        return dieSides;
+    }
+
+    /**
+     * Gets the number of re-rolls allowed per turn.
+     *
+     * @return the re-roll budget
+     */
+    public int getMaxRerolls() {
+        return maxRerolls;
+    }
+
+    /**
+     * Gets the expected final score of a turn when playing optimally.
+     *
+     * @param rerollsLeft  the number of re-rolls still available
+     * @param currentValue the value currently showing on the die
+     * @return the expected score of the turn from this point
+     */
+    public double expectedValue(int rerollsLeft, int currentValue) {
+        checkState(rerollsLeft, currentValue);
+        return values[rerollsLeft][currentValue];
+    }
+
+    /**
+     * Decides whether to re-roll.
+     * Ties are kept rather than re-rolled.
+     *
+     * @param rerollsLeft  the number of re-rolls still available
+     * @param currentValue the value currently showing on the die
+     * @return true if re-rolling has a higher expected score than keeping the
+     *         current value
+     */
+    public boolean shouldReroll(int rerollsLeft, int currentValue) {
+        checkState(rerollsLeft, currentValue);
+        return rerollsLeft > 0 && currentValue < freshRoll[rerollsLeft - 1];
+    }
+
+    /**
+     * Gets the lowest value worth keeping with the given number of re-rolls
+     * left.
+     *
+     * @param rerollsLeft the number of re-rolls still available
+     * @return the smallest value for which the optimal policy stops rolling
+     */
+    public int keepThreshold(int rerollsLeft) {
+        checkState(rerollsLeft, 1);
+        if (rerollsLeft == 0) {
+            return 1;
+        }
+        return (int) Math.min(dieSides, Math.ceil(freshRoll[rerollsLeft - 1]));
+    }
+
+    /**
+     * Gets the expected score of one turn played optimally from the first roll.
+     *
+     * @return the expected turn score
+     */
+    public double expectedTurnScore() {
+        return freshRoll[maxRerolls];
+    }
+
+    /**
+     * Gets the expected total score of a game played optimally.
+     *
+     * @param turns the number of turns in the game
+     * @return the expected total score
+     */
+    public double expectedGameScore(int turns) {
+        return turns * expectedTurnScore();
+    }
+
+    /**
+     * Checks that a state is inside the solved table.
+     *
+     * @param rerollsLeft  the number of re-rolls still available
+     * @param currentValue the value currently showing on the die
+     * @throws IllegalArgumentException if the state is outside the table
+     */
+    private void checkState(int rerollsLeft, int currentValue) {
+        if (rerollsLeft < 0 || rerollsLeft > maxRerolls) {
+            throw new IllegalArgumentException("Re-rolls left must be between 0 and " + maxRerolls + ": " + rerollsLeft);
+        }
+        if (currentValue < 1 || currentValue > dieSides) {
+            throw new IllegalArgumentException("Die value must be between 1 and " + dieSides + ": " + currentValue);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package edu.brandeis.cosi103a.ip1;
+
+/**
+ * Aggregate results of a batch of simulated dice games.
+ * Tracks win counts and total scores for each player.
+ */
+public class SimulationResult {
+    private final int players;
+    private final long[] wins;
+    private final long[] scoreTotals;
+    private long ties;
+    private long games;
+
+    /**
+     * Constructs an empty result for the given number of players.
+     *
+     * @param players the number of players in each game
+     */
+    public SimulationResult(int players) {
+        this.players = players;
+        this.wins = new long[players];
+        this.scoreTotals = new long[players];
+    }
+
+    /**
+     * Records the outcome of one finished game.
+     *
+     * @param game   the finished game
+     * @param winner the winning player, or -1 if the game was tied
+     */
+    void recordGame(DiceGame game, int winner) {
+        games++;
+        if (winner < 0) {
+            ties++;
+        } else {
+            wins[winner]++;
+        }
+        for (int player = 0; player < players; player++) {
+            scoreTotals[player] += game.getScore(player);
+        }
+    }
+
+    /**
+     * Adds all games recorded in another result to this one.
+     * Merging only sums integer counts, so the outcome does not depend on the
+     * order in which partial results are merged.
+     *
+     * @param other the result to merge in; must have the same number of players
+     */
+    public void merge(SimulationResult other) {
+        if (other.players != players) {
+            throw new IllegalArgumentException("Cannot merge results for " + other.players + " players into " + players);
+        }
+        games += other.games;
+        ties += other.ties;
+        for (int player = 0; player < players; player++) {
+            wins[player] += other.wins[player];
+            scoreTotals[player] += other.scoreTotals[player];
+        }
+    }
+
+    /**
+     * Gets the number of players in each game.
+     *
+     * @return the number of players
+     */
+    public int getPlayers() {
+        return players;
+    }
+
+    /**
+     * Gets the number of games recorded.
+     *
+     * @return the number of games
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Gets the number of games won by a player.
+     *
+     * @param player the player index
+     * @return the number of wins
+     */
+    public long getWins(int player) {
+        return wins[player];
+    }
+
+    /**
+     * Gets the number of games that ended in a tie for the highest score.
+     *
+     * @return the number of tied games
+     */
+    public long getTies() {
+        return ties;
+    }
+
+    /**
+     * Gets the fraction of games won by a player.
+     *
+     * @param player the player index
+     * @return the win rate between 0 and 1
+     */
+    public double getWinRate(int player) {
+        return games == 0 ? 0.0 : (double) wins[player] / games;
+    }
+
+    /**
+     * Gets the mean final score of a player.
+     *
+     * @param player the player index
+     * @return the mean score
+     */
+    public double getMeanScore(int player) {
+        return games == 0 ? 0.0 : (double) scoreTotals[player] / games;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("SimulationResult{games=").append(games);
+        for (int player = 0; player < players; player++) {
+            sb.append(", player").append(player + 1)
+                    .append("={wins=").append(wins[player])
+                    .append(", meanScore=").append(String.format("%.3f", getMeanScore(player)))
+                    .append('}');
+        }
+        return sb.append(", ties=").append(ties).append('}').toString();
+    }
+}
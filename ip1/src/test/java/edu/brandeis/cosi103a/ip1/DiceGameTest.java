@@ -0,0 +1,85 @@
+package edu.brandeis.cosi103a.ip1;
+
+import static org.junit.Assert.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for the instance-scoped DiceGame and the bulk GameSimulator.
+ */
+public class DiceGameTest {
+    private static final RerollPolicy NEVER = (roll, used) -> false;
+    private static final RerollPolicy ALWAYS = (roll, used) -> true;
+
+    /**
+     * Test two games with the same seed are independent and identical.
+     */
+    @Test
+    public void testGamesAreIndependent() {
+        DiceGame first = new DiceGame(new SplittableRandom(5), NEVER, NEVER);
+        DiceGame second = new DiceGame(new SplittableRandom(5), NEVER, NEVER);
+
+        first.play();
+        assertEquals(0, second.getScore(0));
+        second.play();
+
+        assertEquals(first.getScore(0), second.getScore(0));
+        assertEquals(first.getScore(1), second.getScore(1));
+    }
+
+    /**
+     * Test every turn adds a valid die value and re-rolls stop at the limit.
+     */
+    @Test
+    public void testPlayTurn() {
+        int[] asked = new int[1];
+        RerollPolicy counting = (roll, used) -> {
+            asked[0]++;
+            return true;
+        };
+        DiceGame game = new DiceGame(new SplittableRandom(1), counting);
+
+        int roll = game.playTurn(0);
+
+        assertTrue(roll >= 1 && roll <= 6);
+        assertEquals(roll, game.getScore(0));
+        assertEquals(DiceGame.DEFAULT_REROLLS, asked[0]);
+    }
+
+    /**
+     * Test the simulator counts every game and is reproducible in parallel.
+     */
+    @Test
+    public void testSimulatorParallelMatchesSequential() {
+        GameSimulator simulator = new GameSimulator(new OptimalPlayer(6, 2), NEVER);
+        SimulationResult sequential = simulator.run(20000, 3L);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            SimulationResult parallel = simulator.runParallel(20000, 3L, pool);
+            assertEquals(20000, sequential.getGames());
+            assertEquals(20000, sequential.getWins(0) + sequential.getWins(1) + sequential.getTies());
+            assertEquals(sequential.getWins(0), parallel.getWins(0));
+            assertEquals(sequential.getTies(), parallel.getTies());
+            assertEquals(sequential.getMeanScore(1), parallel.getMeanScore(1), 0.0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Test the optimal policy beats never re-rolling and matches the solver.
+     */
+    @Test
+    public void testOptimalPolicyWins() {
+        OptimalPlayer optimal = new OptimalPlayer(6, 2);
+        SimulationResult result = new GameSimulator(optimal, ALWAYS).run(20000, 11L);
+
+        assertTrue(result.getWinRate(0) > result.getWinRate(1));
+        assertEquals(optimal.getSolver().expectedGameScore(DiceGame.DEFAULT_TURNS),
+                result.getMeanScore(0), 0.1);
+        assertEquals(35.0, result.getMeanScore(1), 0.1);
+    }
+}
@@ -0,0 +1,83 @@
+package edu.brandeis.cosi103a.ip1;
+
+import static org.junit.Assert.*;
+
+import java.nio.IntBuffer;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for the batch DiceRoller.
+ */
+public class DiceRollerTest {
+
+    /**
+     * Test every face of a 6-sided die comes up about equally often.
+     */
+    @Test
+    public void testFacesAreUniform() {
+        DiceRoller roller = new DiceRoller(6, 42L);
+        int[] rolls = new int[600000];
+        roller.fill(rolls);
+
+        int[] counts = new int[7];
+        for (int roll : rolls) {
+            assertTrue("Roll should be between 1 and 6", roll >= 1 && roll <= 6);
+            counts[roll]++;
+        }
+        for (int face = 1; face <= 6; face++) {
+            assertEquals(100000, counts[face], 1500);
+        }
+    }
+
+    /**
+     * Test a die whose size does not divide 2^32 still stays in range.
+     */
+    @Test
+    public void testOddSizedDie() {
+        DiceRoller roller = new DiceRoller(1_000_000_007, 3L);
+        for (int i = 0; i < 10000; i++) {
+            int roll = roller.roll();
+            assertTrue(roll >= 1 && roll <= 1_000_000_007);
+        }
+    }
+
+    /**
+     * Test the same seed gives the same rolls through every API.
+     */
+    @Test
+    public void testReproducible() {
+        int[] expected = new int[3000];
+        new DiceRoller(20, 9L).fill(expected);
+
+        DiceRoller single = new DiceRoller(20, 9L);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], single.roll());
+        }
+
+        IntBuffer direct = IntBuffer.allocate(3000);
+        DiceRoller buffered = new DiceRoller(20, 7L);
+        buffered.reseed(9L);
+        buffered.fill(direct);
+        assertArrayEquals(expected, direct.array());
+    }
+
+    /**
+     * Test a game can take its rolls from a roller.
+     */
+    @Test
+    public void testDiceGameUsesRoller() {
+        DiceRoller roller = new DiceRoller(6, 1L);
+        int[] expected = new int[DiceGame.DEFAULT_TURNS];
+        new DiceRoller(6, 1L).fill(expected);
+        DiceGame game = new DiceGame(roller, 0, DiceGame.DEFAULT_TURNS, (roll, used) -> false);
+
+        game.play();
+
+        int sum = 0;
+        for (int roll : expected) {
+            sum += roll;
+        }
+        assertEquals(sum, game.getScore(0));
+    }
+}
@@ -0,0 +1,74 @@
+package edu.brandeis.cosi103a.ip1;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for the re-roll solver.
+ */
+public class RerollSolverTest {
+
+    /**
+     * Test the expected scores of a 6-sided die with 0, 1 and 2 re-rolls.
+     */
+    @Test
+    public void testSixSidedDie() {
+        assertEquals(3.5, new RerollSolver(6, 0).expectedTurnScore(), 1e-12);
+        assertEquals(4.25, new RerollSolver(6, 1).expectedTurnScore(), 1e-12);
+        assertEquals(14.0 / 3.0, new RerollSolver(6, 2).expectedTurnScore(), 1e-12);
+    }
+
+    /**
+     * Test the policy re-rolls low values and keeps high values.
+     */
+    @Test
+    public void testShouldReroll() {
+        RerollSolver solver = new RerollSolver(6, 2);
+
+        // With 2 re-rolls left a fresh roll is worth 4.25: keep 5 and 6
+        assertTrue(solver.shouldReroll(2, 4));
+        assertFalse(solver.shouldReroll(2, 5));
+        assertEquals(5, solver.keepThreshold(2));
+        // With 1 re-roll left a fresh roll is worth 3.5: keep 4 to 6
+        assertTrue(solver.shouldReroll(1, 3));
+        assertFalse(solver.shouldReroll(1, 4));
+        assertEquals(4, solver.keepThreshold(1));
+        // No re-rolls left: always keep
+        assertFalse(solver.shouldReroll(0, 1));
+    }
+
+    /**
+     * Test the solver handles a large die and re-roll budget quickly.
+     */
+    @Test
+    public void testLargeSweep() {
+        long start = System.nanoTime();
+        RerollSolver solver = new RerollSolver(1000, 50);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue("Solving took " + elapsedMillis + " ms", elapsedMillis < 1000);
+        assertTrue(solver.expectedTurnScore() > 950 && solver.expectedTurnScore() < 1000);
+        assertEquals(10 * solver.expectedTurnScore(), solver.expectedGameScore(10), 1e-9);
+    }
+
+    /**
+     * Test the optimal player counts re-rolls already used.
+     */
+    @Test
+    public void testOptimalPlayer() {
+        OptimalPlayer player = new OptimalPlayer(6, 2);
+
+        assertTrue(player.shouldReroll(4, 0));
+        assertFalse(player.shouldReroll(4, 1));
+        assertFalse(player.shouldReroll(1, 2));
+    }
+
+    /**
+     * Test invalid states are rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidValue() {
+        new RerollSolver(6, 2).expectedValue(0, 7);
+    }
+}
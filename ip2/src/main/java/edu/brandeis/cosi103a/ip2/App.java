@@ -1,11 +1,9 @@
 package edu.brandeis.cosi103a.ip2;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * Main entry point and game manager for the Automation card game.
@@ -15,21 +13,112 @@ public class App {
     private static final int INITIAL_BITCOINS = 7;
     private static final int INITIAL_METHODS = 3;
     private static final int INITIAL_HAND_SIZE = 5;
-    private static final int NUM_PLAYERS = 2;
+    private static final int DEFAULT_PLAYERS = 2;
+
+    /** Fewest seats a game can have. */
+    public static final int MIN_PLAYERS = 2;
+    /** Most seats a game can have. */
+    public static final int MAX_PLAYERS = 8;
 
     private List<Player> players;
-    private Map<String, List<Card>> cardSupply;
-    private int currentPlayerIndex;
-    private Random random;
+    private Supply supply;
+    private TurnScheduler scheduler;
+    private SplittableRandom random;
+    private Strategy[] strategies;
+    private SplittableRandom[] strategyRandoms;
+    private GameEventListener listener;
+    private GameMetrics metrics;
+    private EndCondition endCondition;
+    private EndCondition.Tracker endTracker;
+    private boolean gameOver;
+    private final GameView view = new View();
 
     /**
      * Constructs the App and initializes the game state.
+     * Every seat uses the original heuristic strategy and game events are not
+     * reported anywhere.
      */
     public App() {
-        this.players = new ArrayList<>();
-        this.cardSupply = new HashMap<>();
-        this.random = new Random();
+        this(GameEventListener.NONE);
+    }
+
+    /**
+     * Constructs the App with the original heuristic strategy in every seat,
+     * reporting game events to a listener.
+     *
+     * @param listener the listener for game events, such as a
+     *                 {@link ConsoleGameListener}
+     */
+    public App(GameEventListener listener) {
+        this(new SplittableRandom(), defaultStrategies(), listener);
+    }
+
+    /**
+     * Constructs a silent, reproducible game for simulation.
+     * The same seed and strategies always produce the same game, on any thread.
+     *
+     * The number of strategies sets the number of players, from
+     * {@link #MIN_PLAYERS} to {@link #MAX_PLAYERS}.
+     *
+     * @param seed       the seed for all shuffling and random choices
+     * @param strategies the buy strategy for each seat, in seat order
+     */
+    public App(long seed, Strategy... strategies) {
+        this(seed, GameEventListener.NONE, strategies);
+    }
+
+    /**
+     * Constructs a reproducible game that reports its events to a listener.
+     *
+     * @param seed       the seed for all shuffling and random choices
+     * @param listener   the listener for game events
+     * @param strategies the buy strategy for each seat, in seat order
+     */
+    public App(long seed, GameEventListener listener, Strategy... strategies) {
+        this(new SplittableRandom(seed), strategies, listener);
+    }
+
+    /**
+     * Constructs the App with the given random source and strategies.
+     * Each player and each seat's strategy gets its own stream split from the
+     * game's random number generator, so one seat's choices never shift
+     * another seat's shuffles.
+     *
+     * @param random     the random number generator for the game
+     * @param strategies the buy strategy for each seat, in seat order
+     * @param listener   the listener for game events
+     * @throws IllegalArgumentException if there are fewer than
+     *                                  {@link #MIN_PLAYERS} or more than
+     *                                  {@link #MAX_PLAYERS} strategies
+     */
+    private App(SplittableRandom random, Strategy[] strategies, GameEventListener listener) {
+        if (strategies.length < MIN_PLAYERS || strategies.length > MAX_PLAYERS) {
+            throw new IllegalArgumentException("Expected " + MIN_PLAYERS + " to " + MAX_PLAYERS
+                    + " strategies but got " + strategies.length);
+        }
+        this.players = new ArrayList<>(strategies.length);
+        this.supply = new Supply();
+        this.scheduler = new TurnScheduler(strategies.length);
+        this.random = random;
+        this.strategies = strategies.clone();
+        this.strategyRandoms = new SplittableRandom[strategies.length];
+        for (int i = 0; i < strategies.length; i++) {
+            strategyRandoms[i] = random.split();
+        }
+        this.listener = listener;
         initializeGame();
+        setEndCondition(EndConditions.frameworkEmpty());
+    }
+
+    /**
+     * Creates the default strategies: the original heuristic for every seat.
+     *
+     * @return one heuristic strategy per seat
+     */
+    private static Strategy[] defaultStrategies() {
+        Strategy[] defaults = new Strategy[DEFAULT_PLAYERS];
+        Arrays.fill(defaults, Strategies.get("heuristic"));
+        return defaults;
     }
 
     /**
@@ -47,61 +136,62 @@ public class App {
      * Creates the common card supply with all card types and quantities.
      */
     private void createCardSupply() {
-        // Automation cards
-        List<Card> methods = new ArrayList<>();
-        for (int i = 0; i < 14; i++) {
-            methods.add(new AutomationCard(2, 1)); // Method: cost 2, value 1
+        for (int id = 0; id < CardType.STANDARD_COUNT; id++) {
+            CardType type = CardType.byId(id);
+            supply.setRemaining(type, startingSupply(type, strategies.length));
         }
-        cardSupply.put("Method", methods);
+    }
 
-        List<Card> modules = new ArrayList<>();
-        for (int i = 0; i < 8; i++) {
-            modules.add(new AutomationCard(5, 3)); // Module: cost 5, value 3
+    /**
+     * Gets the number of cards of a type in the supply at the start of a
+     * game, before the starting decks are taken from it. Methods and
+     * cryptocurrency scale with the number of players, so every seat's
+     * starting deck leaves the same stock behind; Modules and Frameworks
+     * grow from 8 to 12 once there are three or more players.
+     *
+     * @param type    a standard card type
+     * @param players the number of players
+     * @return the starting supply of that type
+     */
+    public static int startingSupply(CardType type, int players) {
+        if (type == CardType.METHOD) {
+            return 7 * players;
         }
-        cardSupply.put("Module", modules);
-
-        List<Card> frameworks = new ArrayList<>();
-        for (int i = 0; i < 8; i++) {
-            frameworks.add(new AutomationCard(8, 6)); // Framework: cost 8, value 6
+        if (type == CardType.MODULE || type == CardType.FRAMEWORK) {
+            return players == 2 ? 8 : 12;
         }
-        cardSupply.put("Framework", frameworks);
-
-        // Cryptocurrency cards
-        List<Card> bitcoins = new ArrayList<>();
-        for (int i = 0; i < 60; i++) {
-            bitcoins.add(new CryptocurrencyCard(0, 1)); // Bitcoin: cost 0, value 1
+        if (type == CardType.BITCOIN) {
+            return 30 * players;
         }
-        cardSupply.put("Bitcoin", bitcoins);
-
-        List<Card> ethereums = new ArrayList<>();
-        for (int i = 0; i < 40; i++) {
-            ethereums.add(new CryptocurrencyCard(3, 2)); // Ethereum: cost 3, value 2
+        if (type == CardType.ETHEREUM) {
+            return 20 * players;
         }
-        cardSupply.put("Ethereum", ethereums);
-
-        List<Card> dogecoins = new ArrayList<>();
-        for (int i = 0; i < 30; i++) {
-            dogecoins.add(new CryptocurrencyCard(6, 3)); // Dogecoin: cost 6, value 3
+        if (type == CardType.DOGECOIN) {
+            return 15 * players;
         }
-        cardSupply.put("Dogecoin", dogecoins);
+        return 0;
     }
 
     /**
-     * Creates the two players with initial resources.
+     * Creates one player per seat with initial resources.
      * Each player starts with 7 Bitcoins and 3 Methods.
      */
     private void createPlayers() {
-        for (int i = 1; i <= NUM_PLAYERS; i++) {
-            Player player = new Player("Player " + i, 0);
+        for (int i = 1; i <= strategies.length; i++) {
+            Player player = new Player("Player " + i, 0, random.split());
+            player.setSeat(i - 1);
+            player.setListener(listener);
 
             // Add 7 Bitcoins to draw pile
             for (int j = 0; j < INITIAL_BITCOINS; j++) {
-                player.addCardToDrawPile(cardSupply.get("Bitcoin").remove(0));
+                supply.take(CardType.BITCOIN);
+                player.addCardToDrawPile(CardType.BITCOIN.getCard());
             }
 
             // Add 3 Methods to draw pile
             for (int j = 0; j < INITIAL_METHODS; j++) {
-                player.addCardToDrawPile(cardSupply.get("Method").remove(0));
+                supply.take(CardType.METHOD);
+                player.addCardToDrawPile(CardType.METHOD.getCard());
             }
 
             players.add(player);
@@ -116,15 +206,14 @@ public class App {
     private void dealInitialHands() {
         for (Player player : players) {
             // Shuffle the draw pile
-            Collections.shuffle(player.getDrawPile());
+            player.shuffleDrawPile();
 
             // Deal 5 cards from draw pile to hand
             for (int i = 0; i < INITIAL_HAND_SIZE && player.getDrawPileSize() > 0; i++) {
-                Card card = player.getDrawPile().remove(0);
-                player.addCardToHand(card);
+                player.drawCard();
             }
 
-            System.out.println(player.getName() + " dealt initial hand of " + player.getHandSize() + " cards");
+            listener.initialHandDealt(player);
 
         }
 
@@ -134,8 +223,8 @@ public class App {
      * Randomly selects the starting player.
      */
     private void selectStartingPlayer() {
-        currentPlayerIndex = random.nextInt(NUM_PLAYERS);
-        System.out.println(players.get(currentPlayerIndex).getName() + " goes first!");
+        scheduler.start(random.nextInt(strategies.length));
+        listener.startingPlayerSelected(getCurrentPlayer());
     }
 
     /**
@@ -144,17 +233,35 @@ public class App {
      * @return the player whose turn it is
      */
     public Player getCurrentPlayer() {
-        return players.get(currentPlayerIndex);
+        return players.get(scheduler.getSeat());
     }
 
     /**
-     * Gets the other player (opponent).
+     * Gets the player who plays next. In a two-player game this is the
+     * current player's only opponent.
      *
-     * @return the player who is not currently taking a turn
+     * @return the player whose turn comes after the current player's
      */
     public Player getOpponentPlayer() {
-        int opponentIndex = (currentPlayerIndex + 1) % NUM_PLAYERS;
-        return players.get(opponentIndex);
+        return players.get(scheduler.next(scheduler.getSeat()));
+    }
+
+    /**
+     * Gets the number of players in the game.
+     *
+     * @return the number of seats
+     */
+    public int getPlayerCount() {
+        return strategies.length;
+    }
+
+    /**
+     * Gets the scheduler that decides whose turn it is.
+     *
+     * @return the turn scheduler
+     */
+    public TurnScheduler getScheduler() {
+        return scheduler;
     }
 
     /**
@@ -169,17 +276,96 @@ public class App {
     /**
      * Gets the card supply.
      *
-     * @return map of card types to available cards
+     * @return a read-only view of the cards left in the supply
      */
-    public Map<String, List<Card>> getCardSupply() {
-        return cardSupply;
+    public SupplyView getCardSupply() {
+        return supply.view();
     }
 
     /**
      * Ends the current player's turn and switches to the next player.
      */
     public void endTurn() {
-        currentPlayerIndex = (currentPlayerIndex + 1) % NUM_PLAYERS;
+        scheduler.advance();
+        endTracker.turnEnded(scheduler.getTurn());
+        gameOver = endTracker.isMet();
+    }
+
+    /**
+     * Gets the number of turns completed so far.
+     *
+     * @return the number of completed turns
+     */
+    public int getTurn() {
+        return scheduler.getTurn();
+    }
+
+    /**
+     * Takes a snapshot of the game.
+     *
+     * @return a new state holding the current position
+     */
+    public GameState snapshot() {
+        return snapshot(new GameState(players.size()));
+    }
+
+    /**
+     * Takes a snapshot of the game into an existing state, reusing its
+     * arrays. Once the state's buffers are large enough this does not
+     * allocate.
+     *
+     * @param state the state to fill; must be for the same number of players
+     * @return the filled state
+     * @throws IllegalArgumentException if the player counts differ
+     */
+    public GameState snapshot(GameState state) {
+        checkPlayerCount(state);
+        state.reset();
+        state.setTurn(scheduler.getSeat(), scheduler.getTurn());
+        for (int id = 0; id < CardType.STANDARD_COUNT; id++) {
+            CardType type = CardType.byId(id);
+            state.setSupply(type, supply.remaining(type));
+        }
+        for (int seat = 0; seat < players.size(); seat++) {
+            players.get(seat).writeTo(state, seat);
+        }
+        return state;
+    }
+
+    /**
+     * Restores the game to a snapshot.
+     * Random number generators keep their current streams, so play continues
+     * with fresh random choices from the restored position.
+     *
+     * @param state the state to restore; must be for the same number of
+     *              players
+     * @throws IllegalArgumentException if the player counts differ
+     */
+    public void restore(GameState state) {
+        checkPlayerCount(state);
+        scheduler.moveTo(state.getCurrentPlayer(), state.getTurn());
+        for (int id = 0; id < CardType.STANDARD_COUNT; id++) {
+            CardType type = CardType.byId(id);
+            supply.setRemaining(type, state.getSupply(type));
+        }
+        for (int seat = 0; seat < players.size(); seat++) {
+            players.get(seat).readFrom(state, seat);
+        }
+        endTracker.start(view);
+        gameOver = endTracker.isMet();
+    }
+
+    /**
+     * Checks that a state has one seat per player of this game.
+     *
+     * @param state the state to check
+     * @throws IllegalArgumentException if the player counts differ
+     */
+    private void checkPlayerCount(GameState state) {
+        if (state.getPlayerCount() != players.size()) {
+            throw new IllegalArgumentException("State is for " + state.getPlayerCount()
+                    + " players but the game has " + players.size());
+        }
     }
 
     /**
@@ -189,7 +375,10 @@ public class App {
         System.out.println("\n=== GAME STATE ===");
         System.out.println("Current Turn: " + getCurrentPlayer().getName());
         System.out.println("Card Supply Remaining:");
-        cardSupply.forEach((type, cards) -> System.out.println("  " + type + ": " + cards.size()));
+        for (int id = 0; id < CardType.STANDARD_COUNT; id++) {
+            CardType type = CardType.byId(id);
+            System.out.println("  " + type + ": " + supply.remaining(type));
+        }
         System.out.println("==================\n");
     }
 
@@ -197,129 +386,66 @@ public class App {
      * Executes the buy phase for the current player.
      * The player plays cryptocurrency cards from their hand and can purchase up to
      * 1 card
-     * using the total value of played cryptocoins.
+     * using the total value of played cryptocoins. The seat's strategy chooses
+     * which card to buy.
      *
      * @return true if a card was purchased, false otherwise
      */
     public boolean executeBuyPhase() {
-        Player currentPlayer = getCurrentPlayer();
-        System.out.println("\n--- " + currentPlayer.getName() + " Buy Phase ---");
-
-        // Play all cryptocurrency cards for maximum buying power
-        List<Card> hand = new ArrayList<>(currentPlayer.getHand());
-        List<Card> playedCards = new ArrayList<>();
-        for (Card card : hand) {
-            if (card instanceof CryptocurrencyCard) {
-                if (currentPlayer.playCardForBuying(card)) {
-                    playedCards.add(card);
-                }
-            }
-        }
-        if (!playedCards.isEmpty()) {
-            System.out.println("Played Cards: " + playedCards + "\n");
-        }
-
-        int buyingPower = currentPlayer.calculatePlayedCardsValue();
-        System.out.println("Buying power: " + buyingPower + " cryptocoins" + "\n");
-
-        // Find the best affordable Automation card (prioritize 10+ AP cards)
-        AutomationCard targetAutomationCard = findBestAutomationCardToBuy(buyingPower);
-
-        if (targetAutomationCard != null && targetAutomationCard.getCost() <= buyingPower) {
-            // Buy the target automation card
-            removeFromSupply(targetAutomationCard);
-            currentPlayer.purchaseCard(targetAutomationCard);
-            System.out.println("Purchased: " + targetAutomationCard);
-            return true;
+        if (metrics == null) {
+            return playBuyPhase();
         }
-
-        // If no good automation card found, buy a random cryptocurrency card
-        return purchaseRandomCryptocurrencyCard(currentPlayer, buyingPower);
+        long start = System.nanoTime();
+        boolean purchased = playBuyPhase();
+        metrics.buyPhase(System.nanoTime() - start);
+        return purchased;
     }
 
     /**
-     * Finds the best Automation card to buy given buying power.
-     * Prioritizes Framework cards worth 6 APs, then Module cards worth 3 APs, then
-     * Method cards worth 1 AP.
+     * Plays the current player's cryptocurrency and buys the card their
+     * seat's strategy chooses.
      *
-     * @param buyingPower the amount of cryptocoins available
-     * @return the best affordable automation card, or null if none affordable
-     */
-    private AutomationCard findBestAutomationCardToBuy(int buyingPower) {
-        // Check in order of value (Framework > Module > Method)
-        String[] priorityOrder = { "Framework", "Module", "Method" };
-
-        for (String cardType : priorityOrder) {
-            List<Card> cards = cardSupply.get(cardType);
-            if (cards != null && !cards.isEmpty()) {
-                Card card = cards.get(0);
-                if (card instanceof AutomationCard && card.getCost() <= buyingPower) {
-                    return (AutomationCard) card;
-                }
-            }
-        }
+     * @return true if a card was purchased, false otherwise
+     */
+    private boolean playBuyPhase() {
+        Player currentPlayer = getCurrentPlayer();
+        listener.buyPhaseStarted(currentPlayer);
 
-        return null;
-    }
+        // Play all cryptocurrency cards for maximum buying power
+        int buyingPower = currentPlayer.playAllCryptocurrency();
+        listener.cardsPlayed(currentPlayer, buyingPower);
 
-    /**
-     * Removes a specific card from the supply.
-     *
-     * @param cardToRemove the card to remove
-     */
-    private void removeFromSupply(AutomationCard cardToRemove) {
-        for (String type : new String[] { "Framework", "Module", "Method" }) {
-            List<Card> cards = cardSupply.get(type);
-            if (cards != null && !cards.isEmpty() && cards.get(0) == cardToRemove) {
-                cards.remove(0);
-                return;
-            }
-        }
+        // Let the seat's strategy pick a card type
+        int seat = scheduler.getSeat();
+        CardType chosenType = strategies[seat].chooseCardToBuy(view, strategyRandoms[seat]);
+        return buy(chosenType);
     }
 
     /**
-     * Purchases a random cryptocurrency card, preferring non-Bitcoin cards.
+     * Buys a card for the current player with the buying power of their
+     * played cards, if they can afford it and the supply has one left.
      *
-     * @param player      the current player
-     * @param buyingPower the total value of played cryptocurrency cards
+     * @param chosenType the type to buy, or null to buy nothing
      * @return true if a card was purchased, false otherwise
      */
-    private boolean purchaseRandomCryptocurrencyCard(Player player, int buyingPower) {
-        List<String> cryptocurrencyTypes = new ArrayList<>();
-        List<String> allCryptoTypes = new ArrayList<>();
-
-        // Categorize cryptocurrency cards
-        String[] cryptoOrder = { "Dogecoin", "Ethereum", "Bitcoin" };
-        for (String type : cryptoOrder) {
-            List<Card> cards = cardSupply.get(type);
-            if (cards != null && !cards.isEmpty()) {
-                Card card = cards.get(0);
-                if (card.getCost() <= buyingPower) {
-                    allCryptoTypes.add(type);
-                    // Don't add Bitcoin to the preferred list (it has lower value)
-                    if (!type.equals("Bitcoin")) {
-                        cryptocurrencyTypes.add(type);
-                    }
-                }
+    boolean buy(CardType chosenType) {
+        Player currentPlayer = getCurrentPlayer();
+        if (chosenType != null && chosenType.getCost() <= currentPlayer.calculatePlayedCardsValue()
+                && supply.take(chosenType)) {
+            currentPlayer.purchaseCard(chosenType.getCard());
+            endTracker.supplyChanged(chosenType, supply.remaining(chosenType));
+            if (chosenType.isAutomation()) {
+                endTracker.apChanged(scheduler.getSeat(), calculateFinalAP(currentPlayer));
+            }
+            gameOver = endTracker.isMet();
+            listener.cardPurchased(currentPlayer, chosenType);
+            if (metrics != null) {
+                metrics.purchase(chosenType);
             }
-        }
-
-        // Prefer non-Bitcoin cards
-        String chosenType = null;
-        if (!cryptocurrencyTypes.isEmpty()) {
-            chosenType = cryptocurrencyTypes.get(random.nextInt(cryptocurrencyTypes.size()));
-        } else if (!allCryptoTypes.isEmpty()) {
-            chosenType = allCryptoTypes.get(random.nextInt(allCryptoTypes.size()));
-        }
-
-        if (chosenType != null) {
-            Card purchasedCard = cardSupply.get(chosenType).remove(0);
-            player.purchaseCard(purchasedCard);
-            System.out.println("Purchased: " + purchasedCard);
             return true;
         }
 
-        System.out.println("No affordable cryptocurrency cards to purchase.");
+        listener.noCardPurchased(currentPlayer);
         return false;
     }
 
@@ -328,37 +454,230 @@ public class App {
      * Discards hand and played cards, then deals a new hand.
      */
     public void executeCleanupPhase() {
+        if (metrics == null) {
+            playCleanupPhase();
+            return;
+        }
+        long start = System.nanoTime();
+        playCleanupPhase();
+        metrics.cleanupPhase(System.nanoTime() - start);
+    }
+
+    /**
+     * Discards the current player's hand and played cards and deals them a
+     * new hand.
+     */
+    private void playCleanupPhase() {
         Player currentPlayer = getCurrentPlayer();
-        System.out.println("\n--- " + currentPlayer.getName() + " Cleanup Phase ---");
+        listener.cleanupPhaseStarted(currentPlayer);
 
         int previousHandSize = currentPlayer.getHandSize();
         currentPlayer.cleanupPhase();
         currentPlayer.resetCardSelections();
 
-        System.out.println("Discarded " + previousHandSize + " cards from hand");
-        System.out.println("Dealt new hand of " + currentPlayer.getHandSize() + " cards");
+        listener.cleanupPhaseEnded(currentPlayer, previousHandSize);
     }
 
     /**
      * Executes a complete turn for the current player (buy phase + cleanup phase).
      */
     public void executeTurn() {
-        System.out.println("\n========== " + getCurrentPlayer().getName() + " TURN ==========");
+        Player currentPlayer = getCurrentPlayer();
+        listener.turnStarted(currentPlayer);
         executeBuyPhase();
         executeCleanupPhase();
-        System.out.println("========== TURN COMPLETE ==========");
+        listener.turnEnded(currentPlayer);
+        if (metrics != null) {
+            metrics.turn();
+        }
+    }
+
+    /**
+     * Checks whether the game is over under its end condition. By default
+     * the game ends once all Framework cards have been purchased.
+     * The condition is updated as the supply, APs and turn change, so this
+     * only reads a field.
+     *
+     * @return true if the end condition is met
+     */
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    /**
+     * Sets the rule that decides when this game is over, replacing the
+     * standard rule that ends it once the Framework pile is empty.
+     *
+     * @param endCondition the end condition
+     */
+    public void setEndCondition(EndCondition endCondition) {
+        this.endCondition = endCondition;
+        this.endTracker = endCondition.newTracker();
+        endTracker.start(view);
+        gameOver = endTracker.isMet();
+    }
+
+    /**
+     * Gets the rule that decides when this game is over.
+     *
+     * @return the end condition
+     */
+    public EndCondition getEndCondition() {
+        return endCondition;
+    }
+
+    /**
+     * Plays turns until the game is over or the turn limit is reached.
+     *
+     * @param maxTurns the maximum number of turns to play
+     * @return the number of turns played
+     */
+    public int playGame(int maxTurns) {
+        int turns = 0;
+        while (!isGameOver() && turns < maxTurns) {
+            executeTurn();
+            endTurn();
+            turns++;
+        }
+        if (metrics != null) {
+            metrics.game(turns);
+        }
+        return turns;
+    }
+
+    /**
+     * Sets the registry that counts and times this game's phases, draws,
+     * reshuffles and purchases from now on. Metrics are off by default and
+     * cost only a null check while off.
+     *
+     * @param metrics the metrics registry, or null to stop recording
+     */
+    public void setMetrics(GameMetrics metrics) {
+        this.metrics = metrics;
+        for (Player player : players) {
+            player.setMetrics(metrics);
+        }
+    }
+
+    /**
+     * Gets the registry recording this game's metrics.
+     *
+     * @return the metrics registry, or null if metrics are off
+     */
+    public GameMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Gets the buy strategy of a seat.
+     *
+     * @param seat the seat index
+     * @return the seat's strategy
+     */
+    Strategy getStrategy(int seat) {
+        return strategies[seat];
+    }
+
+    /**
+     * Gets the number of cards of a type in each player's starting deck.
+     *
+     * @param type the card type
+     * @return the number of starting cards of that type
+     */
+    static int startingCount(CardType type) {
+        if (type == CardType.BITCOIN) {
+            return INITIAL_BITCOINS;
+        }
+        if (type == CardType.METHOD) {
+            return INITIAL_METHODS;
+        }
+        return 0;
+    }
+
+    /**
+     * Calculates a player's final APs from all Automation cards in their hand,
+     * draw pile and discard pile. The player keeps this total up to date, so
+     * this takes constant time.
+     *
+     * @param player the player to score
+     * @return the player's total APs
+     */
+    public static int calculateFinalAP(Player player) {
+        return player.getTotalAP();
+    }
+
+    /**
+     * The read-only view of this game that is handed to strategies.
+     */
+    private class View implements GameView {
+
+        @Override
+        public int getSeat() {
+            return scheduler.getSeat();
+        }
+
+        @Override
+        public int getPlayerCount() {
+            return players.size();
+        }
+
+        @Override
+        public int getTurn() {
+            return scheduler.getTurn();
+        }
+
+        @Override
+        public int getBuyingPower() {
+            return getCurrentPlayer().calculatePlayedCardsValue();
+        }
+
+        @Override
+        public SupplyView getSupply() {
+            return supply.view();
+        }
+
+        @Override
+        public int getAP(int seat) {
+            return calculateFinalAP(players.get(seat));
+        }
+
+        @Override
+        public int getDeckSize(int seat) {
+            Player player = players.get(seat);
+            return player.getHandSize() + player.getPlayedCardsSize()
+                    + player.getDrawPileSize() + player.getDiscardPileSize();
+        }
+
+        @Override
+        public HandDistribution getNextHand(CardType purchase) {
+            return DrawProbabilityEngine.shared().nextHand(getCurrentPlayer(), purchase);
+        }
+
+        @Override
+        public EndCondition getEndCondition() {
+            return endCondition;
+        }
+
+        @Override
+        public GameState snapshot(GameState state) {
+            return App.this.snapshot(state);
+        }
     }
 
     public static void main(String[] args) {
         System.out.println("=== Automation Card Game ===\n");
 
         // INITIAL PHASE: Create and initialize game
-        App game = new App();
+        App game = new App(new ConsoleGameListener());
+        if (args.length > 0) {
+            game.setEndCondition(EndConditions.parse(args[0]));
+        }
         game.printGameState();
 
-        // SECOND PHASE: Game loop - continue until all Framework cards are purchased
+        // SECOND PHASE: Game loop - continue until the end condition is met,
+        // stopping at the simulator's turn limit in case it never is
         int turn = 0;
-        while (!game.cardSupply.get("Framework").isEmpty()) {
+        while (!game.isGameOver() && turn < GameSimulator.DEFAULT_TURN_LIMIT) {
             turn++;
             System.out.println("\n========== TURN " + turn + " ==========");
             game.executeTurn();
@@ -368,6 +687,10 @@ public class App {
 
         // THIRD PHASE: Game over - determine winner
         System.out.println("\n\n========== GAME OVER ==========");
+        if (!game.isGameOver()) {
+            System.out.println("Turn limit of " + GameSimulator.DEFAULT_TURN_LIMIT
+                    + " reached before the end condition was met");
+        }
 
         // Calculate final APs for each player from all their Automation cards
         List<Player> players = game.getPlayers();
@@ -375,28 +698,7 @@ public class App {
         int maxAP = -1;
 
         for (Player player : players) {
-            int totalAP = 0;
-
-            // Count APs from Automation cards in hand
-            for (Card card : player.getHand()) {
-                if (card instanceof AutomationCard) {
-                    totalAP += card.getValue();
-                }
-            }
-
-            // Count APs from Automation cards in draw pile
-            for (Card card : player.getDrawPile()) {
-                if (card instanceof AutomationCard) {
-                    totalAP += card.getValue();
-                }
-            }
-
-            // Count APs from Automation cards in discard pile
-            for (Card card : player.getDiscardPile()) {
-                if (card instanceof AutomationCard) {
-                    totalAP += card.getValue();
-                }
-            }
+            int totalAP = calculateFinalAP(player);
 
             System.out.println(player.getName() + " Final Score: " + totalAP + " APs");
 
@@ -7,36 +7,39 @@ package edu.brandeis.cosi103a.ip2;
  * The value is worth at the end of the game.
  */
 public class AutomationCard extends Card {
-    private int value;
+    private final int value;
 
     /**
      * Constructs an AutomationCard with a specified cost and value.
      *
      * @param cost  the number of cryptocoins required to buy this card
      * @param value the number of APs this card is worth at the end of the game
+     * @throws IllegalArgumentException if the cost and value are not those of
+     *                                  a standard card type
      */
     public AutomationCard(int cost, int value) {
-        super(cost);
+        super(CardType.standard(true, cost, value));
         this.value = value;
     }
 
     /**
-     * Gets the value of this automation card in APs.
+     * Constructs the shared instance of a card type.
      *
-     * @return the number of APs this card is worth at the end of the game
+     * @param type the card type this instance represents
      */
-    @Override
-    public int getValue() {
-        return value;
+    AutomationCard(CardType type) {
+        super(type);
+        this.value = type.getValue();
     }
 
     /**
-     * Sets the value of this automation card.
+     * Gets the value of this automation card in APs.
      *
-     * @param value the number of APs this card is worth at the end of the game
+     * @return the number of APs this card is worth at the end of the game
      */
-    public void setValue(int value) {
-        this.value = value;
+    @Override
+    public int getValue() {
+        return value;
     }
 
     @Override
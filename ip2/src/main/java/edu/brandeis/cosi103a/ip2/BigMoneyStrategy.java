@@ -0,0 +1,34 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.util.SplittableRandom;
+
+/**
+ * The classic "big money" strategy.
+ * Buys a Framework whenever it can afford one and otherwise buys the best
+ * cryptocurrency it can afford, so its buying power keeps growing. It never
+ * buys Modules, Methods or Bitcoin.
+ */
+public class BigMoneyStrategy implements Strategy {
+
+    @Override
+    public CardType chooseCardToBuy(GameView game, SplittableRandom random) {
+        int buyingPower = game.getBuyingPower();
+        SupplyView supply = game.getSupply();
+
+        if (supply.canBuy(CardType.FRAMEWORK, buyingPower)) {
+            return CardType.FRAMEWORK;
+        }
+        if (supply.canBuy(CardType.DOGECOIN, buyingPower)) {
+            return CardType.DOGECOIN;
+        }
+        if (supply.canBuy(CardType.ETHEREUM, buyingPower)) {
+            return CardType.ETHEREUM;
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "BigMoneyStrategy";
+    }
+}
@@ -3,35 +3,40 @@ package edu.brandeis.cosi103a.ip2;
 /**
  * Abstract base class for all card types in the card game.
  * All cards have a cost in cryptocoins required to purchase them.
+ * Cards are immutable and always belong to one of the standard
+ * {@link CardType}s. Two cards are equal when they are of the same kind and
+ * have the same cost and value, that is, when they have the same type.
  */
 public abstract class Card {
-    private int cost;
+    private final int cost;
+    private final CardType type;
 
     /**
-     * Constructs a Card with a specified cost.
+     * Constructs a card of a type.
      *
-     * @param cost the number of cryptocoins required to buy this card
+     * @param type the card type
      */
-    public Card(int cost) {
-        this.cost = cost;
+    Card(CardType type) {
+        this.cost = type.getCost();
+        this.type = type;
     }
 
     /**
-     * Gets the cost of this card.
+     * Gets the type of this card.
      *
-     * @return the number of cryptocoins required to buy this card
+     * @return the card type with this card's kind, cost and value
      */
-    public int getCost() {
-        return cost;
+    public CardType getType() {
+        return type;
     }
 
     /**
-     * Sets the cost of this card.
+     * Gets the cost of this card.
      *
-     * @param cost the number of cryptocoins required to buy this card
+     * @return the number of cryptocoins required to buy this card
      */
-    public void setCost(int cost) {
-        this.cost = cost;
+    public int getCost() {
+        return cost;
     }
 
     /**
@@ -41,4 +46,25 @@ public abstract class Card {
      * @return the value of this card
      */
     public abstract int getValue();
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Card)) {
+            return false;
+        }
+        Card other = (Card) o;
+        return (this instanceof AutomationCard) == (other instanceof AutomationCard)
+                && getCost() == other.getCost()
+                && getValue() == other.getValue();
+    }
+
+    @Override
+    public int hashCode() {
+        int result = this instanceof AutomationCard ? 1 : 0;
+        result = 31 * result + getCost();
+        return 31 * result + getValue();
+    }
 }
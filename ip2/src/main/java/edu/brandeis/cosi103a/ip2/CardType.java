@@ -0,0 +1,173 @@
+package edu.brandeis.cosi103a.ip2;
+
+/**
+ * Immutable registry of card types.
+ * Each type has a small integer id, a cost, a value and one shared card
+ * instance (a flyweight), so piles can store type ids instead of one object
+ * per physical card. Only the six standard types of the Automation card game
+ * exist, with ids 0 to 5; constructing a card with any other kind, cost and
+ * value combination throws an IllegalArgumentException.
+ */
+public final class CardType {
+    /** Number of standard card types, which have ids 0 to STANDARD_COUNT - 1. */
+    public static final int STANDARD_COUNT = 6;
+
+    private static final CardType[] REGISTRY = new CardType[STANDARD_COUNT];
+
+    /** Method: Automation card, cost 2, value 1 AP. */
+    public static final CardType METHOD = register(0, "Method", true, 2, 1);
+    /** Module: Automation card, cost 5, value 3 APs. */
+    public static final CardType MODULE = register(1, "Module", true, 5, 3);
+    /** Framework: Automation card, cost 8, value 6 APs. */
+    public static final CardType FRAMEWORK = register(2, "Framework", true, 8, 6);
+    /** Bitcoin: Cryptocurrency card, cost 0, value 1 cryptocoin. */
+    public static final CardType BITCOIN = register(3, "Bitcoin", false, 0, 1);
+    /** Ethereum: Cryptocurrency card, cost 3, value 2 cryptocoins. */
+    public static final CardType ETHEREUM = register(4, "Ethereum", false, 3, 2);
+    /** Dogecoin: Cryptocurrency card, cost 6, value 3 cryptocoins. */
+    public static final CardType DOGECOIN = register(5, "Dogecoin", false, 6, 3);
+    private final int id;
+    private final String name;
+    private final boolean automation;
+    private final int cost;
+    private final int value;
+    private final Card card;
+
+    /**
+     * Constructs a card type and its shared card instance.
+     *
+     * @param id         the type's id
+     * @param name       the type's display name
+     * @param automation true for Automation cards, false for Cryptocurrency
+     *                   cards
+     * @param cost       the number of cryptocoins required to buy the card
+     * @param value      the card's value in APs or cryptocoins
+     */
+    private CardType(int id, String name, boolean automation, int cost, int value) {
+        this.id = id;
+        this.name = name;
+        this.automation = automation;
+        this.cost = cost;
+        this.value = value;
+        this.card = automation ? new AutomationCard(this) : new CryptocurrencyCard(this);
+    }
+
+    /**
+     * Gets the type of a card.
+     *
+     * @param card the card
+     * @return the card's type
+     */
+    public static CardType of(Card card) {
+        return card.getType();
+    }
+
+    /**
+     * Gets the standard type with a kind, cost and value.
+     *
+     * @param automation true for Automation cards, false for Cryptocurrency
+     *                   cards
+     * @param cost       the card cost
+     * @param value      the card value
+     * @return the matching standard type
+     * @throws IllegalArgumentException if no standard type has that kind, cost
+     *                                  and value
+     */
+    static CardType standard(boolean automation, int cost, int value) {
+        for (CardType candidate : REGISTRY) {
+            if (candidate.automation == automation && candidate.cost == cost && candidate.value == value) {
+                return candidate;
+            }
+        }
+        throw new IllegalArgumentException("Not a standard card type: "
+                + (automation ? "Automation" : "Cryptocurrency") + " card with cost " + cost + " and value " + value
+                + "; only Method, Module, Framework, Bitcoin, Ethereum and Dogecoin cards are supported");
+    }
+
+    /**
+     * Gets a card type by id.
+     *
+     * @param id the type's id
+     * @return the card type
+     * @throws ArrayIndexOutOfBoundsException if no type has that id
+     */
+    public static CardType byId(int id) {
+        return REGISTRY[id];
+    }
+
+    /**
+     * Creates a standard type and stores it in the registry.
+     *
+     * @param id         the type's id
+     * @param name       the type's display name
+     * @param automation the kind of card
+     * @param cost       the card cost
+     * @param value      the card value
+     * @return the new type
+     */
+    private static CardType register(int id, String name, boolean automation, int cost, int value) {
+        CardType type = new CardType(id, name, automation, cost, value);
+        REGISTRY[id] = type;
+        return type;
+    }
+
+    /**
+     * Gets the type's id.
+     *
+     * @return the id, between 0 and {@link #STANDARD_COUNT} - 1
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Gets the type's display name.
+     *
+     * @return the name, such as "Framework"
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Checks whether cards of this type are Automation cards.
+     *
+     * @return true for Automation cards, false for Cryptocurrency cards
+     */
+    public boolean isAutomation() {
+        return automation;
+    }
+
+    /**
+     * Gets the cost of cards of this type.
+     *
+     * @return the number of cryptocoins required to buy the card
+     */
+    public int getCost() {
+        return cost;
+    }
+
+    /**
+     * Gets the value of cards of this type.
+     *
+     * @return the APs of an Automation card or the cryptocoins of a
+     *         Cryptocurrency card
+     */
+    public int getValue() {
+        return value;
+    }
+
+    /**
+     * Gets the shared card instance of this type.
+     *
+     * @return the flyweight card
+     */
+    public Card getCard() {
+        return card;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,142 @@
+package edu.brandeis.cosi103a.ip2;
+
+/**
+ * The outcome of a {@link StrategyComparison} between strategies A and B.
+ * Games are played in pairs on the same seed with the seats swapped, and
+ * A scores 1 for a win, 1/2 for a tie and 0 for a loss in each game.
+ */
+public class ComparisonResult {
+
+    /**
+     * The conclusion of a comparison.
+     */
+    public enum Verdict {
+        /** A wins more than half the points by at least the effect size. */
+        A_BETTER,
+        /** B wins more than half the points by at least the effect size. */
+        B_BETTER,
+        /** The game limit was reached before the test decided. */
+        INCONCLUSIVE
+    }
+
+    private final Verdict verdict;
+    private final long pairs;
+    private final long winsA;
+    private final long winsB;
+    private final long ties;
+    private final double meanScore;
+    private final double scoreVariance;
+    private final double logLikelihoodRatio;
+
+    /**
+     * Constructs a comparison result.
+     *
+     * @param verdict            the conclusion
+     * @param pairs              the number of game pairs played
+     * @param winsA              the number of games A won
+     * @param winsB              the number of games B won
+     * @param ties               the number of tied games
+     * @param meanScore          A's mean score per game
+     * @param scoreVariance      the variance of A's mean score per pair
+     * @param logLikelihoodRatio the final log-likelihood ratio of the test
+     */
+    ComparisonResult(Verdict verdict, long pairs, long winsA, long winsB, long ties,
+            double meanScore, double scoreVariance, double logLikelihoodRatio) {
+        this.verdict = verdict;
+        this.pairs = pairs;
+        this.winsA = winsA;
+        this.winsB = winsB;
+        this.ties = ties;
+        this.meanScore = meanScore;
+        this.scoreVariance = scoreVariance;
+        this.logLikelihoodRatio = logLikelihoodRatio;
+    }
+
+    /**
+     * Gets the conclusion of the comparison.
+     *
+     * @return the verdict
+     */
+    public Verdict getVerdict() {
+        return verdict;
+    }
+
+    /**
+     * Gets the number of game pairs played.
+     *
+     * @return the number of pairs
+     */
+    public long getPairs() {
+        return pairs;
+    }
+
+    /**
+     * Gets the number of games played.
+     *
+     * @return twice the number of pairs
+     */
+    public long getGames() {
+        return 2 * pairs;
+    }
+
+    /**
+     * Gets the number of games won by strategy A.
+     *
+     * @return A's wins
+     */
+    public long getWinsA() {
+        return winsA;
+    }
+
+    /**
+     * Gets the number of games won by strategy B.
+     *
+     * @return B's wins
+     */
+    public long getWinsB() {
+        return winsB;
+    }
+
+    /**
+     * Gets the number of tied games.
+     *
+     * @return the number of ties
+     */
+    public long getTies() {
+        return ties;
+    }
+
+    /**
+     * Gets A's mean score per game, where 0.5 means the strategies are even.
+     *
+     * @return A's score between 0 and 1
+     */
+    public double getScore() {
+        return meanScore;
+    }
+
+    /**
+     * Gets the standard error of A's mean score.
+     *
+     * @return the standard error
+     */
+    public double getStandardError() {
+        return pairs == 0 ? 0.0 : Math.sqrt(scoreVariance / pairs);
+    }
+
+    /**
+     * Gets the final log-likelihood ratio of the sequential test. Positive
+     * values favor A.
+     *
+     * @return the log-likelihood ratio
+     */
+    public double getLogLikelihoodRatio() {
+        return logLikelihoodRatio;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ComparisonResult{verdict=%s, games=%d, winsA=%d, winsB=%d, ties=%d, score=%.4f +- %.4f, llr=%.3f}",
+                verdict, getGames(), winsA, winsB, ties, meanScore, getStandardError(), logLikelihoodRatio);
+    }
+}
@@ -0,0 +1,80 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.io.PrintStream;
+
+/**
+ * Narrates a game in human-readable form, as the command-line game does.
+ */
+public class ConsoleGameListener implements GameEventListener {
+    private final PrintStream out;
+
+    /**
+     * Constructs a listener that prints to standard output.
+     */
+    public ConsoleGameListener() {
+        this(System.out);
+    }
+
+    /**
+     * Constructs a listener that prints to the given stream.
+     *
+     * @param out the stream to print to
+     */
+    public ConsoleGameListener(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void initialHandDealt(Player player) {
+        out.println(player.getName() + " dealt initial hand of " + player.getHandSize() + " cards");
+    }
+
+    @Override
+    public void startingPlayerSelected(Player player) {
+        out.println(player.getName() + " goes first!");
+    }
+
+    @Override
+    public void turnStarted(Player player) {
+        out.println("\n========== " + player.getName() + " TURN ==========");
+    }
+
+    @Override
+    public void buyPhaseStarted(Player player) {
+        out.println("\n--- " + player.getName() + " Buy Phase ---");
+    }
+
+    @Override
+    public void cardsPlayed(Player player, int buyingPower) {
+        if (!player.getPlayedCards().isEmpty()) {
+            out.println("Played Cards: " + player.getPlayedCards() + "\n");
+        }
+        out.println("Buying power: " + buyingPower + " cryptocoins" + "\n");
+    }
+
+    @Override
+    public void cardPurchased(Player player, CardType type) {
+        out.println("Purchased: " + type.getCard());
+    }
+
+    @Override
+    public void noCardPurchased(Player player) {
+        out.println("No affordable cryptocurrency cards to purchase.");
+    }
+
+    @Override
+    public void cleanupPhaseStarted(Player player) {
+        out.println("\n--- " + player.getName() + " Cleanup Phase ---");
+    }
+
+    @Override
+    public void cleanupPhaseEnded(Player player, int discardedHand) {
+        out.println("Discarded " + discardedHand + " cards from hand");
+        out.println("Dealt new hand of " + player.getHandSize() + " cards");
+    }
+
+    @Override
+    public void turnEnded(Player player) {
+        out.println("========== TURN COMPLETE ==========");
+    }
+}
@@ -6,36 +6,39 @@ package edu.brandeis.cosi103a.ip2;
  * The value is worth when the card is played.
  */
 public class CryptocurrencyCard extends Card {
-    private int value;
+    private final int value;
 
     /**
      * Constructs a CryptocurrencyCard with a specified cost and value.
      *
      * @param cost  the number of cryptocoins required to buy this card
      * @param value the number of cryptocoins this card is worth when played
+     * @throws IllegalArgumentException if the cost and value are not those of
+     *                                  a standard card type
      */
     public CryptocurrencyCard(int cost, int value) {
-        super(cost);
+        super(CardType.standard(false, cost, value));
         this.value = value;
     }
 
     /**
-     * Gets the value of this cryptocurrency card in cryptocoins.
+     * Constructs the shared instance of a card type.
      *
-     * @return the number of cryptocoins this card is worth when played
+     * @param type the card type this instance represents
      */
-    @Override
-    public int getValue() {
-        return value;
+    CryptocurrencyCard(CardType type) {
+        super(type);
+        this.value = type.getValue();
     }
 
     /**
-     * Sets the value of this cryptocurrency card.
+     * Gets the value of this cryptocurrency card in cryptocoins.
      *
-     * @param value the number of cryptocoins this card is worth when played
+     * @return the number of cryptocoins this card is worth when played
      */
-    public void setValue(int value) {
-        this.value = value;
+    @Override
+    public int getValue() {
+        return value;
     }
 
     @Override
@@ -0,0 +1,487 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+/**
+ * A pile of cards backed by a ring buffer of card type ids.
+ * Cards are drawn from the top and added to the bottom, both in constant
+ * time. The deck stores one byte per card and hands out the shared
+ * {@link CardType} instances, so equal cards are interchangeable. Two decks
+ * can exchange their contents without copying, which lets a player turn the
+ * discard pile into the draw pile and shuffle it in place. The deck also keeps
+ * a count of its cards of each type and running totals of the APs and
+ * cryptocoins of its cards, so counting and membership tests take constant
+ * time.
+ */
+public class Deck implements Iterable<Card> {
+    private static final int DEFAULT_CAPACITY = 16;
+    /** APs of each card type by id, 0 for Cryptocurrency cards. */
+    private static final int[] AP_VALUES = new int[CardType.STANDARD_COUNT];
+    /** Cryptocoins of each card type by id, 0 for Automation cards. */
+    private static final int[] COIN_VALUES = new int[CardType.STANDARD_COUNT];
+
+    static {
+        for (int id = 0; id < CardType.STANDARD_COUNT; id++) {
+            CardType type = CardType.byId(id);
+            if (type.isAutomation()) {
+                AP_VALUES[id] = type.getValue();
+            } else {
+                COIN_VALUES[id] = type.getValue();
+            }
+        }
+    }
+
+    private byte[] ids;
+    private int head;
+    private int size;
+    private int[] counts;
+    private int apValue;
+    private int coinValue;
+    private List<Card> view;
+
+    /**
+     * Constructs an empty deck.
+     */
+    public Deck() {
+        this.ids = new byte[DEFAULT_CAPACITY];
+        this.counts = new int[CardType.STANDARD_COUNT];
+    }
+
+    /**
+     * Gets the number of cards in the deck.
+     *
+     * @return the number of cards
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the deck has no cards.
+     *
+     * @return true if the deck is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Adds a card to the bottom of the deck.
+     *
+     * @param card the card to add
+     */
+    public void add(Card card) {
+        add(card.getType());
+    }
+
+    /**
+     * Adds a card of the given type to the bottom of the deck.
+     *
+     * @param type the type of card to add
+     */
+    public void add(CardType type) {
+        if (size == ids.length) {
+            grow();
+        }
+        int id = type.getId();
+        ids[(head + size) & (ids.length - 1)] = (byte) id;
+        size++;
+        count(id, 1);
+    }
+
+    /**
+     * Removes and returns the top card of the deck.
+     *
+     * @return the shared instance of the top card's type, or null if the deck
+     *         is empty
+     */
+    public Card draw() {
+        CardType type = drawType();
+        return type == null ? null : type.getCard();
+    }
+
+    /**
+     * Removes the top card of the deck and returns its type.
+     *
+     * @return the top card's type, or null if the deck is empty
+     */
+    public CardType drawType() {
+        if (size == 0) {
+            return null;
+        }
+        int id = ids[head] & 0xFF;
+        head = (head + 1) & (ids.length - 1);
+        size--;
+        count(id, -1);
+        return CardType.byId(id);
+    }
+
+    /**
+     * Gets the card at a position, counting from the top of the deck.
+     *
+     * @param index the position, where 0 is the top card
+     * @return the shared instance of the card's type
+     * @throws IndexOutOfBoundsException if the index is outside the deck
+     */
+    public Card get(int index) {
+        return getType(index).getCard();
+    }
+
+    /**
+     * Gets the type of the card at a position, counting from the top of the
+     * deck.
+     *
+     * @param index the position, where 0 is the top card
+     * @return the card's type
+     * @throws IndexOutOfBoundsException if the index is outside the deck
+     */
+    public CardType getType(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return CardType.byId(ids[(head + index) & (ids.length - 1)] & 0xFF);
+    }
+
+    /**
+     * Checks whether the deck contains a card of the same type.
+     *
+     * @param card the card to look for
+     * @return true if a card of that type is in the deck
+     */
+    public boolean contains(Card card) {
+        return count(card.getType()) > 0;
+    }
+
+    /**
+     * Counts the cards of a type in the deck.
+     *
+     * @param type the card type
+     * @return the number of cards of that type
+     */
+    public int count(CardType type) {
+        return count(type.getId());
+    }
+
+    /**
+     * Counts the cards of a type id in the deck.
+     *
+     * @param typeId the card type's id
+     * @return the number of cards of that type
+     */
+    int count(int typeId) {
+        return counts[typeId];
+    }
+
+    /**
+     * Removes one card of the same type from the deck.
+     * This takes time linear in the size of the deck.
+     *
+     * @param card the card to remove
+     * @return true if a card was removed, false if none of that type was in
+     *         the deck
+     */
+    public boolean remove(Card card) {
+        if (!contains(card)) {
+            return false;
+        }
+        int index = indexOf(card.getType());
+        int mask = ids.length - 1;
+        for (int i = index; i < size - 1; i++) {
+            ids[(head + i) & mask] = ids[(head + i + 1) & mask];
+        }
+        size--;
+        count(card.getType().getId(), -1);
+        return true;
+    }
+
+    /**
+     * Removes all cards from the deck.
+     */
+    public void clear() {
+        head = 0;
+        size = 0;
+        apValue = 0;
+        coinValue = 0;
+        Arrays.fill(counts, 0);
+    }
+
+    /**
+     * Moves every card of this deck to the bottom of another deck, keeping
+     * their order, and leaves this deck empty.
+     *
+     * @param dest the deck to move the cards to
+     */
+    void moveAllTo(Deck dest) {
+        while (dest.ids.length < dest.size + size) {
+            dest.grow();
+        }
+        int mask = ids.length - 1;
+        int destMask = dest.ids.length - 1;
+        int tail = dest.head + dest.size;
+        for (int i = 0; i < size; i++) {
+            dest.ids[(tail + i) & destMask] = ids[(head + i) & mask];
+        }
+        dest.size += size;
+        for (int id = 0; id < counts.length; id++) {
+            dest.counts[id] += counts[id];
+        }
+        dest.apValue += apValue;
+        dest.coinValue += coinValue;
+        clear();
+    }
+
+    /**
+     * Moves every Cryptocurrency card of this deck to the bottom of another
+     * deck. Both the moved cards and the cards left behind keep their order.
+     *
+     * @param dest the deck to move the cards to
+     */
+    void moveCryptocurrencyTo(Deck dest) {
+        while (dest.ids.length < dest.size + size) {
+            dest.grow();
+        }
+        int mask = ids.length - 1;
+        int destMask = dest.ids.length - 1;
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            byte id = ids[(head + i) & mask];
+            if (COIN_VALUES[id] == 0) {
+                ids[(head + kept++) & mask] = id;
+            } else {
+                dest.ids[(dest.head + dest.size++) & destMask] = id;
+                dest.count(id, 1);
+                count(id, -1);
+            }
+        }
+        size = kept;
+    }
+
+    /**
+     * Moves cards from the top of this deck to the bottom of another deck,
+     * keeping their order, until this deck is empty or the other deck holds
+     * a number of cards.
+     *
+     * @param dest       the deck to move the cards to
+     * @param targetSize the size to fill the other deck up to
+     * @return the number of cards moved
+     */
+    int moveTopTo(Deck dest, int targetSize) {
+        int moved = Math.min(size, targetSize - dest.size);
+        if (moved <= 0) {
+            return 0;
+        }
+        while (dest.ids.length < dest.size + moved) {
+            dest.grow();
+        }
+        int mask = ids.length - 1;
+        int destMask = dest.ids.length - 1;
+        for (int i = 0; i < moved; i++) {
+            byte id = ids[head];
+            head = (head + 1) & mask;
+            dest.ids[(dest.head + dest.size + i) & destMask] = id;
+            dest.count(id, 1);
+            count(id, -1);
+        }
+        size -= moved;
+        dest.size += moved;
+        return moved;
+    }
+
+    /**
+     * Gets a read-only list view of the deck, top card first. The view is
+     * created once and follows later changes to the deck.
+     *
+     * @return the cards of the deck as shared instances of their types
+     */
+    List<Card> asList() {
+        if (view == null) {
+            view = new AbstractList<Card>() {
+                @Override
+                public Card get(int index) {
+                    return Deck.this.get(index);
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+        return view;
+    }
+
+    /**
+     * Copies the type ids of the cards into an array, top card first.
+     *
+     * @param dest the array to copy into; must hold at least {@link #size()}
+     *             ids
+     */
+    void copyIds(byte[] dest) {
+        int firstPart = Math.min(size, ids.length - head);
+        System.arraycopy(ids, head, dest, 0, firstPart);
+        System.arraycopy(ids, 0, dest, firstPart, size - firstPart);
+    }
+
+    /**
+     * Replaces the contents of the deck with cards of the given type ids, top
+     * card first.
+     *
+     * @param src    the type ids
+     * @param length the number of ids to use
+     */
+    void setIds(byte[] src, int length) {
+        clear();
+        if (ids.length < length) {
+            int capacity = ids.length;
+            while (capacity < length) {
+                capacity *= 2;
+            }
+            ids = new byte[capacity];
+        }
+        System.arraycopy(src, 0, ids, 0, length);
+        size = length;
+        for (int i = 0; i < length; i++) {
+            count(src[i], 1);
+        }
+    }
+
+    /**
+     * Gets the total APs of the Automation cards in the deck.
+     *
+     * @return the sum of the Automation card values
+     */
+    public int getAPValue() {
+        return apValue;
+    }
+
+    /**
+     * Gets the total cryptocoins of the Cryptocurrency cards in the deck.
+     *
+     * @return the sum of the Cryptocurrency card values
+     */
+    public int getCoinValue() {
+        return coinValue;
+    }
+
+    /**
+     * Shuffles the deck in place (Fisher-Yates).
+     *
+     * @param random the random number generator to use
+     */
+    public void shuffle(SplittableRandom random) {
+        int mask = ids.length - 1;
+        for (int i = size - 1; i > 0; i--) {
+            int a = (head + i) & mask;
+            int b = (head + random.nextInt(i + 1)) & mask;
+            byte id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+        }
+    }
+
+    /**
+     * Exchanges the contents of this deck with another deck.
+     * Only the backing buffers are swapped; no cards are copied.
+     *
+     * @param other the deck to exchange contents with
+     */
+    public void swap(Deck other) {
+        byte[] otherIds = other.ids;
+        int otherHead = other.head;
+        int otherSize = other.size;
+        int[] otherCounts = other.counts;
+        int otherAPValue = other.apValue;
+        int otherCoinValue = other.coinValue;
+        other.ids = ids;
+        other.head = head;
+        other.size = size;
+        other.counts = counts;
+        other.apValue = apValue;
+        other.coinValue = coinValue;
+        ids = otherIds;
+        head = otherHead;
+        size = otherSize;
+        counts = otherCounts;
+        apValue = otherAPValue;
+        coinValue = otherCoinValue;
+    }
+
+    /**
+     * Updates the running totals for a card entering or leaving the deck.
+     *
+     * @param id   the id of the card's type
+     * @param sign 1 if the card was added, -1 if it was removed
+     */
+    private void count(int id, int sign) {
+        counts[id] += sign;
+        apValue += sign * AP_VALUES[id];
+        coinValue += sign * COIN_VALUES[id];
+    }
+
+    /**
+     * Finds the position of the first card of a type.
+     *
+     * @param type the type to look for
+     * @return the position from the top, or -1 if not found
+     */
+    private int indexOf(CardType type) {
+        byte id = (byte) type.getId();
+        int mask = ids.length - 1;
+        for (int i = 0; i < size; i++) {
+            if (ids[(head + i) & mask] == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Doubles the capacity of the buffer, unwrapping the cards so the top card
+     * is at index 0.
+     */
+    private void grow() {
+        byte[] larger = new byte[ids.length * 2];
+        int firstPart = Math.min(size, ids.length - head);
+        System.arraycopy(ids, head, larger, 0, firstPart);
+        System.arraycopy(ids, 0, larger, firstPart, size - firstPart);
+        ids = larger;
+        head = 0;
+    }
+
+    @Override
+    public Iterator<Card> iterator() {
+        return new Iterator<Card>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public Card next() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                return get(index++);
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(getType(i));
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,109 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.util.SplittableRandom;
+
+/**
+ * Samples the hidden information of a game from one player's point of view.
+ * The observer knows the cards in its own hand and every player's played
+ * cards and discard pile, and it knows how many cards of each type every
+ * player owns. It does not know the order of any draw pile, nor which of an
+ * opponent's unseen cards are in the opponent's hand.
+ *
+ * A determinization keeps everything the observer knows and replaces the rest
+ * with a uniformly random arrangement consistent with it: the observer's draw
+ * pile is reshuffled, and each opponent's hand and draw pile are dealt again
+ * from their combined cards. Sampling rewrites a {@link GameState} in place
+ * and reuses one internal buffer, so it does not allocate once the buffer has
+ * grown to the largest deck. A determinizer is not thread-safe; use one per
+ * thread.
+ */
+public class Determinizer {
+    private byte[] pool = new byte[64];
+
+    /**
+     * Replaces the hidden information in a state with a random sample.
+     *
+     * @param state    the state to rewrite, usually a copy of the true state
+     * @param observer the seat whose knowledge is kept
+     * @param random   the random number generator to sample with
+     */
+    public void determinize(GameState state, int observer, SplittableRandom random) {
+        for (int player = 0; player < state.getPlayerCount(); player++) {
+            if (player == observer) {
+                shuffleDrawPile(state, player, random);
+            } else {
+                redealHiddenCards(state, player, random);
+            }
+        }
+    }
+
+    /**
+     * Shuffles a player's draw pile order; its composition stays the same.
+     *
+     * @param state  the state to rewrite
+     * @param player the player index
+     * @param random the random number generator
+     */
+    private static void shuffleDrawPile(GameState state, int player, SplittableRandom random) {
+        int size = state.getZoneSize(player, GameState.DRAW);
+        shuffle(state.drawOrder(player), size, random);
+    }
+
+    /**
+     * Deals a player's hand and draw pile again from their combined cards,
+     * keeping the hand size.
+     *
+     * @param state  the state to rewrite
+     * @param player the player index
+     * @param random the random number generator
+     */
+    private void redealHiddenCards(GameState state, int player, SplittableRandom random) {
+        int types = state.getTypeCount();
+        int handSize = state.getZoneSize(player, GameState.HAND);
+        int drawSize = state.getZoneSize(player, GameState.DRAW);
+        int total = handSize + drawSize;
+        if (pool.length < total) {
+            pool = new byte[Math.max(total, pool.length * 2)];
+        }
+
+        // Collect the hand by type, then the draw pile
+        int n = 0;
+        for (int id = 0; id < types; id++) {
+            for (int c = state.count(player, GameState.HAND, id); c > 0; c--) {
+                pool[n++] = (byte) id;
+            }
+            state.setCount(player, GameState.HAND, id, 0);
+            state.setCount(player, GameState.DRAW, id, 0);
+        }
+        System.arraycopy(state.drawOrder(player), 0, pool, n, drawSize);
+        shuffle(pool, total, random);
+
+        // The first cards form the hand, the rest the draw pile in order
+        for (int i = 0; i < handSize; i++) {
+            int id = pool[i] & 0xFF;
+            state.setCount(player, GameState.HAND, id, state.count(player, GameState.HAND, id) + 1);
+        }
+        byte[] draw = state.drawBuffer(player, drawSize);
+        for (int i = 0; i < drawSize; i++) {
+            byte id = pool[handSize + i];
+            draw[i] = id;
+            state.setCount(player, GameState.DRAW, id & 0xFF, state.count(player, GameState.DRAW, id & 0xFF) + 1);
+        }
+    }
+
+    /**
+     * Shuffles the first entries of an array in place (Fisher-Yates).
+     *
+     * @param ids    the array
+     * @param size   the number of entries to shuffle
+     * @param random the random number generator
+     */
+    private static void shuffle(byte[] ids, int size, SplittableRandom random) {
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            byte id = ids[i];
+            ids[i] = ids[j];
+            ids[j] = id;
+        }
+    }
+}
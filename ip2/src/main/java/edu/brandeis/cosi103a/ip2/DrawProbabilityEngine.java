@@ -0,0 +1,264 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Computes the exact distribution of the buying power of a player's next
+ * hand.
+ * The next hand is dealt from the top of the draw pile, whose order the
+ * player does not know. If the draw pile has enough cards the hand is a
+ * uniformly random subset of it, so the number of cards of each coin value
+ * follows a multivariate hypergeometric distribution. If not, the hand takes
+ * the whole draw pile and the rest is a random subset of the reshuffled
+ * discard pile.
+ *
+ * Only the coin values of the cards matter, so piles are reduced to counts
+ * per coin value (Automation cards count as 0). The result for each
+ * combination of draw counts, discard counts and hand size is cached under a
+ * packed 64-bit key, so repeated queries are a map lookup. The engine is
+ * thread-safe.
+ */
+public class DrawProbabilityEngine {
+    /** Number of cards in a hand. */
+    public static final int HAND_SIZE = 5;
+
+    /** Highest coin value that can be part of a cache key. */
+    private static final int MAX_KEYED_VALUE = 3;
+
+    /** Highest count per coin value that can be part of a cache key. */
+    private static final int MAX_KEYED_COUNT = 127;
+
+    /**
+     * Highest hand size that can be part of a cache key. The hand size takes
+     * the top bits of the key, above the counts, and must leave the sign bit
+     * clear.
+     */
+    private static final int MAX_KEYED_HAND_SIZE = 127;
+
+    /** Number of cached distributions above which the cache is cleared. */
+    private static final int MAX_CACHE_SIZE = 1 << 16;
+
+    private static final DrawProbabilityEngine SHARED = new DrawProbabilityEngine();
+
+    private final ConcurrentHashMap<Long, HandDistribution> cache = new ConcurrentHashMap<>();
+
+    /** Per-thread draw and discard counts, reused by {@link #nextHand(Player, CardType)}. */
+    private final ThreadLocal<int[][]> buffers =
+            ThreadLocal.withInitial(() -> new int[2][MAX_KEYED_VALUE + 1]);
+
+    /**
+     * Gets the engine shared by all games.
+     *
+     * @return the shared engine
+     */
+    public static DrawProbabilityEngine shared() {
+        return SHARED;
+    }
+
+    /**
+     * Computes the distribution of a player's next hand, as it will be dealt
+     * in the cleanup phase: the hand and played cards go to the discard pile
+     * first, together with the card being bought. The counts are read from
+     * the piles' per-type counts, so this takes constant time and allocates
+     * nothing when the distribution is cached.
+     *
+     * @param player   the player
+     * @param purchase the card bought this turn, or null if none
+     * @return the distribution of the next hand's buying power
+     */
+    public HandDistribution nextHand(Player player, CardType purchase) {
+        int[][] counts = buffers.get();
+        int[] draw = counts[0];
+        int[] discard = counts[1];
+        Arrays.fill(draw, 0);
+        Arrays.fill(discard, 0);
+        Deck drawPile = player.getDrawPile();
+        for (int id = 0; id < CardType.STANDARD_COUNT; id++) {
+            CardType type = CardType.byId(id);
+            int inDraw = drawPile.count(id);
+            draw[coinValue(type)] += inDraw;
+            // Hand, played cards and discard pile all end up in the discard pile
+            discard[coinValue(type)] += player.countOwned(type) - inDraw;
+        }
+        if (purchase != null) {
+            discard[coinValue(purchase)]++;
+        }
+        return nextHand(draw, discard, HAND_SIZE);
+    }
+
+    /**
+     * Computes the distribution of a hand dealt from piles with the given
+     * numbers of cards of each coin value.
+     *
+     * @param drawCounts    the number of cards in the draw pile with each coin
+     *                      value, indexed by coin value
+     * @param discardCounts the number of cards in the discard pile with each
+     *                      coin value, indexed by coin value
+     * @param handSize      the number of cards to deal
+     * @return the distribution of the hand's buying power
+     */
+    public HandDistribution nextHand(int[] drawCounts, int[] discardCounts, int handSize) {
+        boolean drawSuffices = sum(drawCounts) >= handSize;
+        long key = key(drawCounts, drawSuffices ? null : discardCounts, handSize);
+        if (key < 0) {
+            return compute(drawCounts, discardCounts, handSize);
+        }
+        HandDistribution distribution = cache.get(key);
+        if (distribution == null) {
+            distribution = compute(drawCounts, discardCounts, handSize);
+            if (cache.size() >= MAX_CACHE_SIZE) {
+                cache.clear();
+            }
+            cache.put(key, distribution);
+        }
+        return distribution;
+    }
+
+    /**
+     * Gets the number of cached distributions.
+     *
+     * @return the cache size
+     */
+    public int getCacheSize() {
+        return cache.size();
+    }
+
+    /**
+     * Computes a distribution without the cache.
+     *
+     * @param drawCounts    the draw pile's counts per coin value
+     * @param discardCounts the discard pile's counts per coin value
+     * @param handSize      the number of cards to deal
+     * @return the distribution of the hand's buying power
+     */
+    private static HandDistribution compute(int[] drawCounts, int[] discardCounts, int handSize) {
+        int drawSize = sum(drawCounts);
+        if (drawSize >= handSize) {
+            return new HandDistribution(subsetDistribution(drawCounts, handSize, 0));
+        }
+        // The whole draw pile is dealt, the rest comes from the reshuffle
+        int base = 0;
+        for (int value = 0; value < drawCounts.length; value++) {
+            base += value * drawCounts[value];
+        }
+        int fromDiscard = Math.min(handSize - drawSize, sum(discardCounts));
+        return new HandDistribution(subsetDistribution(discardCounts, fromDiscard, base));
+    }
+
+    /**
+     * Computes the distribution of the total coin value of a uniformly random
+     * subset of a pile.
+     *
+     * @param counts the pile's counts per coin value
+     * @param size   the size of the subset
+     * @param offset a value added to every total
+     * @return the probability of each total, indexed by total
+     */
+    private static double[] subsetDistribution(int[] counts, int size, int offset) {
+        int maxValue = counts.length - 1;
+        int maxTotal = size * maxValue;
+        // ways[k][s]: number of k-card subsets with total s
+        double[][] ways = new double[size + 1][maxTotal + 1];
+        ways[0][0] = 1;
+        int seen = 0;
+        for (int value = 0; value <= maxValue; value++) {
+            int count = counts[value];
+            if (count == 0) {
+                continue;
+            }
+            double[][] next = new double[size + 1][maxTotal + 1];
+            for (int k = 0; k <= Math.min(size, seen); k++) {
+                for (int s = 0; s <= maxTotal; s++) {
+                    if (ways[k][s] == 0) {
+                        continue;
+                    }
+                    double choose = 1;
+                    for (int j = 0; j <= count && k + j <= size; j++) {
+                        next[k + j][s + j * value] += ways[k][s] * choose;
+                        choose = choose * (count - j) / (j + 1);
+                    }
+                }
+            }
+            ways = next;
+            seen += count;
+        }
+
+        double total = binomial(seen, size);
+        double[] probabilities = new double[offset + maxTotal + 1];
+        int last = offset;
+        for (int s = 0; s <= maxTotal; s++) {
+            probabilities[offset + s] = ways[size][s] / total;
+            if (ways[size][s] > 0) {
+                last = offset + s;
+            }
+        }
+        return Arrays.copyOf(probabilities, last + 1);
+    }
+
+    /**
+     * Computes a binomial coefficient as a double.
+     *
+     * @param n the number of items
+     * @param k the number chosen
+     * @return n choose k
+     */
+    private static double binomial(int n, int k) {
+        double result = 1;
+        for (int i = 0; i < k; i++) {
+            result = result * (n - i) / (i + 1);
+        }
+        return result;
+    }
+
+    /**
+     * Packs the counts and hand size into a cache key.
+     *
+     * @param drawCounts    the draw pile's counts per coin value
+     * @param discardCounts the discard pile's counts per coin value, or null
+     *                      if the discard pile does not matter
+     * @param handSize      the number of cards to deal
+     * @return the key, or -1 if the counts or hand size are too large to
+     *         pack
+     */
+    private static long key(int[] drawCounts, int[] discardCounts, int handSize) {
+        if (handSize < 0 || handSize > MAX_KEYED_HAND_SIZE || drawCounts.length > MAX_KEYED_VALUE + 1
+                || (discardCounts != null && discardCounts.length > MAX_KEYED_VALUE + 1)) {
+            return -1;
+        }
+        long key = handSize;
+        for (int value = 0; value <= MAX_KEYED_VALUE; value++) {
+            int draw = value < drawCounts.length ? drawCounts[value] : 0;
+            int discard = discardCounts != null && value < discardCounts.length ? discardCounts[value] : 0;
+            if (draw > MAX_KEYED_COUNT || discard > MAX_KEYED_COUNT) {
+                return -1;
+            }
+            key = (key << 14) | ((long) draw << 7) | discard;
+        }
+        return key;
+    }
+
+    /**
+     * Adds up the counts of a pile.
+     *
+     * @param counts the counts per coin value
+     * @return the number of cards
+     */
+    private static int sum(int[] counts) {
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Gets the coin value a card adds to a hand.
+     *
+     * @param type the card's type
+     * @return the card's value in cryptocoins, or 0 for Automation cards
+     */
+    private static int coinValue(CardType type) {
+        return type.isAutomation() ? 0 : type.getValue();
+    }
+}
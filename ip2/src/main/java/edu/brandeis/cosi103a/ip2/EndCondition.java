@@ -0,0 +1,71 @@
+package edu.brandeis.cosi103a.ip2;
+
+/**
+ * A rule that decides when a game is over.
+ * A condition itself holds no per-game state, so one instance can be shared
+ * by every game in a simulation run. Each game asks it for a
+ * {@link Tracker}, which follows the game through the events that can change
+ * the outcome: supply piles shrinking, seats gaining APs and turns ending.
+ * The game keeps the tracker's answer up to date after each event, so
+ * checking whether the game is over is a field read. Built-in conditions are
+ * created by {@link EndConditions}.
+ */
+public interface EndCondition {
+
+    /**
+     * Creates the per-game state of this condition.
+     *
+     * @return a new tracker, not yet started
+     */
+    Tracker newTracker();
+
+    /**
+     * Follows one game and says whether its end condition is met.
+     * A tracker is used by one game on one thread. Event methods do nothing
+     * by default; implementations override the events they depend on.
+     */
+    interface Tracker {
+
+        /**
+         * Derives the tracker's state from the whole game. Called once set-up
+         * is done and again whenever the game is restored from a snapshot.
+         *
+         * @param game a read-only view of the game
+         */
+        void start(GameView game);
+
+        /**
+         * Called after a supply pile has changed.
+         *
+         * @param type      the pile's card type
+         * @param remaining the number of cards now left in the pile
+         */
+        default void supplyChanged(CardType type, int remaining) {
+        }
+
+        /**
+         * Called after a seat's APs have changed.
+         *
+         * @param seat the seat index
+         * @param ap   the seat's new total APs
+         */
+        default void apChanged(int seat, int ap) {
+        }
+
+        /**
+         * Called after a turn has ended.
+         *
+         * @param turns the number of turns completed so far
+         */
+        default void turnEnded(int turns) {
+        }
+
+        /**
+         * Checks whether the condition is met as of the last event.
+         * This must take constant time.
+         *
+         * @return true if the game is over
+         */
+        boolean isMet();
+    }
+}
@@ -0,0 +1,347 @@
+package edu.brandeis.cosi103a.ip2;
+
+import edu.brandeis.cosi103a.ip2.EndCondition.Tracker;
+
+/**
+ * Factory of the built-in end conditions.
+ * The standard rule ends the game once the Framework pile is empty; the
+ * other conditions support rule variants and can be combined with
+ * {@link #anyOf}. Conditions can also be parsed from a short text form with
+ * {@link #parse}, so simulation runs can pick rule variants from the
+ * command line. The toString() of a built-in condition is its text form.
+ */
+public final class EndConditions {
+    private static final EndCondition FRAMEWORK_EMPTY = new Named("framework", pileEmpty(CardType.FRAMEWORK));
+    private static final EndCondition NEVER = new Named("never", () -> new FlagTracker() {
+        @Override
+        public void start(GameView game) {
+        }
+    });
+
+    private EndConditions() {
+    }
+
+    /**
+     * Gets the standard rule: the game ends once every Framework card has
+     * been bought.
+     *
+     * @return the standard end condition
+     */
+    public static EndCondition frameworkEmpty() {
+        return FRAMEWORK_EMPTY;
+    }
+
+    /**
+     * Gets a condition that is never met, leaving the turn limit passed to
+     * {@link App#playGame} as the only way a game ends.
+     *
+     * @return the condition that never ends a game
+     */
+    public static EndCondition never() {
+        return NEVER;
+    }
+
+    /**
+     * Creates a condition met once one supply pile is empty.
+     *
+     * @param type the pile's card type
+     * @return the end condition
+     */
+    public static EndCondition pileEmpty(CardType type) {
+        return new Named("empty:" + type.getName(), () -> new FlagTracker() {
+            @Override
+            public void start(GameView game) {
+                met = game.getSupply().isEmpty(type);
+            }
+
+            @Override
+            public void supplyChanged(CardType changed, int remaining) {
+                if (changed == type) {
+                    met = remaining == 0;
+                }
+            }
+        });
+    }
+
+    /**
+     * Creates a condition met once a number of supply piles are empty,
+     * counting every standard pile.
+     *
+     * @param piles the number of empty piles that ends the game
+     * @return the end condition
+     * @throws IllegalArgumentException if piles is not positive
+     */
+    public static EndCondition pilesEmpty(int piles) {
+        if (piles <= 0) {
+            throw new IllegalArgumentException("Pile count must be positive: " + piles);
+        }
+        return new Named("piles:" + piles, () -> new FlagTracker() {
+            private final boolean[] empty = new boolean[CardType.STANDARD_COUNT];
+            private int emptyPiles;
+
+            @Override
+            public void start(GameView game) {
+                emptyPiles = 0;
+                for (int id = 0; id < empty.length; id++) {
+                    empty[id] = game.getSupply().isEmpty(CardType.byId(id));
+                    if (empty[id]) {
+                        emptyPiles++;
+                    }
+                }
+                met = emptyPiles >= piles;
+            }
+
+            @Override
+            public void supplyChanged(CardType type, int remaining) {
+                int id = type.getId();
+                if (id < empty.length && empty[id] != (remaining == 0)) {
+                    empty[id] = remaining == 0;
+                    emptyPiles += empty[id] ? 1 : -1;
+                    met = emptyPiles >= piles;
+                }
+            }
+        });
+    }
+
+    /**
+     * Creates a condition met once a number of turns have been played.
+     *
+     * @param turns the number of turns that ends the game
+     * @return the end condition
+     * @throws IllegalArgumentException if turns is negative
+     */
+    public static EndCondition turnLimit(int turns) {
+        if (turns < 0) {
+            throw new IllegalArgumentException("Turn limit must not be negative: " + turns);
+        }
+        return new Named("turns:" + turns, () -> new FlagTracker() {
+            @Override
+            public void start(GameView game) {
+                met = game.getTurn() >= turns;
+            }
+
+            @Override
+            public void turnEnded(int completed) {
+                met = completed >= turns;
+            }
+        });
+    }
+
+    /**
+     * Creates a condition met once any seat owns at least a number of APs.
+     *
+     * @param ap the AP total that ends the game
+     * @return the end condition
+     */
+    public static EndCondition apThreshold(int ap) {
+        return new Named("ap:" + ap, () -> new FlagTracker() {
+            @Override
+            public void start(GameView game) {
+                met = false;
+                for (int seat = 0; seat < game.getPlayerCount(); seat++) {
+                    met |= game.getAP(seat) >= ap;
+                }
+            }
+
+            @Override
+            public void apChanged(int seat, int seatAP) {
+                // APs only grow between restores, so a met threshold stays met
+                met |= seatAP >= ap;
+            }
+        });
+    }
+
+    /**
+     * Creates a condition met as soon as any of several conditions is met.
+     *
+     * @param conditions the conditions to combine
+     * @return the combined end condition
+     * @throws IllegalArgumentException if no conditions are given
+     */
+    public static EndCondition anyOf(EndCondition... conditions) {
+        if (conditions.length == 0) {
+            throw new IllegalArgumentException("At least one end condition is required");
+        }
+        if (conditions.length == 1) {
+            return conditions[0];
+        }
+        EndCondition[] parts = conditions.clone();
+        StringBuilder spec = new StringBuilder();
+        for (EndCondition part : parts) {
+            spec.append(spec.length() == 0 ? "" : ",").append(part);
+        }
+        return new Named(spec.toString(), () -> {
+            Tracker[] trackers = new Tracker[parts.length];
+            for (int i = 0; i < parts.length; i++) {
+                trackers[i] = parts[i].newTracker();
+            }
+            return new AnyOf(trackers);
+        });
+    }
+
+    /**
+     * Parses an end condition from its text form: a comma-separated list of
+     * terms, any one of which ends the game. The terms are "framework" (the
+     * standard rule), "never", "empty:TYPE" (a named pile is empty),
+     * "piles:N" (N piles are empty), "turns:N" (N turns have been played) and
+     * "ap:N" (a seat owns N APs). For example "piles:3,turns:200".
+     *
+     * @param spec the text form
+     * @return the end condition
+     * @throws IllegalArgumentException if the text is not a valid condition
+     */
+    public static EndCondition parse(String spec) {
+        String[] terms = spec.split(",");
+        EndCondition[] conditions = new EndCondition[terms.length];
+        for (int i = 0; i < terms.length; i++) {
+            conditions[i] = parseTerm(terms[i].trim());
+        }
+        return anyOf(conditions);
+    }
+
+    /**
+     * Parses one term of an end condition's text form.
+     *
+     * @param term the term
+     * @return the end condition
+     * @throws IllegalArgumentException if the term is not valid
+     */
+    private static EndCondition parseTerm(String term) {
+        if (term.equals("framework")) {
+            return frameworkEmpty();
+        }
+        if (term.equals("never")) {
+            return never();
+        }
+        int colon = term.indexOf(':');
+        if (colon < 0) {
+            throw new IllegalArgumentException("Unknown end condition: " + term);
+        }
+        String name = term.substring(0, colon);
+        String argument = term.substring(colon + 1);
+        if (name.equals("empty")) {
+            for (int id = 0; id < CardType.STANDARD_COUNT; id++) {
+                if (CardType.byId(id).getName().equalsIgnoreCase(argument)) {
+                    return pileEmpty(CardType.byId(id));
+                }
+            }
+            throw new IllegalArgumentException("Unknown supply pile: " + argument);
+        }
+        int value;
+        try {
+            value = Integer.parseInt(argument);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number in end condition: " + term, e);
+        }
+        switch (name) {
+            case "piles":
+                return pilesEmpty(value);
+            case "turns":
+                return turnLimit(value);
+            case "ap":
+                return apThreshold(value);
+            default:
+                throw new IllegalArgumentException("Unknown end condition: " + term);
+        }
+    }
+
+    /**
+     * A built-in condition together with its text form.
+     */
+    private static final class Named implements EndCondition {
+        private final String spec;
+        private final EndCondition condition;
+
+        /**
+         * Constructs a named condition.
+         *
+         * @param spec      the condition's text form, as read by {@link #parse}
+         * @param condition the condition
+         */
+        Named(String spec, EndCondition condition) {
+            this.spec = spec;
+            this.condition = condition;
+        }
+
+        @Override
+        public Tracker newTracker() {
+            return condition.newTracker();
+        }
+
+        @Override
+        public String toString() {
+            return spec;
+        }
+    }
+
+    /**
+     * Base of the built-in trackers, which keep their answer in a field.
+     */
+    private abstract static class FlagTracker implements Tracker {
+        /** Whether the condition is met as of the last event. */
+        protected boolean met;
+
+        @Override
+        public boolean isMet() {
+            return met;
+        }
+    }
+
+    /**
+     * Tracker met when any of its parts is met.
+     */
+    private static final class AnyOf extends FlagTracker {
+        private final Tracker[] trackers;
+
+        /**
+         * Constructs a tracker over the trackers of the combined conditions.
+         *
+         * @param trackers one tracker per condition
+         */
+        AnyOf(Tracker[] trackers) {
+            this.trackers = trackers;
+        }
+
+        @Override
+        public void start(GameView game) {
+            for (Tracker tracker : trackers) {
+                tracker.start(game);
+            }
+            update();
+        }
+
+        @Override
+        public void supplyChanged(CardType type, int remaining) {
+            for (Tracker tracker : trackers) {
+                tracker.supplyChanged(type, remaining);
+            }
+            update();
+        }
+
+        @Override
+        public void apChanged(int seat, int ap) {
+            for (Tracker tracker : trackers) {
+                tracker.apChanged(seat, ap);
+            }
+            update();
+        }
+
+        @Override
+        public void turnEnded(int turns) {
+            for (Tracker tracker : trackers) {
+                tracker.turnEnded(turns);
+            }
+            update();
+        }
+
+        /**
+         * Recomputes whether any part is met.
+         */
+        private void update() {
+            met = false;
+            for (Tracker tracker : trackers) {
+                met |= tracker.isMet();
+            }
+        }
+    }
+}
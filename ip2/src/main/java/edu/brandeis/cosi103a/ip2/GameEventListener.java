@@ -0,0 +1,107 @@
+package edu.brandeis.cosi103a.ip2;
+
+/**
+ * Receives the events of an Automation card game as they happen.
+ * Events carry the objects involved rather than formatted text, so a game
+ * without a listener does no string building at all. Every method does
+ * nothing by default; implementations override the events they care about.
+ */
+public interface GameEventListener {
+
+    /** Listener that ignores every event. This is the default for simulations. */
+    GameEventListener NONE = new GameEventListener() {
+    };
+
+    /**
+     * Called after a player has been dealt their initial hand.
+     *
+     * @param player the player
+     */
+    default void initialHandDealt(Player player) {
+    }
+
+    /**
+     * Called after the starting player has been chosen.
+     *
+     * @param player the player who goes first
+     */
+    default void startingPlayerSelected(Player player) {
+    }
+
+    /**
+     * Called when a player's turn starts.
+     *
+     * @param player the player taking the turn
+     */
+    default void turnStarted(Player player) {
+    }
+
+    /**
+     * Called when a player's buy phase starts.
+     *
+     * @param player the player buying
+     */
+    default void buyPhaseStarted(Player player) {
+    }
+
+    /**
+     * Called after a player has played their cryptocurrency cards.
+     *
+     * @param player      the player buying; {@link Player#getPlayedCards()}
+     *                    holds the played cards
+     * @param buyingPower the total value of the played cards
+     */
+    default void cardsPlayed(Player player, int buyingPower) {
+    }
+
+    /**
+     * Called after a player has bought a card.
+     *
+     * @param player the player who bought the card
+     * @param type   the type of card bought
+     */
+    default void cardPurchased(Player player, CardType type) {
+    }
+
+    /**
+     * Called when a player ends the buy phase without buying a card.
+     *
+     * @param player the player
+     */
+    default void noCardPurchased(Player player) {
+    }
+
+    /**
+     * Called after a player's discard pile has been shuffled to form a new
+     * draw pile.
+     *
+     * @param player the player; the draw pile holds the reshuffled cards
+     */
+    default void reshuffled(Player player) {
+    }
+
+    /**
+     * Called when a player's cleanup phase starts.
+     *
+     * @param player the player cleaning up
+     */
+    default void cleanupPhaseStarted(Player player) {
+    }
+
+    /**
+     * Called after a player has discarded their hand and been dealt a new one.
+     *
+     * @param player        the player
+     * @param discardedHand the number of cards discarded from the old hand
+     */
+    default void cleanupPhaseEnded(Player player, int discardedHand) {
+    }
+
+    /**
+     * Called when a player's turn is complete.
+     *
+     * @param player the player who took the turn
+     */
+    default void turnEnded(Player player) {
+    }
+}
@@ -0,0 +1,290 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Counts and times what happens inside games: buy and cleanup phases,
+ * reshuffles, draws, purchases by card type and turns per game.
+ *
+ * Metrics are off unless a registry is attached with
+ * {@link App#setMetrics} or {@link GameSimulator#setMetrics}. Games without
+ * one only test a null field at each hook, so the hooks can stay in
+ * production builds. One registry can be shared by games on many threads:
+ * counters are striped {@link LongAdder}s and times go into lock-free
+ * {@link LogHistogram}s. Read the metrics directly, as a JSON snapshot, or
+ * through JMX after {@link #register}.
+ */
+public class GameMetrics implements GameMetricsMXBean {
+    /** Domain and type of the JMX names registries are registered under. */
+    public static final String OBJECT_NAME_PREFIX = "edu.brandeis.cosi103a.ip2:type=GameMetrics,name=";
+
+    private final LongAdder games = new LongAdder();
+    private final LongAdder turns = new LongAdder();
+    private final LongAdder draws = new LongAdder();
+    private final LongAdder[] purchases = new LongAdder[CardType.STANDARD_COUNT];
+    private final LogHistogram buyPhaseNanos = new LogHistogram();
+    private final LogHistogram cleanupPhaseNanos = new LogHistogram();
+    private final LogHistogram reshuffleNanos = new LogHistogram();
+    private final LogHistogram turnsPerGame = new LogHistogram();
+
+    /**
+     * Constructs an empty registry.
+     */
+    public GameMetrics() {
+        for (int id = 0; id < purchases.length; id++) {
+            purchases[id] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a finished buy phase.
+     *
+     * @param nanos how long the phase took
+     */
+    void buyPhase(long nanos) {
+        buyPhaseNanos.record(nanos);
+    }
+
+    /**
+     * Records a finished cleanup phase.
+     *
+     * @param nanos how long the phase took
+     */
+    void cleanupPhase(long nanos) {
+        cleanupPhaseNanos.record(nanos);
+    }
+
+    /**
+     * Records a reshuffle of a discard pile into a draw pile.
+     *
+     * @param nanos how long the reshuffle took
+     */
+    void reshuffle(long nanos) {
+        reshuffleNanos.record(nanos);
+    }
+
+    /**
+     * Records cards drawn from a draw pile.
+     *
+     * @param cards the number of cards drawn
+     */
+    void draws(int cards) {
+        draws.add(cards);
+    }
+
+    /**
+     * Records a purchase.
+     *
+     * @param type the type bought
+     */
+    void purchase(CardType type) {
+        purchases[type.getId()].increment();
+    }
+
+    /**
+     * Records a finished turn.
+     */
+    void turn() {
+        turns.increment();
+    }
+
+    /**
+     * Records a finished game.
+     *
+     * @param turns the number of turns the game lasted
+     */
+    void game(int turns) {
+        games.increment();
+        turnsPerGame.record(turns);
+    }
+
+    @Override
+    public long getGames() {
+        return games.sum();
+    }
+
+    @Override
+    public long getTurns() {
+        return turns.sum();
+    }
+
+    @Override
+    public long getDraws() {
+        return draws.sum();
+    }
+
+    @Override
+    public long getReshuffles() {
+        return reshuffleNanos.getCount();
+    }
+
+    /**
+     * Gets the number of cards bought of a type.
+     *
+     * @param type the card type
+     * @return the number of purchases
+     */
+    public long getPurchases(CardType type) {
+        return purchases[type.getId()].sum();
+    }
+
+    @Override
+    public Map<String, Long> getPurchases() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int id = 0; id < CardType.STANDARD_COUNT; id++) {
+            result.put(CardType.byId(id).getName(), purchases[id].sum());
+        }
+        return result;
+    }
+
+    /**
+     * Gets the distribution of buy phase times.
+     *
+     * @return the histogram, in nanoseconds
+     */
+    public LogHistogram getBuyPhaseNanos() {
+        return buyPhaseNanos;
+    }
+
+    /**
+     * Gets the distribution of cleanup phase times.
+     *
+     * @return the histogram, in nanoseconds
+     */
+    public LogHistogram getCleanupPhaseNanos() {
+        return cleanupPhaseNanos;
+    }
+
+    /**
+     * Gets the distribution of reshuffle times.
+     *
+     * @return the histogram, in nanoseconds
+     */
+    public LogHistogram getReshuffleNanos() {
+        return reshuffleNanos;
+    }
+
+    /**
+     * Gets the distribution of game lengths.
+     *
+     * @return the histogram, in turns
+     */
+    public LogHistogram getTurnsPerGame() {
+        return turnsPerGame;
+    }
+
+    @Override
+    public double getMeanBuyPhaseNanos() {
+        return buyPhaseNanos.getMean();
+    }
+
+    @Override
+    public long getBuyPhaseP99Nanos() {
+        return buyPhaseNanos.getValueAtQuantile(0.99);
+    }
+
+    @Override
+    public double getMeanCleanupPhaseNanos() {
+        return cleanupPhaseNanos.getMean();
+    }
+
+    @Override
+    public long getCleanupPhaseP99Nanos() {
+        return cleanupPhaseNanos.getValueAtQuantile(0.99);
+    }
+
+    @Override
+    public double getMeanReshuffleNanos() {
+        return reshuffleNanos.getMean();
+    }
+
+    @Override
+    public double getMeanTurnsPerGame() {
+        return turnsPerGame.getMean();
+    }
+
+    @Override
+    public String getJson() {
+        return toJson();
+    }
+
+    /**
+     * Writes every metric as one JSON object. Values are read one at a time
+     * while games may still be running, so the snapshot is not atomic.
+     *
+     * @return the JSON snapshot
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder("{\"games\":").append(getGames())
+                .append(",\"turns\":").append(getTurns())
+                .append(",\"draws\":").append(getDraws())
+                .append(",\"reshuffles\":").append(getReshuffles())
+                .append(",\"purchases\":{");
+        boolean first = true;
+        for (Map.Entry<String, Long> entry : getPurchases().entrySet()) {
+            if (!first) {
+                json.append(',');
+            }
+            first = false;
+            json.append('"').append(entry.getKey()).append("\":").append(entry.getValue());
+        }
+        json.append("},\"buyPhaseNanos\":");
+        buyPhaseNanos.appendJson(json);
+        json.append(",\"cleanupPhaseNanos\":");
+        cleanupPhaseNanos.appendJson(json);
+        json.append(",\"reshuffleNanos\":");
+        reshuffleNanos.appendJson(json);
+        json.append(",\"turnsPerGame\":");
+        turnsPerGame.appendJson(json);
+        return json.append('}').toString();
+    }
+
+    @Override
+    public void reset() {
+        games.reset();
+        turns.reset();
+        draws.reset();
+        for (LongAdder adder : purchases) {
+            adder.reset();
+        }
+        buyPhaseNanos.reset();
+        cleanupPhaseNanos.reset();
+        reshuffleNanos.reset();
+        turnsPerGame.reset();
+    }
+
+    /**
+     * Registers this registry with the platform MBean server.
+     *
+     * @param name the value of the name key in the JMX object name
+     * @return the object name it was registered under
+     * @throws JMException if the name is invalid or already taken
+     */
+    public ObjectName register(String name) throws JMException {
+        ObjectName objectName = new ObjectName(OBJECT_NAME_PREFIX + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        return objectName;
+    }
+
+    /**
+     * Removes a registry from the platform MBean server.
+     *
+     * @param objectName the name returned by {@link #register}
+     * @throws JMException if nothing is registered under that name
+     */
+    public static void unregister(ObjectName objectName) throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        server.unregisterMBean(objectName);
+    }
+
+    @Override
+    public String toString() {
+        return "GameMetrics" + toJson();
+    }
+}
@@ -0,0 +1,99 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.util.Map;
+
+/**
+ * The JMX view of a {@link GameMetrics} registry. Times are in nanoseconds.
+ */
+public interface GameMetricsMXBean {
+
+    /**
+     * Gets the number of games played to completion through
+     * {@link App#playGame(int)}.
+     *
+     * @return the number of games
+     */
+    long getGames();
+
+    /**
+     * Gets the number of turns played.
+     *
+     * @return the number of turns
+     */
+    long getTurns();
+
+    /**
+     * Gets the number of cards drawn from draw piles.
+     *
+     * @return the number of draws
+     */
+    long getDraws();
+
+    /**
+     * Gets the number of times a discard pile was reshuffled into a draw pile.
+     *
+     * @return the number of reshuffles
+     */
+    long getReshuffles();
+
+    /**
+     * Gets the number of cards bought of each type.
+     *
+     * @return the purchases, keyed by card type name
+     */
+    Map<String, Long> getPurchases();
+
+    /**
+     * Gets the mean time of a buy phase.
+     *
+     * @return the mean in nanoseconds
+     */
+    double getMeanBuyPhaseNanos();
+
+    /**
+     * Gets the 99th percentile time of a buy phase.
+     *
+     * @return the percentile in nanoseconds
+     */
+    long getBuyPhaseP99Nanos();
+
+    /**
+     * Gets the mean time of a cleanup phase.
+     *
+     * @return the mean in nanoseconds
+     */
+    double getMeanCleanupPhaseNanos();
+
+    /**
+     * Gets the 99th percentile time of a cleanup phase.
+     *
+     * @return the percentile in nanoseconds
+     */
+    long getCleanupPhaseP99Nanos();
+
+    /**
+     * Gets the mean time of a reshuffle.
+     *
+     * @return the mean in nanoseconds
+     */
+    double getMeanReshuffleNanos();
+
+    /**
+     * Gets the mean number of turns per completed game.
+     *
+     * @return the mean game length
+     */
+    double getMeanTurnsPerGame();
+
+    /**
+     * Gets a JSON snapshot of every metric.
+     *
+     * @return the snapshot
+     */
+    String getJson();
+
+    /**
+     * Clears every metric.
+     */
+    void reset();
+}
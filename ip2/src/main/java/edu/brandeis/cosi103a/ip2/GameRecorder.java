@@ -0,0 +1,197 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Records the events of one game into a compact binary log.
+ * The log starts with a header holding the format version, the game seed and
+ * the number of players. Each event follows as an opcode and its fields, all
+ * written as unsigned LEB128 varints, so most values take one byte. Cards are
+ * written as type ids; the log holds no strings. Every turn logs the dealt
+ * hand, the cards played, the purchase and the end of the turn, about 18
+ * bytes in all, so a default game between two heuristic players, which lasts
+ * about 88 turns, takes about 1.6 KB.
+ *
+ * Together with the seed, the log is enough for {@link GameReplayer} to play
+ * the game again exactly. A recorder can be {@link #reset} and reused for the
+ * next game without allocating.
+ */
+public class GameRecorder implements GameEventListener {
+    /** Version of the log format. */
+    public static final int VERSION = 1;
+
+    /** Opcode of the end of the log. */
+    static final int END = 0;
+    /** Opcode of a dealt hand: seat, hand size, type ids. */
+    static final int DEAL = 1;
+    /** Opcode of the starting player: seat. */
+    static final int FIRST = 2;
+    /** Opcode of the cards played for buying: seat, card count, buying power. */
+    static final int PLAY = 3;
+    /** Opcode of a purchase: seat, type id. */
+    static final int PURCHASE = 4;
+    /** Opcode of a buy phase without a purchase: seat. */
+    static final int PASS = 5;
+    /** Opcode of a reshuffle: seat, new draw pile size. */
+    static final int RESHUFFLE = 6;
+    /** Opcode of the end of a turn: seat. */
+    static final int TURN_END = 7;
+
+    private byte[] bytes = new byte[256];
+    private int length;
+
+    /**
+     * Constructs a recorder for a game.
+     *
+     * @param seed    the seed the game is created with
+     * @param players the number of players
+     */
+    public GameRecorder(long seed, int players) {
+        reset(seed, players);
+    }
+
+    /**
+     * Clears the log and starts recording a new game.
+     *
+     * @param seed    the seed the game is created with
+     * @param players the number of players
+     */
+    public void reset(long seed, int players) {
+        length = 0;
+        writeVarint(VERSION);
+        for (int shift = 0; shift < 64; shift += 8) {
+            writeByte((int) (seed >>> shift));
+        }
+        writeVarint(players);
+    }
+
+    @Override
+    public void initialHandDealt(Player player) {
+        writeDeal(player);
+    }
+
+    @Override
+    public void startingPlayerSelected(Player player) {
+        writeVarint(FIRST);
+        writeVarint(player.getSeat());
+    }
+
+    @Override
+    public void cardsPlayed(Player player, int buyingPower) {
+        writeVarint(PLAY);
+        writeVarint(player.getSeat());
+        writeVarint(player.getPlayedCardsSize());
+        writeVarint(buyingPower);
+    }
+
+    @Override
+    public void cardPurchased(Player player, CardType type) {
+        writeVarint(PURCHASE);
+        writeVarint(player.getSeat());
+        writeVarint(type.getId());
+    }
+
+    @Override
+    public void noCardPurchased(Player player) {
+        writeVarint(PASS);
+        writeVarint(player.getSeat());
+    }
+
+    @Override
+    public void reshuffled(Player player) {
+        writeVarint(RESHUFFLE);
+        writeVarint(player.getSeat());
+        writeVarint(player.getDrawPileSize());
+    }
+
+    @Override
+    public void cleanupPhaseEnded(Player player, int discardedHand) {
+        writeDeal(player);
+    }
+
+    @Override
+    public void turnEnded(Player player) {
+        writeVarint(TURN_END);
+        writeVarint(player.getSeat());
+    }
+
+    /**
+     * Writes a dealt hand.
+     *
+     * @param player the player whose hand was dealt
+     */
+    private void writeDeal(Player player) {
+        writeVarint(DEAL);
+        writeVarint(player.getSeat());
+        writeVarint(player.getHandSize());
+        for (Card card : player.getHand()) {
+            writeVarint(card.getType().getId());
+        }
+    }
+
+    /**
+     * Writes a non-negative int as an unsigned LEB128 varint.
+     *
+     * @param value the value
+     */
+    private void writeVarint(int value) {
+        while ((value & ~0x7F) != 0) {
+            writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        writeByte(value);
+    }
+
+    /**
+     * Appends one byte to the log, growing the buffer if needed.
+     *
+     * @param b the byte, in the low 8 bits
+     */
+    private void writeByte(int b) {
+        if (length == bytes.length) {
+            bytes = Arrays.copyOf(bytes, bytes.length * 2);
+        }
+        bytes[length++] = (byte) b;
+    }
+
+    /**
+     * Gets the number of bytes recorded, not counting the end marker.
+     *
+     * @return the log length
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Gets a copy of the log, terminated by the end marker.
+     *
+     * @return the log bytes
+     */
+    public byte[] toByteArray() {
+        byte[] log = Arrays.copyOf(bytes, length + 1);
+        log[length] = END;
+        return log;
+    }
+
+    /**
+     * Writes the log to a stream, prefixed with its length as a varint, so
+     * that many logs can be appended to one file and read back with
+     * {@link GameReplayer#readLog}.
+     *
+     * @param out the stream to write to
+     * @throws IOException if writing fails
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        int size = length + 1;
+        while ((size & ~0x7F) != 0) {
+            out.write((size & 0x7F) | 0x80);
+            size >>>= 7;
+        }
+        out.write(size);
+        out.write(bytes, 0, length);
+        out.write(END);
+    }
+}
@@ -0,0 +1,299 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Plays a game again from its seed and a log written by {@link GameRecorder}.
+ * Every shuffle comes from random streams split from the game seed, and the
+ * strategies' random streams are split off separately, so replacing the
+ * original strategies with a {@link ScriptedStrategy} that repeats the logged
+ * purchases reproduces the game exactly. The replay is recorded too and
+ * checked against the log byte for byte.
+ */
+public final class GameReplayer {
+
+    private GameReplayer() {
+    }
+
+    /**
+     * Replays a logged game.
+     *
+     * @param log the log, as returned by {@link GameRecorder#toByteArray()}
+     * @return the game in the state it had when the log ended
+     * @throws IllegalArgumentException if the log is malformed
+     * @throws IllegalStateException    if the replay does not match the log
+     */
+    public static App replay(byte[] log) {
+        return replay(log, GameEventListener.NONE);
+    }
+
+    /**
+     * Replays a logged game, reporting its events to a listener, e.g. to
+     * print a suspicious game in full.
+     *
+     * @param log      the log, as returned by {@link GameRecorder#toByteArray()}
+     * @param listener the listener for the replayed game's events
+     * @return the game in the state it had when the log ended
+     * @throws IllegalArgumentException if the log is malformed
+     * @throws IllegalStateException    if the replay does not match the log
+     */
+    public static App replay(byte[] log, GameEventListener listener) {
+        Reader reader = new Reader(log);
+        if (reader.varint() != GameRecorder.VERSION) {
+            throw new IllegalArgumentException("Unsupported log version");
+        }
+        long seed = reader.seed();
+        int players = reader.varint();
+
+        // Collect the purchase decisions in turn order and count the turns
+        CardType[] choices = new CardType[16];
+        int choiceCount = 0;
+        int turns = 0;
+        for (int op = reader.varint(); op != GameRecorder.END; op = reader.varint()) {
+            switch (op) {
+                case GameRecorder.DEAL:
+                    reader.varint();
+                    for (int n = reader.varint(); n > 0; n--) {
+                        reader.varint();
+                    }
+                    break;
+                case GameRecorder.FIRST:
+                case GameRecorder.TURN_END:
+                    reader.varint();
+                    if (op == GameRecorder.TURN_END) {
+                        turns++;
+                    }
+                    break;
+                case GameRecorder.PLAY:
+                    reader.varint();
+                    reader.varint();
+                    reader.varint();
+                    break;
+                case GameRecorder.PURCHASE:
+                case GameRecorder.PASS:
+                    reader.varint();
+                    if (choiceCount == choices.length) {
+                        choices = Arrays.copyOf(choices, choiceCount * 2);
+                    }
+                    choices[choiceCount++] = op == GameRecorder.PURCHASE ? CardType.byId(reader.varint()) : null;
+                    break;
+                case GameRecorder.RESHUFFLE:
+                    reader.varint();
+                    reader.varint();
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown opcode " + op + " at byte " + (reader.position - 1));
+            }
+        }
+
+        ScriptedStrategy script = new ScriptedStrategy(Arrays.copyOf(choices, choiceCount));
+        Strategy[] strategies = new Strategy[players];
+        Arrays.fill(strategies, script);
+        GameRecorder recorder = new GameRecorder(seed, players);
+        App game = new App(seed, new BothListeners(recorder, listener), strategies);
+        // The log fixes the number of turns, whatever rule ended the game
+        game.setEndCondition(EndConditions.never());
+        game.playGame(turns);
+
+        byte[] replayed = recorder.toByteArray();
+        int mismatch = mismatch(log, reader.position, replayed);
+        if (mismatch >= 0) {
+            throw new IllegalStateException("Replay diverged from the log at byte " + mismatch);
+        }
+        return game;
+    }
+
+    /**
+     * Finds the first difference between a log and its replay.
+     *
+     * @param log      the original log
+     * @param length   the number of bytes of the log up to its end marker
+     * @param replayed the log recorded during the replay
+     * @return the index of the first differing byte, or -1 if they are equal
+     */
+    private static int mismatch(byte[] log, int length, byte[] replayed) {
+        int common = Math.min(length, replayed.length);
+        for (int i = 0; i < common; i++) {
+            if (log[i] != replayed[i]) {
+                return i;
+            }
+        }
+        return length == replayed.length ? -1 : common;
+    }
+
+    /**
+     * Reads one length-prefixed log written by {@link GameRecorder#writeTo}.
+     *
+     * @param in the stream to read from
+     * @return the log, or null at the end of the stream
+     * @throws IOException if reading fails or the stream ends inside a log
+     */
+    public static byte[] readLog(InputStream in) throws IOException {
+        int size = 0;
+        for (int shift = 0;; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                if (shift == 0) {
+                    return null;
+                }
+                throw new EOFException("Stream ended inside a log length");
+            }
+            size |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                break;
+            }
+        }
+        byte[] log = new byte[size];
+        int read = 0;
+        while (read < size) {
+            int n = in.read(log, read, size - read);
+            if (n < 0) {
+                throw new EOFException("Stream ended inside a log");
+            }
+            read += n;
+        }
+        return log;
+    }
+
+    /**
+     * Reads varints and the seed from a log.
+     */
+    private static class Reader {
+        private final byte[] log;
+        private int position;
+
+        /**
+         * Constructs a reader at the start of a log.
+         *
+         * @param log the log bytes
+         */
+        Reader(byte[] log) {
+            this.log = log;
+        }
+
+        /**
+         * Reads an unsigned LEB128 varint.
+         *
+         * @return the value
+         * @throws IllegalArgumentException if the log ends inside the varint
+         */
+        int varint() {
+            int value = 0;
+            for (int shift = 0;; shift += 7) {
+                if (position >= log.length) {
+                    throw new IllegalArgumentException("Log ends without an end marker");
+                }
+                int b = log[position++];
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+        }
+
+        /**
+         * Reads the 8-byte little-endian seed.
+         *
+         * @return the seed
+         * @throws IllegalArgumentException if the log is too short
+         */
+        long seed() {
+            if (position + 8 > log.length) {
+                throw new IllegalArgumentException("Log header is truncated");
+            }
+            long seed = 0;
+            for (int shift = 0; shift < 64; shift += 8) {
+                seed |= (log[position++] & 0xFFL) << shift;
+            }
+            return seed;
+        }
+    }
+
+    /**
+     * Forwards every event to two listeners.
+     */
+    private static class BothListeners implements GameEventListener {
+        private final GameEventListener first;
+        private final GameEventListener second;
+
+        /**
+         * Constructs a listener that forwards to two listeners.
+         *
+         * @param first  the listener told first
+         * @param second the listener told second
+         */
+        BothListeners(GameEventListener first, GameEventListener second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public void initialHandDealt(Player player) {
+            first.initialHandDealt(player);
+            second.initialHandDealt(player);
+        }
+
+        @Override
+        public void startingPlayerSelected(Player player) {
+            first.startingPlayerSelected(player);
+            second.startingPlayerSelected(player);
+        }
+
+        @Override
+        public void turnStarted(Player player) {
+            first.turnStarted(player);
+            second.turnStarted(player);
+        }
+
+        @Override
+        public void buyPhaseStarted(Player player) {
+            first.buyPhaseStarted(player);
+            second.buyPhaseStarted(player);
+        }
+
+        @Override
+        public void cardsPlayed(Player player, int buyingPower) {
+            first.cardsPlayed(player, buyingPower);
+            second.cardsPlayed(player, buyingPower);
+        }
+
+        @Override
+        public void cardPurchased(Player player, CardType type) {
+            first.cardPurchased(player, type);
+            second.cardPurchased(player, type);
+        }
+
+        @Override
+        public void noCardPurchased(Player player) {
+            first.noCardPurchased(player);
+            second.noCardPurchased(player);
+        }
+
+        @Override
+        public void reshuffled(Player player) {
+            first.reshuffled(player);
+            second.reshuffled(player);
+        }
+
+        @Override
+        public void cleanupPhaseStarted(Player player) {
+            first.cleanupPhaseStarted(player);
+            second.cleanupPhaseStarted(player);
+        }
+
+        @Override
+        public void cleanupPhaseEnded(Player player, int discardedHand) {
+            first.cleanupPhaseEnded(player, discardedHand);
+            second.cleanupPhaseEnded(player, discardedHand);
+        }
+
+        @Override
+        public void turnEnded(Player player) {
+            first.turnEnded(player);
+            second.turnEnded(player);
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Runs complete Automation card games headlessly and aggregates the results.
+ * Games are silent and fully determined by the simulator seed, so a run can
+ * be repeated exactly. Each game's seed depends only on the run seed and the
+ * game's index, so sequential and parallel runs of the same batch produce
+ * identical results regardless of the number of threads.
+ */
+public class GameSimulator {
+    /** Default number of turns after which an unfinished game is stopped. */
+    public static final int DEFAULT_TURN_LIMIT = 1000;
+
+    /** Number of games below which a parallel task stops splitting. */
+    private static final int GAMES_PER_TASK = 256;
+
+    /** Increment of the SplitMix64 sequence used to derive game seeds. */
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final Strategy[] strategies;
+    private int turnLimit;
+    private GameMetrics metrics;
+    private EndCondition endCondition = EndConditions.frameworkEmpty();
+
+    /**
+     * Constructs a simulator with one buy strategy per seat.
+     * Strategies are shared by all games, so they must be thread-safe to be
+     * used with {@link #runParallel(int, long)}.
+     *
+     * @param strategies the strategy for each seat, in seat order
+     */
+    public GameSimulator(Strategy... strategies) {
+        this.strategies = strategies.clone();
+        this.turnLimit = DEFAULT_TURN_LIMIT;
+    }
+
+    /**
+     * Sets the number of turns after which an unfinished game is stopped and
+     * scored as it stands. This guards against strategies that never empty the
+     * Framework pile.
+     *
+     * @param turnLimit the maximum number of turns per game
+     */
+    public void setTurnLimit(int turnLimit) {
+        this.turnLimit = turnLimit;
+    }
+
+    /**
+     * Sets the rule that decides when each game is over, so rule variants
+     * can be simulated without changing the game. The condition is shared
+     * by every game, including games running in parallel.
+     *
+     * @param endCondition the end condition
+     */
+    public void setEndCondition(EndCondition endCondition) {
+        this.endCondition = endCondition;
+    }
+
+    /**
+     * Sets the registry that every game played from now on reports its
+     * metrics to. The registry is thread-safe, so parallel runs share it.
+     *
+     * @param metrics the metrics registry, or null to turn metrics off
+     */
+    public void setMetrics(GameMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Runs a batch of games on the calling thread.
+     *
+     * @param games the number of games to play
+     * @param seed  the seed from which each game's seed is derived
+     * @return the aggregate results of all games
+     */
+    public SimulationResult run(int games, long seed) {
+        return runTree(seed, 0, games, null, 0);
+    }
+
+    /**
+     * Runs a batch of games on the calling thread, appending each game's
+     * result to a results file.
+     *
+     * @param games  the number of games to play
+     * @param seed   the seed from which each game's seed is derived
+     * @param writer the results file to append to
+     * @return the aggregate results of all games
+     * @throws IOException if the results file cannot be extended
+     */
+    public SimulationResult run(int games, long seed, ResultsWriter writer) throws IOException {
+        return runTree(seed, 0, games, writer, writer.reserve(games));
+    }
+
+    /**
+     * Runs a batch of games spread across all cores of the common fork-join
+     * pool.
+     *
+     * @param games the number of games to play
+     * @param seed  the seed from which each game's seed is derived
+     * @return the aggregate results of all games
+     */
+    public SimulationResult runParallel(int games, long seed) {
+        return runParallel(games, seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Runs a batch of games spread across the threads of the given pool.
+     *
+     * @param games the number of games to play
+     * @param seed  the seed from which each game's seed is derived
+     * @param pool  the pool to run the games on
+     * @return the aggregate results of all games
+     */
+    public SimulationResult runParallel(int games, long seed, ForkJoinPool pool) {
+        return pool.invoke(new SimulationTask(seed, 0, games, null, 0));
+    }
+
+    /**
+     * Runs a batch of games across the threads of the given pool, writing
+     * each game's result to a results file. Game i of the batch is always
+     * written to the i-th appended record, whatever order the games finish in.
+     *
+     * @param games  the number of games to play
+     * @param seed   the seed from which each game's seed is derived
+     * @param pool   the pool to run the games on
+     * @param writer the results file to append to
+     * @return the aggregate results of all games
+     * @throws IOException if the results file cannot be extended
+     */
+    public SimulationResult runParallel(int games, long seed, ForkJoinPool pool, ResultsWriter writer)
+            throws IOException {
+        return pool.invoke(new SimulationTask(seed, 0, games, writer, writer.reserve(games)));
+    }
+
+    /**
+     * Plays the games with indices in [from, to) on the calling thread,
+     * splitting and merging the range exactly like {@link SimulationTask}
+     * so that sequential and parallel runs round their statistics the same
+     * way.
+     *
+     * @param seed   the run seed
+     * @param from   the first game index, inclusive
+     * @param to     the last game index, exclusive
+     * @param writer the results file to write each game to, or null
+     * @param first  the record index of game 0 in the results file
+     * @return the aggregate results of those games
+     */
+    private SimulationResult runTree(long seed, int from, int to, ResultsWriter writer, long first) {
+        if (to - from <= GAMES_PER_TASK) {
+            return runRange(seed, from, to, writer, first);
+        }
+        int middle = (from + to) >>> 1;
+        SimulationResult left = runTree(seed, from, middle, writer, first);
+        SimulationResult result = runTree(seed, middle, to, writer, first);
+        result.merge(left);
+        return result;
+    }
+
+    /**
+     * Plays the games with indices in [from, to).
+     *
+     * @param seed   the run seed
+     * @param from   the first game index, inclusive
+     * @param to     the last game index, exclusive
+     * @param writer the results file to write each game to, or null
+     * @param first  the record index of game 0 in the results file
+     * @return the aggregate results of those games
+     */
+    private SimulationResult runRange(long seed, int from, int to, ResultsWriter writer, long first) {
+        SimulationResult result = new SimulationResult(strategies.length);
+        int[] finalAP = new int[strategies.length];
+
+        for (int i = from; i < to; i++) {
+            long gameSeed = gameSeed(seed, i);
+            App game = new App(gameSeed, strategies);
+            game.setMetrics(metrics);
+            game.setEndCondition(endCondition);
+            int turns = game.playGame(turnLimit);
+            int winner = scoreGame(game, finalAP);
+            recordPurchases(game, result);
+            if (writer != null) {
+                writer.write(first + i, gameSeed, game, turns);
+            }
+            result.recordGame(finalAP, winner, turns);
+        }
+        return result;
+    }
+
+    /**
+     * Derives the seed of one game from the run seed, using the SplitMix64
+     * mixing function that also drives {@link java.util.SplittableRandom}.
+     *
+     * @param seed  the run seed
+     * @param index the game's index within the run
+     * @return the game's seed
+     */
+    static long gameSeed(long seed, int index) {
+        long z = seed + (index + 1L) * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Computes the final APs of every seat and determines the winner.
+     *
+     * @param game    the finished game
+     * @param finalAP array that receives each seat's final APs
+     * @return the winning seat, or -1 if the highest AP is shared
+     */
+    static int scoreGame(App game, int[] finalAP) {
+        List<Player> players = game.getPlayers();
+        int winner = -1;
+        int maxAP = -1;
+        for (int seat = 0; seat < players.size(); seat++) {
+            finalAP[seat] = App.calculateFinalAP(players.get(seat));
+            if (finalAP[seat] > maxAP) {
+                maxAP = finalAP[seat];
+                winner = seat;
+            } else if (finalAP[seat] == maxAP) {
+                winner = -1;
+            }
+        }
+        return winner;
+    }
+
+    /**
+     * Records how many cards of each type every seat bought in a finished
+     * game.
+     *
+     * @param game   the finished game
+     * @param result the result to record into
+     */
+    private static void recordPurchases(App game, SimulationResult result) {
+        List<Player> players = game.getPlayers();
+        for (int seat = 0; seat < players.size(); seat++) {
+            Player player = players.get(seat);
+            for (int id = 0; id < CardType.STANDARD_COUNT; id++) {
+                CardType type = CardType.byId(id);
+                result.recordPurchases(seat, id, player.countOwned(type) - App.startingCount(type));
+            }
+        }
+    }
+
+    /**
+     * Fork-join task that plays a range of games, splitting it in half until
+     * the range is small enough to play directly.
+     */
+    private class SimulationTask extends RecursiveTask<SimulationResult> {
+        private static final long serialVersionUID = 1L;
+        private final long seed;
+        private final int from;
+        private final int to;
+        private final ResultsWriter writer;
+        private final long first;
+
+        /**
+         * Constructs a task for the games with indices in [from, to).
+         *
+         * @param seed   the run seed
+         * @param from   the first game index, inclusive
+         * @param to     the last game index, exclusive
+         * @param writer the results file to write each game to, or null
+         * @param first  the record index of game 0 in the results file
+         */
+        SimulationTask(long seed, int from, int to, ResultsWriter writer, long first) {
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+            this.writer = writer;
+            this.first = first;
+        }
+
+        @Override
+        protected SimulationResult compute() {
+            if (to - from <= GAMES_PER_TASK) {
+                return runRange(seed, from, to, writer, first);
+            }
+            int middle = (from + to) >>> 1;
+            SimulationTask left = new SimulationTask(seed, from, middle, writer, first);
+            left.fork();
+            SimulationResult result = new SimulationTask(seed, middle, to, writer, first).compute();
+            result.merge(left.join());
+            return result;
+        }
+    }
+}
@@ -0,0 +1,373 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.util.Arrays;
+
+/**
+ * A compact, copyable snapshot of an Automation card game.
+ * The state holds the supply, whose turn it is, the number of turns played
+ * and, for each player, how many cards of each type are in each zone. The
+ * order of each draw pile is kept too, since it decides the next hands; the
+ * other zones are restored with their cards grouped by type.
+ *
+ * Everything is stored in primitive arrays, so copying a state is a handful
+ * of array copies. A state can be refilled by {@link App#snapshot(GameState)}
+ * and {@link #copyFrom(GameState)} without allocating, which lets a search
+ * branch many times from the same position. Random number generator state is
+ * not captured: a restored game continues with fresh random choices.
+ */
+public final class GameState {
+    /** Zone index of the cards in hand. */
+    public static final int HAND = 0;
+    /** Zone index of the cards played for buying this turn. */
+    public static final int PLAYED = 1;
+    /** Zone index of the discard pile. */
+    public static final int DISCARD = 2;
+    /** Zone index of the draw pile. */
+    public static final int DRAW = 3;
+    /** Number of zones per player. */
+    public static final int ZONES = 4;
+
+    private final int players;
+    private final int types;
+    private int currentPlayer;
+    private int turn;
+    private final int[] supply;
+    private final int[] counts;
+    private final byte[][] drawOrder;
+
+    /**
+     * Constructs an empty state for the given number of players.
+     *
+     * @param players the number of players
+     */
+    public GameState(int players) {
+        this.players = players;
+        this.types = CardType.STANDARD_COUNT;
+        this.supply = new int[CardType.STANDARD_COUNT];
+        this.counts = new int[players * ZONES * types];
+        this.drawOrder = new byte[players][16];
+    }
+
+    /**
+     * Constructs a copy of another state.
+     *
+     * @param other the state to copy
+     */
+    public GameState(GameState other) {
+        this(other.players);
+        copyFrom(other);
+    }
+
+    /**
+     * Makes this state equal to another state, reusing this state's arrays
+     * when they are large enough.
+     *
+     * @param other the state to copy; must have the same number of players
+     * @throws IllegalArgumentException if the player counts differ
+     */
+    public void copyFrom(GameState other) {
+        if (other.players != players) {
+            throw new IllegalArgumentException("Cannot copy a state for " + other.players + " players into " + players);
+        }
+        currentPlayer = other.currentPlayer;
+        turn = other.turn;
+        System.arraycopy(other.supply, 0, supply, 0, supply.length);
+        System.arraycopy(other.counts, 0, counts, 0, other.counts.length);
+        for (int player = 0; player < players; player++) {
+            int size = other.getZoneSize(player, DRAW);
+            ensureDrawCapacity(player, size);
+            System.arraycopy(other.drawOrder[player], 0, drawOrder[player], 0, size);
+        }
+    }
+
+    /**
+     * Clears all counts before the state is refilled from a game.
+     */
+    void reset() {
+        Arrays.fill(counts, 0);
+    }
+
+    /**
+     * Grows a player's draw order buffer to hold a number of cards.
+     *
+     * @param player the player index
+     * @param size   the number of cards
+     */
+    private void ensureDrawCapacity(int player, int size) {
+        if (drawOrder[player].length < size) {
+            drawOrder[player] = Arrays.copyOf(drawOrder[player], Math.max(size, drawOrder[player].length * 2));
+        }
+    }
+
+    /**
+     * Gets the offset of a zone's counts in the count table.
+     *
+     * @param player the player index
+     * @param zone   the zone index
+     * @return the index of the zone's count for type id 0
+     */
+    private int offset(int player, int zone) {
+        return (player * ZONES + zone) * types;
+    }
+
+    /**
+     * Adds one card to a zone's counts.
+     *
+     * @param player the player index
+     * @param zone   the zone index
+     * @param type   the type of the card
+     */
+    void addCard(int player, int zone, CardType type) {
+        counts[offset(player, zone) + type.getId()]++;
+    }
+
+    /**
+     * Sets the draw pile of a player, top card first, and counts its cards.
+     *
+     * @param player the player index
+     * @param deck   the player's draw pile
+     */
+    void setDrawPile(int player, Deck deck) {
+        int size = deck.size();
+        ensureDrawCapacity(player, size);
+        deck.copyIds(drawOrder[player]);
+        int base = offset(player, DRAW);
+        for (int i = 0; i < size; i++) {
+            counts[base + (drawOrder[player][i] & 0xFF)]++;
+        }
+    }
+
+    /**
+     * Sets the number of cards of a type in one of a player's zones. The
+     * caller keeps the draw pile order consistent with the draw counts.
+     *
+     * @param player the player index
+     * @param zone   the zone index
+     * @param typeId the card type id
+     * @param count  the number of cards
+     */
+    void setCount(int player, int zone, int typeId, int count) {
+        counts[offset(player, zone) + typeId] = count;
+    }
+
+    /**
+     * Gets the number of cards of a type id in one of a player's zones.
+     *
+     * @param player the player index
+     * @param zone   the zone index
+     * @param typeId the card type id, below {@link #getTypeCount()}
+     * @return the number of cards
+     */
+    int count(int player, int zone, int typeId) {
+        return counts[offset(player, zone) + typeId];
+    }
+
+    /**
+     * Gets a player's draw order buffer, growing it to hold a number of cards.
+     *
+     * @param player the player index
+     * @param size   the number of cards the buffer must hold
+     * @return the buffer of type ids, top card first
+     */
+    byte[] drawBuffer(int player, int size) {
+        ensureDrawCapacity(player, size);
+        return drawOrder[player];
+    }
+
+    /**
+     * Gets the number of card types the count table covers.
+     *
+     * @return the number of card type ids
+     */
+    int getTypeCount() {
+        return types;
+    }
+
+    /**
+     * Gets a player's draw pile order.
+     *
+     * @param player the player index
+     * @return the buffer of type ids, top card first; only the first
+     *         {@link #getZoneSize(int, int) getZoneSize(player, DRAW)} entries
+     *         are meaningful
+     */
+    byte[] drawOrder(int player) {
+        return drawOrder[player];
+    }
+
+    /**
+     * Sets the number of cards left in a supply pile.
+     *
+     * @param type      a standard card type
+     * @param remaining the number of cards left
+     */
+    void setSupply(CardType type, int remaining) {
+        supply[type.getId()] = remaining;
+    }
+
+    /**
+     * Sets whose turn it is and how many turns have been played.
+     *
+     * @param currentPlayer the index of the player whose turn it is
+     * @param turn          the number of completed turns
+     */
+    void setTurn(int currentPlayer, int turn) {
+        this.currentPlayer = currentPlayer;
+        this.turn = turn;
+    }
+
+    /**
+     * Gets the number of players.
+     *
+     * @return the number of players
+     */
+    public int getPlayerCount() {
+        return players;
+    }
+
+    /**
+     * Gets the index of the player whose turn it is.
+     *
+     * @return the current player's index
+     */
+    public int getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    /**
+     * Gets the number of turns completed.
+     *
+     * @return the number of completed turns
+     */
+    public int getTurn() {
+        return turn;
+    }
+
+    /**
+     * Gets the number of cards left in a supply pile.
+     *
+     * @param type the card type
+     * @return the number of cards left
+     */
+    public int getSupply(CardType type) {
+        return supply[type.getId()];
+    }
+
+    /**
+     * Gets the number of cards of a type in one of a player's zones.
+     *
+     * @param player the player index
+     * @param zone   the zone index, such as {@link #HAND}
+     * @param type   the card type
+     * @return the number of cards
+     */
+    public int getCount(int player, int zone, CardType type) {
+        return counts[offset(player, zone) + type.getId()];
+    }
+
+    /**
+     * Gets the number of cards in one of a player's zones.
+     *
+     * @param player the player index
+     * @param zone   the zone index, such as {@link #HAND}
+     * @return the number of cards
+     */
+    public int getZoneSize(int player, int zone) {
+        int base = offset(player, zone);
+        int size = 0;
+        for (int id = 0; id < types; id++) {
+            size += counts[base + id];
+        }
+        return size;
+    }
+
+    /**
+     * Gets the type of a card in a player's draw pile.
+     *
+     * @param player the player index
+     * @param index  the position, where 0 is the top card
+     * @return the card's type
+     * @throws IndexOutOfBoundsException if the index is outside the draw pile
+     */
+    public CardType getDrawCard(int player, int index) {
+        int size = getZoneSize(player, DRAW);
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return CardType.byId(drawOrder[player][index] & 0xFF);
+    }
+
+    /**
+     * Gets the total APs a player owns in the state.
+     *
+     * @param player the player index
+     * @return the sum of the values of the player's Automation cards
+     */
+    public int getAP(int player) {
+        int ap = 0;
+        for (int zone = 0; zone < ZONES; zone++) {
+            int base = offset(player, zone);
+            for (int id = 0; id < types; id++) {
+                CardType type = CardType.byId(id);
+                if (type.isAutomation()) {
+                    ap += counts[base + id] * type.getValue();
+                }
+            }
+        }
+        return ap;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof GameState)) {
+            return false;
+        }
+        GameState other = (GameState) o;
+        if (players != other.players || types != other.types || currentPlayer != other.currentPlayer
+                || turn != other.turn || !Arrays.equals(supply, other.supply) || !Arrays.equals(counts, other.counts)) {
+            return false;
+        }
+        for (int player = 0; player < players; player++) {
+            int size = getZoneSize(player, DRAW);
+            for (int i = 0; i < size; i++) {
+                if (drawOrder[player][i] != other.drawOrder[player][i]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 31 * (31 * currentPlayer + turn) + Arrays.hashCode(supply);
+        hash = 31 * hash + Arrays.hashCode(counts);
+        for (int player = 0; player < players; player++) {
+            int size = getZoneSize(player, DRAW);
+            for (int i = 0; i < size; i++) {
+                hash = 31 * hash + drawOrder[player][i];
+            }
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("GameState{turn=").append(turn)
+                .append(", currentPlayer=").append(currentPlayer)
+                .append(", supply=").append(Arrays.toString(supply));
+        for (int player = 0; player < players; player++) {
+            sb.append(", player").append(player + 1)
+                    .append("={hand=").append(getZoneSize(player, HAND))
+                    .append(", played=").append(getZoneSize(player, PLAYED))
+                    .append(", discard=").append(getZoneSize(player, DISCARD))
+                    .append(", draw=").append(getZoneSize(player, DRAW))
+                    .append(", ap=").append(getAP(player))
+                    .append('}');
+        }
+        return sb.append('}').toString();
+    }
+}
@@ -0,0 +1,98 @@
+package edu.brandeis.cosi103a.ip2;
+
+/**
+ * Read-only view of a game, given to a {@link Strategy} when it decides what
+ * to buy. The view is only valid for the duration of that call; the game
+ * reuses the same view object for every decision, so no objects are created
+ * per decision.
+ */
+public interface GameView {
+
+    /**
+     * Gets the seat of the player who is deciding.
+     *
+     * @return the seat index, starting at 0
+     */
+    int getSeat();
+
+    /**
+     * Gets the number of players in the game.
+     *
+     * @return the number of seats
+     */
+    int getPlayerCount();
+
+    /**
+     * Gets the number of turns completed so far.
+     *
+     * @return the number of completed turns
+     */
+    int getTurn();
+
+    /**
+     * Gets the buying power of the deciding player.
+     *
+     * @return the total value of the played cryptocurrency cards
+     */
+    int getBuyingPower();
+
+    /**
+     * Gets the cards left in the supply.
+     *
+     * @return a read-only view of the supply
+     */
+    SupplyView getSupply();
+
+    /**
+     * Gets the APs a seat owns in Automation cards.
+     *
+     * @param seat the seat index
+     * @return the seat's total APs
+     */
+    int getAP(int seat);
+
+    /**
+     * Gets the number of cards a seat owns across all of its zones.
+     *
+     * @param seat the seat index
+     * @return the seat's deck size
+     */
+    int getDeckSize(int seat);
+
+    /**
+     * Gets the exact distribution of the buying power of the deciding player's
+     * next hand, assuming a card is bought now.
+     *
+     * @param purchase the card the player would buy, or null for none
+     * @return the next hand's buying power distribution
+     * @throws UnsupportedOperationException if this view has no piles to
+     *                                       inspect
+     */
+    default HandDistribution getNextHand(CardType purchase) {
+        throw new UnsupportedOperationException("This view does not support draw probabilities");
+    }
+
+    /**
+     * Gets the rule that decides when the game is over, so strategies that
+     * play games ahead end them the same way. Views that do not know it
+     * report the standard rule.
+     *
+     * @return the game's end condition
+     */
+    default EndCondition getEndCondition() {
+        return EndConditions.frameworkEmpty();
+    }
+
+    /**
+     * Takes a snapshot of the whole game, for strategies that search ahead.
+     * Views that cannot provide one throw.
+     *
+     * @param state the state to fill; must be for {@link #getPlayerCount()}
+     *              players
+     * @return the filled state
+     * @throws UnsupportedOperationException if this view has no game to copy
+     */
+    default GameState snapshot(GameState state) {
+        throw new UnsupportedOperationException("This view does not support snapshots");
+    }
+}
@@ -0,0 +1,35 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.util.SplittableRandom;
+
+/**
+ * Greedy AP strategy.
+ * Always buys the Automation card worth the most APs that it can afford,
+ * and only buys cryptocurrency (the best affordable one) when no Automation
+ * card is affordable.
+ */
+public class GreedyApStrategy implements Strategy {
+    private static final CardType[] CRYPTO_PRIORITY = { CardType.DOGECOIN, CardType.ETHEREUM, CardType.BITCOIN };
+
+    @Override
+    public CardType chooseCardToBuy(GameView game, SplittableRandom random) {
+        int buyingPower = game.getBuyingPower();
+        SupplyView supply = game.getSupply();
+
+        CardType automation = HeuristicStrategy.bestAffordableAutomation(buyingPower, supply);
+        if (automation != null) {
+            return automation;
+        }
+        for (CardType type : CRYPTO_PRIORITY) {
+            if (supply.canBuy(type, buyingPower)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "GreedyApStrategy";
+    }
+}
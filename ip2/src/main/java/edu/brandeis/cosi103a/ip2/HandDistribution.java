@@ -0,0 +1,73 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.util.Arrays;
+
+/**
+ * The probability distribution of the buying power of a hand.
+ * Instances are immutable and may be shared between threads.
+ */
+public final class HandDistribution {
+    private final double[] probabilities;
+
+    /**
+     * Constructs a distribution from its probabilities.
+     *
+     * @param probabilities the probability of each buying power, indexed by
+     *                      buying power; the array is kept, not copied
+     */
+    HandDistribution(double[] probabilities) {
+        this.probabilities = probabilities;
+    }
+
+    /**
+     * Gets the probability that the hand has exactly the given buying power.
+     *
+     * @param buyingPower the buying power
+     * @return the probability, 0 for impossible values
+     */
+    public double getProbability(int buyingPower) {
+        return buyingPower >= 0 && buyingPower < probabilities.length ? probabilities[buyingPower] : 0.0;
+    }
+
+    /**
+     * Gets the probability that the hand has at least the given buying power,
+     * e.g. enough to afford a card of that cost.
+     *
+     * @param buyingPower the buying power
+     * @return the probability
+     */
+    public double getProbabilityAtLeast(int buyingPower) {
+        double total = 0;
+        for (int power = Math.max(0, buyingPower); power < probabilities.length; power++) {
+            total += probabilities[power];
+        }
+        return total;
+    }
+
+    /**
+     * Gets the expected buying power.
+     *
+     * @return the mean buying power
+     */
+    public double getMean() {
+        double mean = 0;
+        for (int power = 0; power < probabilities.length; power++) {
+            mean += power * probabilities[power];
+        }
+        return mean;
+    }
+
+    /**
+     * Gets the largest buying power the hand can have.
+     *
+     * @return the maximum buying power
+     */
+    public int getMaxBuyingPower() {
+        return probabilities.length - 1;
+    }
+
+    @Override
+    public String toString() {
+        return "HandDistribution" + Arrays.toString(probabilities);
+    }
+}
@@ -0,0 +1,89 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.util.SplittableRandom;
+
+/**
+ * The original buy strategy of the Automation card game.
+ * Buys the most valuable affordable Automation card (Framework, then Module,
+ * then Method). If none is affordable, buys a random affordable
+ * cryptocurrency card, preferring non-Bitcoin cards.
+ */
+public class HeuristicStrategy implements Strategy {
+    private static final CardType[] AUTOMATION_PRIORITY = { CardType.FRAMEWORK, CardType.MODULE, CardType.METHOD };
+    private static final CardType[] CRYPTO_ORDER = { CardType.DOGECOIN, CardType.ETHEREUM, CardType.BITCOIN };
+
+    @Override
+    public CardType chooseCardToBuy(GameView game, SplittableRandom random) {
+        int buyingPower = game.getBuyingPower();
+        SupplyView supply = game.getSupply();
+
+        CardType automation = bestAffordableAutomation(buyingPower, supply);
+        if (automation != null) {
+            return automation;
+        }
+
+        // Count affordable cryptocurrency piles, keeping Bitcoin out of the
+        // preferred group (it has lower value)
+        int preferred = 0;
+        int all = 0;
+        for (CardType type : CRYPTO_ORDER) {
+            if (supply.canBuy(type, buyingPower)) {
+                all++;
+                if (type != CardType.BITCOIN) {
+                    preferred++;
+                }
+            }
+        }
+
+        // Prefer non-Bitcoin cards
+        if (preferred > 0) {
+            return nthAffordable(supply, buyingPower, random.nextInt(preferred), false);
+        } else if (all > 0) {
+            return nthAffordable(supply, buyingPower, random.nextInt(all), true);
+        }
+        return null;
+    }
+
+    /**
+     * Finds the most valuable Automation card that is left in the supply and
+     * affordable, checking Framework, then Module, then Method.
+     *
+     * @param buyingPower the amount of cryptocoins available
+     * @param supply      the cards left in the supply
+     * @return the best affordable Automation card type, or null if none
+     */
+    static CardType bestAffordableAutomation(int buyingPower, SupplyView supply) {
+        for (CardType type : AUTOMATION_PRIORITY) {
+            if (supply.canBuy(type, buyingPower)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds the n-th affordable cryptocurrency pile in the fixed crypto order.
+     *
+     * @param supply         the current card supply
+     * @param buyingPower    the amount of cryptocoins available
+     * @param n              the zero-based index among affordable piles
+     * @param includeBitcoin whether Bitcoin counts as a candidate
+     * @return the chosen card type
+     */
+    private CardType nthAffordable(SupplyView supply, int buyingPower, int n, boolean includeBitcoin) {
+        for (CardType type : CRYPTO_ORDER) {
+            if (!includeBitcoin && type == CardType.BITCOIN) {
+                continue;
+            }
+            if (supply.canBuy(type, buyingPower) && n-- == 0) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "HeuristicStrategy";
+    }
+}
@@ -0,0 +1,121 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.util.Arrays;
+
+/**
+ * A histogram of non-negative integer values with one bucket per value up to
+ * a fixed bound, plus an overflow bucket for everything above it. Its memory
+ * is fixed when it is created, however many values are added. Final APs and
+ * turn counts are small integers, so quantiles read from the buckets are
+ * exact rather than estimated. Merging adds counts, so merged histograms do
+ * not depend on merge order.
+ */
+public class Histogram {
+    private final long[] counts;
+    private long overflow;
+    private long total;
+
+    /**
+     * Constructs an empty histogram.
+     *
+     * @param buckets the number of exact buckets, for values 0 to buckets - 1
+     */
+    public Histogram(int buckets) {
+        this.counts = new long[buckets];
+    }
+
+    /**
+     * Adds one value. Negative values are counted in bucket 0.
+     *
+     * @param value the value
+     */
+    public void add(int value) {
+        total++;
+        if (value >= counts.length) {
+            overflow++;
+        } else {
+            counts[Math.max(value, 0)]++;
+        }
+    }
+
+    /**
+     * Adds all values of another histogram to this one.
+     *
+     * @param other the histogram to merge in; must have the same buckets
+     */
+    public void merge(Histogram other) {
+        if (other.counts.length != counts.length) {
+            throw new IllegalArgumentException("Cannot merge " + other.counts.length
+                    + " buckets into " + counts.length);
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        overflow += other.overflow;
+        total += other.total;
+    }
+
+    /**
+     * Gets the number of values added.
+     *
+     * @return the count
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Gets the number of values equal to a bucket's value.
+     *
+     * @param value the bucket's value
+     * @return the count, or 0 for values outside the exact buckets
+     */
+    public long getCount(int value) {
+        return value < 0 || value >= counts.length ? 0 : counts[value];
+    }
+
+    /**
+     * Gets the number of values too large for the exact buckets.
+     *
+     * @return the overflow count
+     */
+    public long getOverflow() {
+        return overflow;
+    }
+
+    /**
+     * Gets the smallest value v such that at least the given fraction of all
+     * values are at most v.
+     *
+     * @param quantile the fraction, between 0 and 1
+     * @return the quantile, the number of buckets if it lies in the overflow,
+     *         or -1 if the histogram is empty
+     */
+    public int getQuantile(double quantile) {
+        if (total == 0) {
+            return -1;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return i;
+            }
+        }
+        return counts.length;
+    }
+
+    /**
+     * Gets the counts of the exact buckets up to the largest non-empty one.
+     *
+     * @return a copy of the bucket counts
+     */
+    public long[] toArray() {
+        int length = counts.length;
+        while (length > 0 && counts[length - 1] == 0) {
+            length--;
+        }
+        return Arrays.copyOf(counts, length);
+    }
+}
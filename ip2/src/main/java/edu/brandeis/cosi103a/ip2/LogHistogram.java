@@ -0,0 +1,162 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe histogram of non-negative longs with bounded relative error,
+ * in the style of HdrHistogram. Values below 32 get a bucket each; above
+ * that, every power-of-two range is split into 16 equal buckets, so any
+ * recorded value is known to within about 6%. The whole long range fits in
+ * a fixed 960 buckets, so recording never allocates and the histogram can
+ * time anything from nanoseconds to hours.
+ */
+public class LogHistogram {
+    /** Number of bits of each value kept exactly. */
+    private static final int SUB_BITS = 5;
+    /** Number of values below which every value has its own bucket. */
+    private static final int LINEAR = 1 << SUB_BITS;
+    /** Number of buckets per power of two above the linear range. */
+    private static final int HALF = LINEAR >>> 1;
+    /** Total number of buckets. */
+    static final int BUCKETS = bucketOf(Long.MAX_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Records one value. Negative values are recorded as 0.
+     *
+     * @param value the value
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts.incrementAndGet(bucketOf(value));
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Gets the bucket of a value.
+     *
+     * @param value a non-negative value
+     * @return the bucket index
+     */
+    static int bucketOf(long value) {
+        if (value < LINEAR) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS + 1;
+        return shift * HALF + (int) (value >>> shift);
+    }
+
+    /**
+     * Gets the largest value that falls in a bucket.
+     *
+     * @param bucket the bucket index
+     * @return the bucket's upper bound, inclusive
+     */
+    static long highestValue(int bucket) {
+        if (bucket < LINEAR) {
+            return bucket;
+        }
+        int shift = bucket / HALF - 1;
+        long sub = bucket - shift * HALF;
+        return ((sub + 1) << shift) - 1;
+    }
+
+    /**
+     * Gets the number of values recorded.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Gets the exact mean of the values recorded.
+     *
+     * @return the mean, or 0 if no values were recorded
+     */
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0.0 : (double) sum.sum() / n;
+    }
+
+    /**
+     * Gets the largest value recorded.
+     *
+     * @return the maximum, or 0 if no values were recorded
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Gets an upper bound of a quantile of the values recorded, accurate to
+     * the bucket width.
+     *
+     * @param quantile the fraction of values, between 0 and 1
+     * @return a value at least as large as that fraction of the values, or 0
+     *         if no values were recorded
+     */
+    public long getValueAtQuantile(double quantile) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS && total > 0; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(highestValue(i), max.get());
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Clears the histogram. Values recorded concurrently with a reset may be
+     * partly lost.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    /**
+     * Appends a JSON object summarizing the histogram. The mean is written
+     * with a decimal point whatever the default locale.
+     *
+     * @param json the builder to append to
+     */
+    void appendJson(StringBuilder json) {
+        json.append("{\"count\":").append(getCount())
+                .append(",\"mean\":").append(String.format(Locale.ROOT, "%.1f", getMean()))
+                .append(",\"p50\":").append(getValueAtQuantile(0.5))
+                .append(",\"p90\":").append(getValueAtQuantile(0.9))
+                .append(",\"p99\":").append(getValueAtQuantile(0.99))
+                .append(",\"max\":").append(getMax())
+                .append('}');
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("LogHistogram");
+        appendJson(sb);
+        return sb.toString();
+    }
+}
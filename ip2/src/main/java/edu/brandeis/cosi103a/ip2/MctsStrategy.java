@@ -0,0 +1,291 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Monte-Carlo search over the purchase of the current buy phase.
+ * Each candidate purchase, including buying nothing, is an arm of a
+ * multi-armed bandit. Rollouts pick arms with the UCB1 rule, apply the
+ * purchase to a copy of the game and play the rest of the game silently with
+ * a fast rollout strategy for every seat. The purchase with the best win rate
+ * (ties count as half a win) is chosen.
+ *
+ * The deciding player does not know the order of the draw piles or the
+ * opponents' hands, so each rollout starts from a fresh
+ * {@link Determinizer determinization} of the position rather than from the
+ * true state. Rollouts restore that {@link GameState} into a private game, so
+ * they copy no card lists and print nothing. The budget is a number of rollouts, a
+ * time limit, or both. Rollouts can be split across several workers, each
+ * with its own bandit and random stream; their statistics are added up at
+ * the end. With a rollout budget and no time limit a decision depends only
+ * on the random stream passed in, so games stay reproducible.
+ */
+public class MctsStrategy implements Strategy {
+    /** Default number of rollouts per decision. */
+    public static final int DEFAULT_ROLLOUTS = 1000;
+
+    /** Turns after which a rollout is stopped and scored as it stands. */
+    private static final int ROLLOUT_TURN_LIMIT = 500;
+
+    /** Exploration constant of the UCB1 rule. */
+    private static final double EXPLORATION = Math.sqrt(2);
+
+    private final int rollouts;
+    private final long timeBudgetNanos;
+    private final int workers;
+    private final Strategy rolloutStrategy;
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a single-threaded search with the default rollout budget and
+     * big-money rollouts.
+     */
+    public MctsStrategy() {
+        this(DEFAULT_ROLLOUTS, 0, 1, new BigMoneyStrategy());
+    }
+
+    /**
+     * Constructs a search with the given budget.
+     *
+     * @param rollouts         the number of rollouts per decision, or 0 for no
+     *                         limit
+     * @param timeBudgetMillis the time per decision in milliseconds, or 0 for
+     *                         no limit
+     * @param workers          the number of parallel workers, run on the
+     *                         common fork-join pool
+     * @param rolloutStrategy  the strategy every seat plays during rollouts;
+     *                         shared between workers, so it must be
+     *                         thread-safe
+     * @throws IllegalArgumentException if both budgets are 0 or workers is
+     *                                  less than 1
+     */
+    public MctsStrategy(int rollouts, long timeBudgetMillis, int workers, Strategy rolloutStrategy) {
+        this(rollouts, timeBudgetMillis, workers, rolloutStrategy, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a search with the given budget that runs its workers on the
+     * given pool.
+     *
+     * @param rollouts         the number of rollouts per decision, or 0 for no
+     *                         limit
+     * @param timeBudgetMillis the time per decision in milliseconds, or 0 for
+     *                         no limit
+     * @param workers          the number of parallel workers
+     * @param rolloutStrategy  the strategy every seat plays during rollouts
+     * @param pool             the pool to run the workers on
+     * @throws IllegalArgumentException if both budgets are 0 or workers is
+     *                                  less than 1
+     */
+    public MctsStrategy(int rollouts, long timeBudgetMillis, int workers, Strategy rolloutStrategy,
+            ForkJoinPool pool) {
+        if (rollouts <= 0 && timeBudgetMillis <= 0) {
+            throw new IllegalArgumentException("A rollout or time budget is required");
+        }
+        if (workers < 1) {
+            throw new IllegalArgumentException("At least one worker is required: " + workers);
+        }
+        this.rollouts = Math.max(0, rollouts);
+        this.timeBudgetNanos = Math.max(0, timeBudgetMillis) * 1_000_000L;
+        this.workers = workers;
+        this.rolloutStrategy = rolloutStrategy;
+        this.pool = pool;
+    }
+
+    @Override
+    public CardType chooseCardToBuy(GameView game, SplittableRandom random) {
+        CardType[] arms = candidates(game);
+        if (arms.length == 1) {
+            return arms[0];
+        }
+        GameState root = game.snapshot(new GameState(game.getPlayerCount()));
+        EndCondition endCondition = game.getEndCondition();
+        long deadline = timeBudgetNanos > 0 ? System.nanoTime() + timeBudgetNanos : Long.MAX_VALUE;
+
+        List<Search> searches = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            int share = rollouts == 0 ? Integer.MAX_VALUE : rollouts / workers + (w < rollouts % workers ? 1 : 0);
+            searches.add(new Search(root, arms, game.getSeat(), endCondition, share, deadline,
+                    random.split()));
+        }
+        if (workers == 1) {
+            searches.get(0).compute();
+        } else {
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    ForkJoinTask.invokeAll(searches);
+                }
+            });
+        }
+
+        double[] wins = new double[arms.length];
+        int[] visits = new int[arms.length];
+        for (Search search : searches) {
+            for (int arm = 0; arm < arms.length; arm++) {
+                wins[arm] += search.wins[arm];
+                visits[arm] += search.visits[arm];
+            }
+        }
+        int best = 0;
+        double bestRate = -1;
+        for (int arm = 0; arm < arms.length; arm++) {
+            double rate = visits[arm] == 0 ? -1 : wins[arm] / visits[arm];
+            if (rate > bestRate) {
+                bestRate = rate;
+                best = arm;
+            }
+        }
+        return arms[best];
+    }
+
+    /**
+     * Lists the purchases open to the deciding player: buying nothing and
+     * every standard type it can afford that is left in the supply.
+     *
+     * @param game the game being decided
+     * @return the candidate purchases, with null for buying nothing first
+     */
+    private static CardType[] candidates(GameView game) {
+        SupplyView supply = game.getSupply();
+        int buyingPower = game.getBuyingPower();
+        CardType[] arms = new CardType[CardType.STANDARD_COUNT + 1];
+        int count = 1;
+        for (int id = 0; id < CardType.STANDARD_COUNT; id++) {
+            CardType type = CardType.byId(id);
+            if (supply.canBuy(type, buyingPower)) {
+                arms[count++] = type;
+            }
+        }
+        CardType[] result = new CardType[count];
+        System.arraycopy(arms, 0, result, 0, count);
+        return result;
+    }
+
+    /**
+     * One worker's bandit: a private game to roll out in and the win and visit
+     * counts of each arm.
+     */
+    private class Search extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final GameState root;
+        private final CardType[] arms;
+        private final int seat;
+        private final EndCondition endCondition;
+        private final int budget;
+        private final long deadline;
+        private final SplittableRandom random;
+        private final double[] wins;
+        private final int[] visits;
+        private final int[] finalAP;
+        private final GameState sample;
+        private final Determinizer determinizer;
+
+        /**
+         * Constructs a worker.
+         *
+         * @param root         the position to search from
+         * @param arms         the candidate purchases
+         * @param seat         the deciding seat
+         * @param endCondition the rule that ends rollouts, the same as the
+         *                     real game's
+         * @param budget       the number of rollouts to run
+         * @param deadline     the System.nanoTime() after which to stop
+         * @param random       the worker's random stream
+         */
+        Search(GameState root, CardType[] arms, int seat, EndCondition endCondition, int budget, long deadline,
+                SplittableRandom random) {
+            this.root = root;
+            this.arms = arms;
+            this.seat = seat;
+            this.endCondition = endCondition;
+            this.budget = budget;
+            this.deadline = deadline;
+            this.random = random;
+            this.wins = new double[arms.length];
+            this.visits = new int[arms.length];
+            this.finalAP = new int[root.getPlayerCount()];
+            this.sample = new GameState(root.getPlayerCount());
+            this.determinizer = new Determinizer();
+        }
+
+        @Override
+        protected void compute() {
+            Strategy[] seats = new Strategy[root.getPlayerCount()];
+            Arrays.fill(seats, rolloutStrategy);
+            App rollout = new App(random.nextLong(), seats);
+            rollout.setEndCondition(endCondition);
+            for (int n = 0; n < budget && (n == 0 || System.nanoTime() < deadline); n++) {
+                int arm = select(n);
+                sample.copyFrom(root);
+                determinizer.determinize(sample, seat, random);
+                rollout.restore(sample);
+                rollout.buy(arms[arm]);
+                rollout.executeCleanupPhase();
+                rollout.endTurn();
+                rollout.playGame(ROLLOUT_TURN_LIMIT);
+                int winner = GameSimulator.scoreGame(rollout, finalAP);
+                visits[arm]++;
+                if (winner == seat) {
+                    wins[arm] += 1.0;
+                } else if (winner < 0 && finalAP[seat] == max(finalAP)) {
+                    wins[arm] += 0.5;
+                }
+            }
+        }
+
+        /**
+         * Picks the next arm: each arm once, then the arm with the highest
+         * UCB1 score, breaking ties at random.
+         *
+         * @param total the number of rollouts run so far
+         * @return the arm index
+         */
+        private int select(int total) {
+            if (total < arms.length) {
+                return total;
+            }
+            double logTotal = Math.log(total);
+            int best = 0;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            int tied = 0;
+            for (int arm = 0; arm < arms.length; arm++) {
+                double score = wins[arm] / visits[arm] + EXPLORATION * Math.sqrt(logTotal / visits[arm]);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = arm;
+                    tied = 1;
+                } else if (score == bestScore && random.nextInt(++tied) == 0) {
+                    best = arm;
+                }
+            }
+            return best;
+        }
+    }
+
+    /**
+     * Finds the largest value in an array.
+     *
+     * @param values the values
+     * @return the largest value
+     */
+    private static int max(int[] values) {
+        int max = Integer.MIN_VALUE;
+        for (int value : values) {
+            max = Math.max(max, value);
+        }
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return "MctsStrategy{rollouts=" + rollouts + ", timeBudgetMillis=" + timeBudgetNanos / 1_000_000L
+                + ", workers=" + workers + ", rollout=" + rolloutStrategy + "}";
+    }
+}
@@ -1,9 +1,7 @@
 package edu.brandeis.cosi103a.ip2;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * Represents a player in the Automation card game.
@@ -11,17 +9,27 @@ import java.util.Random;
  * and collections of cards in a draw pile and discard pile.
  * The draw pile contains both starting hand and purchased cards.
  * The discard pile starts empty and accumulates cards as they are played.
+ * All four zones (hand, played cards, draw and discard piles) are
+ * {@link Deck}s: one byte per card plus a count of each card type and running
+ * totals of APs and cryptocoins. Moving cards between zones copies type ids
+ * only, so a whole turn runs without allocating.
  */
 public class Player {
+    /** Minimum APs of an Automation card worth selecting a single coin for. */
+    private static final int MIN_SELECTED_AP = 3;
+
     private String name;
+    private int seat;
     private int ap;
-    private List<Card> hand;
-    private List<Card> drawPile;
-    private List<Card> discardPile;
-    private List<Card> playedCards;
+    private Deck hand;
+    private Deck drawPile;
+    private Deck discardPile;
+    private Deck playedCards;
     private Card selectedCardToBuy;
     private Card selectedCardToPlay;
-    private Random random;
+    private SplittableRandom random;
+    private GameEventListener listener = GameEventListener.NONE;
+    private GameMetrics metrics;
 
     /**
      * Constructs a Player with a name and initial AP.
@@ -30,15 +38,27 @@ public class Player {
      * @param initialAP the starting number of AP (action points)
      */
     public Player(String name, int initialAP) {
+        this(name, initialAP, new SplittableRandom());
+    }
+
+    /**
+     * Constructs a Player that shuffles and chooses cards with the given random
+     * number generator.
+     *
+     * @param name      the player's name
+     * @param initialAP the starting number of AP (action points)
+     * @param random    the random number generator to use
+     */
+    public Player(String name, int initialAP, SplittableRandom random) {
         this.name = name;
         this.ap = initialAP;
-        this.hand = new ArrayList<>();
-        this.drawPile = new ArrayList<>();
-        this.discardPile = new ArrayList<>();
-        this.playedCards = new ArrayList<>();
+        this.hand = new Deck();
+        this.drawPile = new Deck();
+        this.discardPile = new Deck();
+        this.playedCards = new Deck();
         this.selectedCardToBuy = null;
         this.selectedCardToPlay = null;
-        this.random = new Random();
+        this.random = random;
     }
 
     /**
@@ -59,6 +79,24 @@ public class Player {
         this.name = name;
     }
 
+    /**
+     * Gets the player's seat in their game.
+     *
+     * @return the seat index, or 0 if the player is not in a game
+     */
+    public int getSeat() {
+        return seat;
+    }
+
+    /**
+     * Sets the player's seat in their game.
+     *
+     * @param seat the seat index
+     */
+    void setSeat(int seat) {
+        this.seat = seat;
+    }
+
     /**
      * Gets the player's current AP (action points/victory points).
      *
@@ -98,9 +136,9 @@ public class Player {
     /**
      * Gets the player's draw pile.
      *
-     * @return the list of cards in the draw pile
+     * @return the deck of cards in the draw pile
      */
-    public List<Card> getDrawPile() {
+    public Deck getDrawPile() {
         return drawPile;
     }
 
@@ -126,9 +164,9 @@ public class Player {
     /**
      * Gets the player's discard pile.
      *
-     * @return the list of cards in the discard pile
+     * @return the deck of cards in the discard pile
      */
-    public List<Card> getDiscardPile() {
+    public Deck getDiscardPile() {
         return discardPile;
     }
 
@@ -171,11 +209,14 @@ public class Player {
 
     /**
      * Gets the player's hand.
+     * Use {@link #addCardToHand} and {@link #removeCardFromHand} to change it,
+     * so the running totals stay correct. The hand holds the shared instance
+     * of each card's type.
      *
-     * @return the list of cards in the player's hand
+     * @return an unmodifiable view of the cards in the player's hand
      */
     public List<Card> getHand() {
-        return hand;
+        return hand.asList();
     }
 
     /**
@@ -188,7 +229,7 @@ public class Player {
     }
 
     /**
-     * Removes a card from the player's hand.
+     * Removes a card of the same type from the player's hand.
      *
      * @param card the card to remove
      * @return true if the card was removed, false otherwise
@@ -197,6 +238,36 @@ public class Player {
         return hand.remove(card);
     }
 
+    /**
+     * Gets the total cryptocoins of the Cryptocurrency cards in the hand.
+     *
+     * @return the buying power the hand would give if every card were played
+     */
+    public int getHandCoinValue() {
+        return hand.getCoinValue();
+    }
+
+    /**
+     * Gets the total APs of all Automation cards the player owns, in the hand,
+     * draw pile, discard pile and played cards.
+     *
+     * @return the player's total APs
+     */
+    public int getTotalAP() {
+        return hand.getAPValue() + playedCards.getAPValue() + drawPile.getAPValue() + discardPile.getAPValue();
+    }
+
+    /**
+     * Counts the cards of a type the player owns, in the hand, draw pile,
+     * discard pile and played cards.
+     *
+     * @param type the card type
+     * @return the number of cards of that type
+     */
+    int countOwned(CardType type) {
+        return hand.count(type) + playedCards.count(type) + drawPile.count(type) + discardPile.count(type);
+    }
+
     /**
      * Gets the number of cards in the player's hand.
      *
@@ -206,6 +277,24 @@ public class Player {
         return hand.size();
     }
 
+    /**
+     * Gets the cards played for buying this turn.
+     *
+     * @return an unmodifiable view of the played cards
+     */
+    public List<Card> getPlayedCards() {
+        return playedCards.asList();
+    }
+
+    /**
+     * Gets the number of cards played for buying this turn.
+     *
+     * @return the number of played cards
+     */
+    public int getPlayedCardsSize() {
+        return playedCards.size();
+    }
+
     /**
      * Plays a card from the hand to the discard pile.
      * Cards played during a turn go to the discard pile and can be reshuffled back
@@ -236,13 +325,15 @@ public class Player {
         }
 
         // Draw from draw pile if available
-        if (!drawPile.isEmpty()) {
-            Card card = drawPile.remove(0);
-            addCardToHand(card);
-            return card;
+        CardType type = drawPile.drawType();
+        if (type == null) {
+            return null;
         }
-
-        return null;
+        hand.add(type);
+        if (metrics != null) {
+            metrics.draws(1);
+        }
+        return type.getCard();
     }
 
     /**
@@ -261,6 +352,17 @@ public class Player {
         return false;
     }
 
+    /**
+     * Plays every cryptocurrency card in the hand for buying, in hand order.
+     * Other cards stay in the hand in their original order.
+     *
+     * @return the total value of the played cards, i.e. the buying power
+     */
+    public int playAllCryptocurrency() {
+        hand.moveCryptocurrencyTo(playedCards);
+        return calculatePlayedCardsValue();
+    }
+
     /**
      * Calculates the total value of all played cryptocurrency cards.
      * This value represents the player's buying power during the buy phase.
@@ -268,11 +370,7 @@ public class Player {
      * @return the sum of values of all played cards
      */
     public int calculatePlayedCardsValue() {
-        int totalValue = 0;
-        for (Card card : playedCards) {
-            totalValue += card.getValue();
-        }
-        return totalValue;
+        return playedCards.getAPValue() + playedCards.getCoinValue();
     }
 
     /**
@@ -293,12 +391,10 @@ public class Player {
      */
     public void cleanupPhase() {
         // Add hand to discard pile
-        discardPile.addAll(hand);
-        hand.clear();
+        hand.moveAllTo(discardPile);
 
         // Add played cards to discard pile
-        discardPile.addAll(playedCards);
-        playedCards.clear();
+        playedCards.moveAllTo(discardPile);
 
         // Deal new hand (up to 5 cards)
         dealNewHand(5);
@@ -312,6 +408,7 @@ public class Player {
      * @param targetHandSize the desired size of the new hand
      */
     private void dealNewHand(int targetHandSize) {
+        int before = hand.size();
         while (hand.size() < targetHandSize) {
             // If draw pile is empty, reshuffle discard pile
             if (drawPile.isEmpty()) {
@@ -323,77 +420,154 @@ public class Player {
                 break;
             }
 
-            // Draw a card
-            Card card = drawPile.remove(0);
-            hand.add(card);
+            // Draw as many cards as the draw pile has, up to the target
+            drawPile.moveTopTo(hand, targetHandSize);
+        }
+        if (metrics != null) {
+            metrics.draws(hand.size() - before);
         }
     }
 
     /**
      * Reshuffles all cards from the discard pile back into the draw pile.
      * This is called when the draw pile runs out, allowing cards to be played
-     * multiple times.
+     * multiple times. Since the draw pile is empty, the two piles simply swap
+     * buffers and the new draw pile is shuffled in place.
      */
     private void reshuffleDiscardIntoDraw() {
         if (!discardPile.isEmpty()) {
-            Collections.shuffle(discardPile);
-            drawPile.addAll(discardPile);
-            discardPile.clear();
+            long start = metrics == null ? 0 : System.nanoTime();
+            drawPile.swap(discardPile);
+            drawPile.shuffle(random);
+            if (metrics != null) {
+                metrics.reshuffle(System.nanoTime() - start);
+            }
+            listener.reshuffled(this);
+        }
+    }
+
+    /**
+     * Sets the listener told when this player reshuffles their discard pile.
+     *
+     * @param listener the listener for game events
+     */
+    void setListener(GameEventListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Sets the registry that counts this player's draws and times their
+     * reshuffles.
+     *
+     * @param metrics the metrics registry, or null to stop recording
+     */
+    void setMetrics(GameMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Records this player's zones in a game state.
+     * The state must have been reset first.
+     *
+     * @param state the state to fill
+     * @param seat  the player's seat in the state
+     */
+    void writeTo(GameState state, int seat) {
+        int types = state.getTypeCount();
+        for (int id = 0; id < types; id++) {
+            state.setCount(seat, GameState.HAND, id, hand.count(id));
+            state.setCount(seat, GameState.PLAYED, id, playedCards.count(id));
+            state.setCount(seat, GameState.DISCARD, id, discardPile.count(id));
+        }
+        state.setDrawPile(seat, drawPile);
+    }
+
+    /**
+     * Replaces this player's zones with those recorded in a game state.
+     * Hand, played cards and discard pile are rebuilt grouped by type; the draw
+     * pile keeps its recorded order. Card selections are cleared.
+     *
+     * @param state the state to read
+     * @param seat  the player's seat in the state
+     */
+    void readFrom(GameState state, int seat) {
+        hand.clear();
+        playedCards.clear();
+        discardPile.clear();
+        for (int id = 0; id < CardType.STANDARD_COUNT; id++) {
+            CardType type = CardType.byId(id);
+            for (int n = state.getCount(seat, GameState.HAND, type); n > 0; n--) {
+                hand.add(type);
+            }
+            for (int n = state.getCount(seat, GameState.PLAYED, type); n > 0; n--) {
+                playedCards.add(type);
+            }
+            for (int n = state.getCount(seat, GameState.DISCARD, type); n > 0; n--) {
+                discardPile.add(type);
+            }
         }
+        drawPile.setIds(state.drawOrder(seat), state.getZoneSize(seat, GameState.DRAW));
+        resetCardSelections();
+    }
+
+    /**
+     * Shuffles the player's draw pile.
+     */
+    public void shuffleDrawPile() {
+        drawPile.shuffle(random);
     }
 
     /**
      * Determines the best card to play and buy based on game strategy.
-     * Strategy: Play cryptocoins that will get us an Automation Card worth at least
-     * 10 APs.
+     * Strategy: Play a single cryptocoin that will get us an Automation Card worth
+     * at least 3 APs (a Module or a Framework), using the same Automation card
+     * priority as {@link HeuristicStrategy}.
      * If no such card is affordable, select a random Cryptocurrency card,
      * preferring non-Bitcoin cards.
      *
-     * @param availableAutomationCards map of available automation cards by type
+     * @param supply the cards left in the supply
      * @return true if a card was selected, false if no suitable cards available
      */
-    public boolean selectCardsForBuying(java.util.Map<String, java.util.List<Card>> availableAutomationCards) {
-        // First, try to find an automation card that will give us at least 10 APs
+    public boolean selectCardsForBuying(SupplyView supply) {
+        // First, try to find an automation card that will give us at least 3 APs
         selectedCardToBuy = null;
         selectedCardToPlay = null;
 
         // Check each crypto card in hand for what automation card it could afford
-        for (Card card : hand) {
-            if (card instanceof CryptocurrencyCard) {
-                // Check if this card alone could buy an automation card worth 10+ APs
-                AutomationCard bestCard = findBestAffordableAutomationCard(card.getValue(), availableAutomationCards);
-                if (bestCard != null && bestCard.getValue() >= 3) {
-                    selectedCardToPlay = card;
+        for (int i = 0; i < hand.size(); i++) {
+            CardType type = hand.getType(i);
+            if (!type.isAutomation()) {
+                // Check if this card alone could buy an automation card worth 3+ APs
+                AutomationCard bestCard = findBestAffordableAutomationCard(type.getValue(), supply);
+                if (bestCard != null && bestCard.getValue() >= MIN_SELECTED_AP) {
+                    selectedCardToPlay = type.getCard();
                     selectedCardToBuy = bestCard;
                     return true;
                 }
             }
         }
 
-        // If no single card can get us 10+ AP automation card, pick a random
+        // If no single card can get us a 3+ AP automation card, pick a random
         // cryptocurrency card
         // Prefer non-Bitcoin cards
-        List<Card> cryptocurrencyCards = new ArrayList<>();
-        List<Card> bitcoinCards = new ArrayList<>();
-
-        for (Card card : hand) {
-            if (card instanceof CryptocurrencyCard) {
-                // Check if it's a Bitcoin (cost 0, value 1)
-                if (card.getCost() == 0 && card.getValue() == 1) {
-                    bitcoinCards.add(card);
-                } else {
-                    cryptocurrencyCards.add(card);
-                }
+        int bitcoins = hand.count(CardType.BITCOIN);
+        int others = hand.size() - bitcoins;
+        for (int id = 0; id < CardType.STANDARD_COUNT; id++) {
+            if (CardType.byId(id).isAutomation()) {
+                others -= hand.count(id);
             }
         }
 
         // Prefer non-Bitcoin cards
-        if (!cryptocurrencyCards.isEmpty()) {
-            selectedCardToPlay = cryptocurrencyCards.get(random.nextInt(cryptocurrencyCards.size()));
+        if (others > 0) {
+            selectedCardToPlay = nthOtherCryptocurrency(random.nextInt(others));
             selectedCardToBuy = null; // Will buy random crypto card later
             return true;
-        } else if (!bitcoinCards.isEmpty()) {
-            selectedCardToPlay = bitcoinCards.get(random.nextInt(bitcoinCards.size()));
+        } else if (bitcoins > 0) {
+            // Bitcoins are interchangeable, but the pick still consumes a
+            // random number so the random stream stays in step
+            random.nextInt(bitcoins);
+            selectedCardToPlay = CardType.BITCOIN.getCard();
             selectedCardToBuy = null;
             return true;
         }
@@ -401,36 +575,34 @@ public class Player {
         return false;
     }
 
+    /**
+     * Finds the n-th non-Bitcoin Cryptocurrency card in the hand, in hand
+     * order.
+     *
+     * @param n the position among those cards, from 0
+     * @return the shared instance of the card's type
+     */
+    private Card nthOtherCryptocurrency(int n) {
+        for (int i = 0; i < hand.size(); i++) {
+            CardType type = hand.getType(i);
+            if (!type.isAutomation() && type != CardType.BITCOIN && n-- == 0) {
+                return type.getCard();
+            }
+        }
+        throw new IllegalStateException("Hand has fewer Cryptocurrency cards than counted");
+    }
+
     /**
      * Finds the best (highest value) automation card that can be afforded with the
      * given amount.
      *
-     * @param buyingPower              the amount of cryptocoins available
-     * @param availableAutomationCards map of available automation cards by type
+     * @param buyingPower the amount of cryptocoins available
+     * @param supply      the cards left in the supply
      * @return the best affordable automation card, or null if none are affordable
      */
-    private AutomationCard findBestAffordableAutomationCard(int buyingPower,
-            java.util.Map<String, java.util.List<Card>> availableAutomationCards) {
-        AutomationCard bestCard = null;
-        int bestValue = 0;
-
-        // Check Framework, Module, Method in that order (highest value first)
-        String[] priorityOrder = { "Framework", "Module", "Method" };
-        for (String cardType : priorityOrder) {
-            java.util.List<Card> cards = availableAutomationCards.get(cardType);
-            if (cards != null && !cards.isEmpty()) {
-                Card card = cards.get(0);
-                if (card instanceof AutomationCard) {
-                    AutomationCard automationCard = (AutomationCard) card;
-                    if (automationCard.getCost() <= buyingPower && automationCard.getValue() > bestValue) {
-                        bestCard = automationCard;
-                        bestValue = automationCard.getValue();
-                    }
-                }
-            }
-        }
-
-        return bestCard;
+    private AutomationCard findBestAffordableAutomationCard(int buyingPower, SupplyView supply) {
+        CardType best = HeuristicStrategy.bestAffordableAutomation(buyingPower, supply);
+        return best == null ? null : (AutomationCard) best.getCard();
     }
 
     /**
@@ -0,0 +1,41 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.util.SplittableRandom;
+
+/**
+ * Random strategy, useful as a baseline.
+ * Buys a uniformly random card type among those left in the supply that it
+ * can afford.
+ */
+public class RandomStrategy implements Strategy {
+
+    @Override
+    public CardType chooseCardToBuy(GameView game, SplittableRandom random) {
+        int buyingPower = game.getBuyingPower();
+        SupplyView supply = game.getSupply();
+
+        int affordable = 0;
+        for (int id = 0; id < CardType.STANDARD_COUNT; id++) {
+            if (supply.canBuy(CardType.byId(id), buyingPower)) {
+                affordable++;
+            }
+        }
+        if (affordable == 0) {
+            return null;
+        }
+
+        int n = random.nextInt(affordable);
+        for (int id = 0; id < CardType.STANDARD_COUNT; id++) {
+            CardType type = CardType.byId(id);
+            if (supply.canBuy(type, buyingPower) && n-- == 0) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "RandomStrategy";
+    }
+}
@@ -0,0 +1,261 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a results file written by {@link ResultsWriter}.
+ * The file is mapped read-only and every getter reads its field straight
+ * from the mapping, so scanning millions of records creates no objects.
+ * Records are addressed by index, from 0 to {@link #size()} - 1.
+ */
+public class ResultsReader implements Closeable {
+    private final FileChannel channel;
+    private final int players;
+    private final int types;
+    private final int recordSize;
+    private final int seatSize;
+    private final int recordsPerChunk;
+    private final long size;
+    private final String[] strategyNames;
+    private final MappedByteBuffer[] chunks;
+
+    /**
+     * Opens a results file.
+     *
+     * @param file the file to read
+     * @throws IOException if the file cannot be read, is not a results file
+     *                     or is shorter than its header says
+     */
+    public ResultsReader(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        if (channel.size() < ResultsWriter.HEADER_SIZE) {
+            channel.close();
+            throw new IOException("Not a results file: " + file);
+        }
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, ResultsWriter.HEADER_SIZE);
+        header.order(ByteOrder.LITTLE_ENDIAN);
+        if (header.getInt(0) != ResultsWriter.MAGIC || header.getInt(4) != ResultsWriter.VERSION) {
+            channel.close();
+            throw new IOException("Not a results file: " + file);
+        }
+        this.players = header.getInt(ResultsWriter.PLAYERS_OFFSET);
+        this.types = header.getInt(ResultsWriter.TYPES_OFFSET);
+        this.recordSize = header.getInt(ResultsWriter.RECORD_SIZE_OFFSET);
+        this.seatSize = ResultsWriter.seatSize(types);
+        this.recordsPerChunk = ResultsWriter.recordsPerChunk(recordSize);
+        this.size = header.getLong(ResultsWriter.RECORD_COUNT_OFFSET);
+        long available = channel.size() - ResultsWriter.HEADER_SIZE;
+        if (players <= 0 || types <= 0 || recordSize != ResultsWriter.recordSize(players, types)) {
+            channel.close();
+            throw new IOException("Corrupt results file header: " + file);
+        }
+        if (size < 0 || size > available / recordSize) {
+            channel.close();
+            throw new IOException("Results file " + file + " holds " + available / recordSize
+                    + " records but its header claims " + size);
+        }
+
+        this.strategyNames = new String[header.getInt(ResultsWriter.NAME_COUNT_OFFSET)];
+        int position = ResultsWriter.NAMES_OFFSET;
+        for (int i = 0; i < strategyNames.length; i++) {
+            byte[] bytes = new byte[header.getShort(position)];
+            for (int j = 0; j < bytes.length; j++) {
+                bytes[j] = header.get(position + 2 + j);
+            }
+            strategyNames[i] = new String(bytes, StandardCharsets.UTF_8);
+            position += 2 + bytes.length;
+        }
+
+        this.chunks = new MappedByteBuffer[(int) ((size + recordsPerChunk - 1) / recordsPerChunk)];
+        for (int i = 0; i < chunks.length; i++) {
+            long first = (long) i * recordsPerChunk;
+            long records = Math.min(recordsPerChunk, size - first);
+            chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                    ResultsWriter.HEADER_SIZE + first * recordSize, records * recordSize);
+            chunks[i].order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    /**
+     * Gets the number of records in the file.
+     *
+     * @return the record count
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of players in each game.
+     *
+     * @return the number of players
+     */
+    public int getPlayers() {
+        return players;
+    }
+
+    /**
+     * Gets the number of card types whose purchases are recorded.
+     *
+     * @return the number of card types
+     */
+    public int getTypeCount() {
+        return types;
+    }
+
+    /**
+     * Gets the seed of a game.
+     *
+     * @param record the record index
+     * @return the game seed
+     */
+    public long getSeed(long record) {
+        return chunk(record).getLong(offset(record));
+    }
+
+    /**
+     * Gets the number of turns a game lasted.
+     *
+     * @param record the record index
+     * @return the number of turns
+     */
+    public int getTurns(long record) {
+        return chunk(record).getInt(offset(record) + ResultsWriter.TURNS_OFFSET);
+    }
+
+    /**
+     * Gets the winning seat of a game.
+     *
+     * @param record the record index
+     * @return the winning seat, or -1 if the game was tied
+     */
+    public int getWinner(long record) {
+        return chunk(record).get(offset(record) + ResultsWriter.WINNER_OFFSET);
+    }
+
+    /**
+     * Gets the id of the strategy that played a seat.
+     *
+     * @param record the record index
+     * @param seat   the seat index
+     * @return the strategy id, an index into {@link #getStrategyName(int)}
+     */
+    public int getStrategyId(long record, int seat) {
+        return chunk(record).get(seatOffset(record, seat)) & 0xFF;
+    }
+
+    /**
+     * Gets the name of a strategy id.
+     *
+     * @param id the strategy id
+     * @return the strategy's name
+     */
+    public String getStrategyName(int id) {
+        return strategyNames[id];
+    }
+
+    /**
+     * Gets the number of distinct strategies in the file.
+     *
+     * @return the number of strategy ids
+     */
+    public int getStrategyCount() {
+        return strategyNames.length;
+    }
+
+    /**
+     * Gets the final APs of a seat.
+     *
+     * @param record the record index
+     * @param seat   the seat index
+     * @return the seat's final APs
+     */
+    public int getFinalAP(long record, int seat) {
+        return chunk(record).getShort(seatOffset(record, seat) + 1);
+    }
+
+    /**
+     * Gets how many cards of a type a seat bought during a game.
+     *
+     * @param record the record index
+     * @param seat   the seat index
+     * @param type   the card type
+     * @return the number of purchases
+     */
+    public int getPurchases(long record, int seat, CardType type) {
+        return chunk(record).getShort(seatOffset(record, seat) + 3 + 2 * type.getId());
+    }
+
+    /**
+     * Aggregates every record into a simulation result.
+     *
+     * @return the aggregate results of all games in the file
+     */
+    public SimulationResult summarize() {
+        SimulationResult result = new SimulationResult(players);
+        int[] finalAP = new int[players];
+        for (long record = 0; record < size; record++) {
+            for (int seat = 0; seat < players; seat++) {
+                finalAP[seat] = getFinalAP(record, seat);
+                for (int id = 0; id < types; id++) {
+                    result.recordPurchases(seat, id, getPurchases(record, seat, CardType.byId(id)));
+                }
+            }
+            result.recordGame(finalAP, getWinner(record), getTurns(record));
+        }
+        return result;
+    }
+
+    /**
+     * Gets the mapped chunk holding a record.
+     *
+     * @param record the record index
+     * @return the chunk
+     * @throws IndexOutOfBoundsException if there is no such record
+     */
+    private MappedByteBuffer chunk(long record) {
+        if (record < 0 || record >= size) {
+            throw new IndexOutOfBoundsException("Record " + record + " of " + size);
+        }
+        return chunks[(int) (record / recordsPerChunk)];
+    }
+
+    /**
+     * Gets the offset of a record within its chunk.
+     *
+     * @param record the record index
+     * @return the byte offset
+     */
+    private int offset(long record) {
+        return (int) (record % recordsPerChunk) * recordSize;
+    }
+
+    /**
+     * Gets the offset of a seat's fields within a record's chunk.
+     *
+     * @param record the record index
+     * @param seat   the seat index
+     * @return the byte offset
+     */
+    private int seatOffset(long record, int seat) {
+        return offset(record) + ResultsWriter.SEATS_OFFSET + seat * seatSize;
+    }
+
+    /**
+     * Closes the file. The mappings stay valid until they are garbage
+     * collected.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
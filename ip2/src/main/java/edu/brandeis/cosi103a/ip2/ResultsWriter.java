@@ -0,0 +1,298 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Appends per-game results to a file through memory-mapped buffers.
+ * The file starts with a fixed-size header, followed by one fixed-width
+ * little-endian record per game:
+ *
+ * <pre>
+ * offset  size  field
+ * 0       8     game seed
+ * 8       4     turns played
+ * 12      1     winning seat, or -1 for a tie
+ * 13      ...   per seat: strategy id (1), final AP (2),
+ *               purchases of each card type (2 each)
+ * </pre>
+ *
+ * Strategy ids index a table of strategy names kept in the header. Records
+ * are written straight into mapped chunks of the file, so appending a game
+ * costs a few stores and no allocation. Read the file back with
+ * {@link ResultsReader}.
+ *
+ * Appending is single-threaded, but records reserved with {@link #reserve}
+ * may then be filled with {@link #write} from several threads at once, as
+ * long as each index is written by one thread.
+ */
+public class ResultsWriter implements Closeable {
+    /** Magic number at the start of a results file. */
+    static final int MAGIC = 0x41505253;
+    /** Version of the file format. */
+    static final int VERSION = 1;
+    /** Size of the header in bytes, including the strategy name table. */
+    static final int HEADER_SIZE = 4096;
+
+    /** Header offset of the player count. */
+    static final int PLAYERS_OFFSET = 8;
+    /** Header offset of the card type count. */
+    static final int TYPES_OFFSET = 12;
+    /** Header offset of the record size. */
+    static final int RECORD_SIZE_OFFSET = 16;
+    /** Header offset of the strategy name count. */
+    static final int NAME_COUNT_OFFSET = 20;
+    /** Header offset of the record count. */
+    static final int RECORD_COUNT_OFFSET = 24;
+    /** Header offset of the strategy names, each a length and UTF-8 bytes. */
+    static final int NAMES_OFFSET = 32;
+
+    /** Record offset of the turn count. */
+    static final int TURNS_OFFSET = 8;
+    /** Record offset of the winning seat. */
+    static final int WINNER_OFFSET = 12;
+    /** Record offset of the first seat's fields. */
+    static final int SEATS_OFFSET = 13;
+
+    /** Maximum number of distinct strategies in one file. */
+    static final int MAX_STRATEGIES = 255;
+    /** Target size of one mapped chunk of records. */
+    private static final int CHUNK_BYTES = 64 << 20;
+
+    private final FileChannel channel;
+    private MappedByteBuffer header;
+    private final int players;
+    private final int types;
+    private final int recordSize;
+    private final int recordsPerChunk;
+    private volatile MappedByteBuffer[] chunks = new MappedByteBuffer[0];
+    private final Map<Strategy, Integer> strategyIds = new ConcurrentHashMap<>();
+    private final Map<String, Integer> nameIds = new HashMap<>();
+    private int namesEnd = NAMES_OFFSET;
+    private long size;
+
+    /**
+     * Creates a results file, replacing any existing file.
+     * Records hold purchase counts for every standard card type.
+     *
+     * @param file    the file to write
+     * @param players the number of players in each game
+     * @throws IOException if the file cannot be created
+     */
+    public ResultsWriter(Path file, int players) throws IOException {
+        this.players = players;
+        this.types = CardType.STANDARD_COUNT;
+        this.recordSize = recordSize(players, types);
+        this.recordsPerChunk = recordsPerChunk(recordSize);
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+        header.order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(0, MAGIC);
+        header.putInt(4, VERSION);
+        header.putInt(PLAYERS_OFFSET, players);
+        header.putInt(TYPES_OFFSET, types);
+        header.putInt(RECORD_SIZE_OFFSET, recordSize);
+    }
+
+    /**
+     * Computes the size of one record.
+     *
+     * @param players the number of players
+     * @param types   the number of card types
+     * @return the record size in bytes
+     */
+    static int recordSize(int players, int types) {
+        return SEATS_OFFSET + players * seatSize(types);
+    }
+
+    /**
+     * Computes the size of one seat's fields within a record.
+     *
+     * @param types the number of card types
+     * @return the seat size in bytes
+     */
+    static int seatSize(int types) {
+        return 3 + 2 * types;
+    }
+
+    /**
+     * Computes how many records fit in one mapped chunk. Chunks hold whole
+     * records so no record straddles two mappings.
+     *
+     * @param recordSize the record size in bytes
+     * @return the number of records per chunk
+     */
+    static int recordsPerChunk(int recordSize) {
+        return CHUNK_BYTES / recordSize;
+    }
+
+    /**
+     * Gets the number of records in the file.
+     *
+     * @return the record count
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Appends the result of a finished game.
+     *
+     * @param seed  the seed the game was created with
+     * @param game  the finished game
+     * @param turns the number of turns the game lasted
+     * @throws IOException if the file cannot be extended
+     */
+    public void append(long seed, App game, int turns) throws IOException {
+        long index = reserve(1);
+        write(index, seed, game, turns);
+    }
+
+    /**
+     * Reserves space for a number of records at the end of the file, to be
+     * filled in with {@link #write}.
+     *
+     * @param records the number of records to reserve
+     * @return the index of the first reserved record
+     * @throws IOException if the file cannot be extended
+     */
+    public synchronized long reserve(long records) throws IOException {
+        long first = size;
+        long end = first + records;
+        int needed = (int) ((end + recordsPerChunk - 1) / recordsPerChunk);
+        if (needed > chunks.length) {
+            // Copy on write, so concurrent writers always see a complete array
+            MappedByteBuffer[] grown = Arrays.copyOf(chunks, needed);
+            for (int i = chunks.length; i < needed; i++) {
+                long position = HEADER_SIZE + (long) i * recordsPerChunk * recordSize;
+                grown[i] = channel.map(FileChannel.MapMode.READ_WRITE, position, (long) recordsPerChunk * recordSize);
+                grown[i].order(ByteOrder.LITTLE_ENDIAN);
+            }
+            chunks = grown;
+        }
+        size = end;
+        return first;
+    }
+
+    /**
+     * Writes the result of a finished game into a reserved record. The final
+     * APs and the winner are those of {@link GameSimulator#scoreGame}.
+     *
+     * @param index the record index, which must have been reserved
+     * @param seed  the seed the game was created with
+     * @param game  the finished game
+     * @param turns the number of turns the game lasted
+     */
+    public void write(long index, long seed, App game, int turns) {
+        MappedByteBuffer chunk = chunks[(int) (index / recordsPerChunk)];
+        int offset = (int) (index % recordsPerChunk) * recordSize;
+        List<Player> seats = game.getPlayers();
+
+        chunk.putLong(offset, seed);
+        chunk.putInt(offset + TURNS_OFFSET, turns);
+        int[] finalAP = new int[players];
+        int winner = GameSimulator.scoreGame(game, finalAP);
+        int seatOffset = offset + SEATS_OFFSET;
+        for (int seat = 0; seat < players; seat++) {
+            Player player = seats.get(seat);
+            chunk.put(seatOffset, (byte) strategyId(game.getStrategy(seat)));
+            chunk.putShort(seatOffset + 1, (short) finalAP[seat]);
+            for (int id = 0; id < types; id++) {
+                CardType type = CardType.byId(id);
+                int purchases = player.countOwned(type) - App.startingCount(type);
+                chunk.putShort(seatOffset + 3 + 2 * id, (short) purchases);
+            }
+            seatOffset += seatSize(types);
+        }
+        chunk.put(offset + WINNER_OFFSET, (byte) winner);
+    }
+
+    /**
+     * Gets the id of a strategy, adding its name to the header the first
+     * time it is seen. Known strategies are looked up without locking, so
+     * parallel writers only contend on a strategy's first record.
+     *
+     * @param strategy the strategy
+     * @return the strategy's id
+     * @throws IllegalStateException if the name table is full
+     */
+    private int strategyId(Strategy strategy) {
+        Integer id = strategyIds.get(strategy);
+        return id != null ? id : addStrategy(strategy);
+    }
+
+    /**
+     * Adds a strategy's name to the header unless another strategy with the
+     * same name was added before.
+     *
+     * @param strategy the strategy
+     * @return the strategy's id
+     * @throws IllegalStateException if the name table is full
+     */
+    private synchronized int addStrategy(Strategy strategy) {
+        Integer id = strategyIds.get(strategy);
+        if (id == null) {
+            String name = Strategies.nameOf(strategy);
+            id = nameIds.get(name);
+            if (id == null) {
+                byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+                if (nameIds.size() == MAX_STRATEGIES || namesEnd + 2 + bytes.length > HEADER_SIZE) {
+                    throw new IllegalStateException("Too many strategies for one results file");
+                }
+                header.putShort(namesEnd, (short) bytes.length);
+                for (int i = 0; i < bytes.length; i++) {
+                    header.put(namesEnd + 2 + i, bytes[i]);
+                }
+                namesEnd += 2 + bytes.length;
+                id = nameIds.size();
+                nameIds.put(name, id);
+                header.putInt(NAME_COUNT_OFFSET, nameIds.size());
+            }
+            strategyIds.put(strategy, id);
+        }
+        return id;
+    }
+
+    /**
+     * Writes the record count to the header and forces all records to disk.
+     */
+    public synchronized void flush() {
+        header.putLong(RECORD_COUNT_OFFSET, size);
+        for (MappedByteBuffer chunk : chunks) {
+            chunk.force();
+        }
+        header.force();
+    }
+
+    /**
+     * Flushes the file and trims the unused end of the last chunk.
+     * The mappings are forced and dropped before the file is truncated, so
+     * no buffer of this writer still covers the trimmed region. The writer
+     * cannot be used after it is closed.
+     *
+     * @throws IOException if the file cannot be trimmed or closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (header == null) {
+            return;
+        }
+        flush();
+        chunks = new MappedByteBuffer[0];
+        header = null;
+        channel.truncate(HEADER_SIZE + size * recordSize);
+        channel.close();
+    }
+}
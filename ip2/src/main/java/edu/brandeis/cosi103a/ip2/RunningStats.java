@@ -0,0 +1,122 @@
+package edu.brandeis.cosi103a.ip2;
+
+/**
+ * Streaming mean and variance of a sequence of values, in constant memory.
+ * Values are folded in with Welford's update, which stays accurate where the
+ * naive sum of squares would cancel. Two accumulators can be merged with
+ * Chan et al.'s pairwise formula, so partial statistics from different
+ * threads combine into those of the whole sequence. Merging is exact up to
+ * rounding, so merge partial results in a fixed order for bit-for-bit
+ * reproducible output.
+ */
+public class RunningStats {
+    private long count;
+    private double mean;
+    private double m2;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+
+    /**
+     * Adds one value.
+     *
+     * @param value the value
+     */
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+        if (count == 1) {
+            min = value;
+            max = value;
+        } else {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+    }
+
+    /**
+     * Adds all values seen by another accumulator to this one.
+     *
+     * @param other the accumulator to merge in
+     */
+    public void merge(RunningStats other) {
+        if (other.count == 0) {
+            return;
+        }
+        if (count == 0) {
+            count = other.count;
+            mean = other.mean;
+            m2 = other.m2;
+            min = other.min;
+            max = other.max;
+            return;
+        }
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / total;
+        m2 += other.m2 + delta * delta * ((double) count * other.count / total);
+        count = total;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Gets the number of values added.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the mean of the values.
+     *
+     * @return the mean, or 0 if there are no values
+     */
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * Gets the sample variance of the values.
+     *
+     * @return the unbiased variance, or 0 if there are fewer than two values
+     */
+    public double getVariance() {
+        return count < 2 ? 0.0 : m2 / (count - 1);
+    }
+
+    /**
+     * Gets the sample standard deviation of the values.
+     *
+     * @return the standard deviation, or 0 if there are fewer than two values
+     */
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    /**
+     * Gets the smallest value.
+     *
+     * @return the minimum, or NaN if there are no values
+     */
+    public double getMin() {
+        return min;
+    }
+
+    /**
+     * Gets the largest value.
+     *
+     * @return the maximum, or NaN if there are no values
+     */
+    public double getMax() {
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RunningStats{count=%d, mean=%.3f, sd=%.3f}", count, mean, getStandardDeviation());
+    }
+}
@@ -0,0 +1,50 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.util.SplittableRandom;
+
+/**
+ * A strategy that makes a fixed sequence of choices, one per buy phase, in
+ * the order the buy phases happen. Used to replay recorded games. One
+ * instance can serve every seat, since the choices are in turn order.
+ * Instances are stateful and not thread-safe.
+ */
+public class ScriptedStrategy implements Strategy {
+    private final CardType[] choices;
+    private int next;
+
+    /**
+     * Constructs a strategy with the given choices.
+     *
+     * @param choices the type to buy in each buy phase, with null for no
+     *                purchase
+     */
+    public ScriptedStrategy(CardType... choices) {
+        this.choices = choices.clone();
+    }
+
+    /**
+     * Returns the next scripted choice.
+     *
+     * @param game   the game being decided; ignored
+     * @param random ignored
+     * @return the next choice, or null once the script is used up
+     */
+    @Override
+    public CardType chooseCardToBuy(GameView game, SplittableRandom random) {
+        return next < choices.length ? choices[next++] : null;
+    }
+
+    /**
+     * Gets the number of choices made so far.
+     *
+     * @return the number of buy phases played
+     */
+    public int getChoicesMade() {
+        return next;
+    }
+
+    @Override
+    public String toString() {
+        return "ScriptedStrategy{" + choices.length + " choices}";
+    }
+}
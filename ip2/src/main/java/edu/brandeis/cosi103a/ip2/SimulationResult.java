@@ -0,0 +1,267 @@
+package edu.brandeis.cosi103a.ip2;
+
+/**
+ * Aggregate results of a batch of simulated games.
+ * Tracks win counts, the distribution of final APs for each seat, the
+ * distribution of game lengths in turns and how often each seat bought each
+ * card type. Every statistic is updated as games finish and takes the same
+ * memory however many games are recorded.
+ */
+public class SimulationResult {
+    /** Number of exact buckets in each final AP histogram. */
+    static final int AP_BUCKETS = 512;
+    /** Number of exact buckets in the turn histogram. */
+    static final int TURN_BUCKETS = GameSimulator.DEFAULT_TURN_LIMIT + 1;
+
+    private final int seats;
+    private final int types;
+    private final long[] wins;
+    private long ties;
+    private long games;
+    private final long[] apTotals;
+    private final RunningStats[] apStats;
+    private final Histogram[] apHistograms;
+    private final Histogram turnHistogram;
+    private long turnTotal;
+    private final long[][] purchases;
+
+    /**
+     * Constructs an empty result for the given number of seats.
+     *
+     * @param seats the number of players in each game
+     */
+    public SimulationResult(int seats) {
+        this.seats = seats;
+        this.types = CardType.STANDARD_COUNT;
+        this.wins = new long[seats];
+        this.apTotals = new long[seats];
+        this.apStats = new RunningStats[seats];
+        this.apHistograms = new Histogram[seats];
+        for (int seat = 0; seat < seats; seat++) {
+            apStats[seat] = new RunningStats();
+            apHistograms[seat] = new Histogram(AP_BUCKETS);
+        }
+        this.turnHistogram = new Histogram(TURN_BUCKETS);
+        this.purchases = new long[seats][types];
+    }
+
+    /**
+     * Records the outcome of one finished game.
+     *
+     * @param finalAP the final APs of each seat
+     * @param winner  the winning seat, or -1 if the game was tied
+     * @param turns   the number of turns the game lasted
+     */
+    void recordGame(int[] finalAP, int winner, int turns) {
+        games++;
+        if (winner < 0) {
+            ties++;
+        } else {
+            wins[winner]++;
+        }
+        for (int seat = 0; seat < seats; seat++) {
+            apTotals[seat] += finalAP[seat];
+            apStats[seat].add(finalAP[seat]);
+            apHistograms[seat].add(finalAP[seat]);
+        }
+        turnTotal += turns;
+        turnHistogram.add(turns);
+    }
+
+    /**
+     * Records how many cards of a type a seat bought in one game.
+     *
+     * @param seat   the seat index
+     * @param typeId the card type's id
+     * @param count  the number of cards bought
+     */
+    void recordPurchases(int seat, int typeId, int count) {
+        purchases[seat][typeId] += count;
+    }
+
+    /**
+     * Adds all games recorded in another result to this one.
+     * Counts and histograms merge exactly in any order; the AP variances
+     * merge up to rounding, so {@link GameSimulator} always merges partial
+     * results in the same order.
+     *
+     * @param other the result to merge in; must have the same number of seats
+     */
+    public void merge(SimulationResult other) {
+        if (other.seats != seats) {
+            throw new IllegalArgumentException("Cannot merge results for " + other.seats + " seats into " + seats);
+        }
+        games += other.games;
+        ties += other.ties;
+        turnTotal += other.turnTotal;
+        turnHistogram.merge(other.turnHistogram);
+        for (int seat = 0; seat < seats; seat++) {
+            wins[seat] += other.wins[seat];
+            apTotals[seat] += other.apTotals[seat];
+            apStats[seat].merge(other.apStats[seat]);
+            apHistograms[seat].merge(other.apHistograms[seat]);
+            for (int id = 0; id < types; id++) {
+                purchases[seat][id] += other.purchases[seat][id];
+            }
+        }
+    }
+
+    /**
+     * Gets the number of seats in each game.
+     *
+     * @return the number of seats
+     */
+    public int getSeats() {
+        return seats;
+    }
+
+    /**
+     * Gets the number of games recorded.
+     *
+     * @return the number of games
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Gets the number of games won by a seat.
+     *
+     * @param seat the seat index
+     * @return the number of wins
+     */
+    public long getWins(int seat) {
+        return wins[seat];
+    }
+
+    /**
+     * Gets the number of games that ended in a tie for the highest AP.
+     *
+     * @return the number of tied games
+     */
+    public long getTies() {
+        return ties;
+    }
+
+    /**
+     * Gets the fraction of games won by a seat.
+     *
+     * @param seat the seat index
+     * @return the win rate between 0 and 1
+     */
+    public double getWinRate(int seat) {
+        return games == 0 ? 0.0 : (double) wins[seat] / games;
+    }
+
+    /**
+     * Gets the mean final AP of a seat.
+     *
+     * @param seat the seat index
+     * @return the mean final AP
+     */
+    public double getMeanAP(int seat) {
+        return games == 0 ? 0.0 : (double) apTotals[seat] / games;
+    }
+
+    /**
+     * Gets the sample variance of the final APs of a seat.
+     *
+     * @param seat the seat index
+     * @return the variance of the final AP
+     */
+    public double getAPVariance(int seat) {
+        return apStats[seat].getVariance();
+    }
+
+    /**
+     * Gets the streaming statistics of the final APs of a seat.
+     *
+     * @param seat the seat index
+     * @return the seat's AP statistics; must not be modified
+     */
+    public RunningStats getAPStats(int seat) {
+        return apStats[seat];
+    }
+
+    /**
+     * Gets a quantile of the final APs of a seat, e.g. 0.5 for the median.
+     *
+     * @param seat     the seat index
+     * @param quantile the fraction of games, between 0 and 1
+     * @return the smallest v such that the seat finished with at most v APs
+     *         in that fraction of games
+     */
+    public int getAPQuantile(int seat, double quantile) {
+        return apHistograms[seat].getQuantile(quantile);
+    }
+
+    /**
+     * Gets the distribution of final APs of a seat.
+     * Index i of the returned array holds the number of games in which the seat
+     * finished with exactly i APs.
+     *
+     * @param seat the seat index
+     * @return a copy of the AP histogram
+     */
+    public long[] getAPHistogram(int seat) {
+        return apHistograms[seat].toArray();
+    }
+
+    /**
+     * Gets the mean number of cards of a type a seat bought per game.
+     *
+     * @param seat the seat index
+     * @param type the card type
+     * @return the mean purchases per game
+     */
+    public double getMeanPurchases(int seat, CardType type) {
+        int id = type.getId();
+        return games == 0 ? 0.0 : (double) purchases[seat][id] / games;
+    }
+
+    /**
+     * Gets the mean number of turns per game.
+     *
+     * @return the mean game length in turns
+     */
+    public double getMeanTurns() {
+        return games == 0 ? 0.0 : (double) turnTotal / games;
+    }
+
+    /**
+     * Gets the distribution of game lengths.
+     * Index i of the returned array holds the number of games that lasted
+     * exactly i turns. Games longer than
+     * {@link GameSimulator#DEFAULT_TURN_LIMIT} turns are not included.
+     *
+     * @return a copy of the turn histogram
+     */
+    public long[] getTurnHistogram() {
+        return turnHistogram.toArray();
+    }
+
+    /**
+     * Gets a quantile of the game lengths, e.g. 0.9 for the 90th percentile.
+     *
+     * @param quantile the fraction of games, between 0 and 1
+     * @return the smallest t such that that fraction of games lasted at most
+     *         t turns
+     */
+    public int getTurnQuantile(double quantile) {
+        return turnHistogram.getQuantile(quantile);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("SimulationResult{games=").append(games);
+        for (int seat = 0; seat < seats; seat++) {
+            sb.append(", seat").append(seat + 1)
+                    .append("={wins=").append(wins[seat])
+                    .append(", meanAP=").append(String.format("%.2f", getMeanAP(seat)))
+                    .append('}');
+        }
+        return sb.append(", ties=").append(ties)
+                .append(", meanTurns=").append(String.format("%.2f", getMeanTurns()))
+                .append('}').toString();
+    }
+}
@@ -0,0 +1,92 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registry of named buy strategies.
+ * The built-in strategies are "heuristic" (the game's original logic),
+ * "big-money", "greedy-ap" and "random". Other strategies can be registered
+ * under their own names so that simulation runs can pick strategies per seat
+ * by name.
+ */
+public final class Strategies {
+    private static final Map<String, Strategy> REGISTRY = new LinkedHashMap<>();
+
+    static {
+        register("heuristic", new HeuristicStrategy());
+        register("big-money", new BigMoneyStrategy());
+        register("greedy-ap", new GreedyApStrategy());
+        register("random", new RandomStrategy());
+    }
+
+    private Strategies() {
+    }
+
+    /**
+     * Registers a strategy under a name, replacing any strategy already
+     * registered under that name.
+     *
+     * @param name     the strategy's name
+     * @param strategy the strategy
+     */
+    public static synchronized void register(String name, Strategy strategy) {
+        REGISTRY.put(name, strategy);
+    }
+
+    /**
+     * Gets a registered strategy by name.
+     *
+     * @param name the strategy's name
+     * @return the strategy
+     * @throws IllegalArgumentException if no strategy has that name
+     */
+    public static synchronized Strategy get(String name) {
+        Strategy strategy = REGISTRY.get(name);
+        if (strategy == null) {
+            throw new IllegalArgumentException("Unknown strategy: " + name + " (known: " + REGISTRY.keySet() + ")");
+        }
+        return strategy;
+    }
+
+    /**
+     * Gets the strategies for each seat from their names.
+     *
+     * @param names the strategy name for each seat, in seat order
+     * @return the strategy for each seat
+     * @throws IllegalArgumentException if a name is not registered
+     */
+    public static Strategy[] forSeats(String... names) {
+        Strategy[] strategies = new Strategy[names.length];
+        for (int seat = 0; seat < names.length; seat++) {
+            strategies[seat] = get(names[seat]);
+        }
+        return strategies;
+    }
+
+    /**
+     * Gets the name a strategy is registered under.
+     *
+     * @param strategy the strategy
+     * @return the strategy's name, or its toString() if it is not registered
+     */
+    public static synchronized String nameOf(Strategy strategy) {
+        for (Map.Entry<String, Strategy> entry : REGISTRY.entrySet()) {
+            if (entry.getValue() == strategy) {
+                return entry.getKey();
+            }
+        }
+        return strategy.toString();
+    }
+
+    /**
+     * Gets the names of all registered strategies, in registration order.
+     *
+     * @return the strategy names
+     */
+    public static synchronized List<String> names() {
+        return new ArrayList<>(REGISTRY.keySet());
+    }
+}
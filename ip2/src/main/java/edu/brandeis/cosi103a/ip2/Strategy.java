@@ -0,0 +1,23 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.util.SplittableRandom;
+
+/**
+ * Decides which card a player buys during the buy phase.
+ * Implementations should keep no per-game state so that one instance can be
+ * shared by every seat and every game in a simulation run, including games
+ * running in parallel on different threads. Built-in strategies are listed
+ * in {@link Strategies}.
+ */
+public interface Strategy {
+
+    /**
+     * Chooses the type of card to buy.
+     * This is called once per turn, so it should not allocate.
+     *
+     * @param game   a read-only view of the game at the moment of the decision
+     * @param random the seat's random number generator for this game
+     * @return the card type to buy, or null to buy nothing
+     */
+    CardType chooseCardToBuy(GameView game, SplittableRandom random);
+}
@@ -0,0 +1,284 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Compares two buy strategies head to head and stops as soon as the result is
+ * clear.
+ *
+ * Games are played in pairs. Both games of a pair use the same seed with the
+ * seats swapped. Each seat's shuffles come from streams split from the seed
+ * in seat order, so both strategies play the same decks from the same seat.
+ * These common random numbers cancel most of the luck of the draw. The pair
+ * is the unit of the test, scored as A's mean score over its two games.
+ *
+ * After every pair, a generalized sequential probability ratio test weighs
+ * the hypothesis that A scores 0.5 + delta against the hypothesis that it
+ * scores 0.5 - delta, using the normal approximation with the observed score
+ * variance. The run stops when the log-likelihood ratio leaves the bounds set
+ * by the error rates alpha and beta, or when the game limit is reached. When
+ * the strategies really are within delta of each other, either verdict is
+ * acceptable and the test simply takes longer.
+ *
+ * Pairs are played in batches across a fork-join pool, but results are
+ * folded in pair order, so the verdict and stopping point depend only on the
+ * seed. Strategies must be thread-safe to be compared on several threads.
+ */
+public class StrategyComparison {
+    /** Default probability of declaring A better when B is better by delta. */
+    public static final double DEFAULT_ALPHA = 0.05;
+    /** Default probability of declaring B better when A is better by delta. */
+    public static final double DEFAULT_BETA = 0.05;
+    /** Default smallest score difference from 0.5 worth detecting. */
+    public static final double DEFAULT_DELTA = 0.05;
+    /** Default maximum number of games before giving up. */
+    public static final int DEFAULT_MAX_GAMES = 200000;
+
+    /** Number of pairs played before the test may stop. */
+    private static final int MIN_PAIRS = 16;
+    /** Number of pairs played between stopping checks on the pool. */
+    private static final int BATCH_PAIRS = 64;
+    /** Number of pairs below which a batch task stops splitting. */
+    private static final int PAIRS_PER_TASK = 4;
+
+    /** Outcome code of a game won by strategy A. */
+    private static final int A_WINS = 0;
+    /** Outcome code of a game won by strategy B. */
+    private static final int B_WINS = 1;
+    /** Outcome code of a tied game. */
+    private static final int TIE = 2;
+
+    private final Strategy a;
+    private final Strategy b;
+    private double alpha = DEFAULT_ALPHA;
+    private double beta = DEFAULT_BETA;
+    private double delta = DEFAULT_DELTA;
+    private int maxGames = DEFAULT_MAX_GAMES;
+    private int turnLimit = GameSimulator.DEFAULT_TURN_LIMIT;
+    private EndCondition endCondition = EndConditions.frameworkEmpty();
+
+    /**
+     * Constructs a comparison between two strategies.
+     *
+     * @param a the first strategy
+     * @param b the second strategy
+     */
+    public StrategyComparison(Strategy a, Strategy b) {
+        this.a = a;
+        this.b = b;
+    }
+
+    /**
+     * Sets the error rates of the test.
+     *
+     * @param alpha the probability of declaring A better when B is better
+     *              by delta
+     * @param beta  the probability of declaring B better when A is better
+     *              by delta
+     * @throws IllegalArgumentException if a rate is not between 0 and 0.5
+     */
+    public void setErrorRates(double alpha, double beta) {
+        if (!(alpha > 0 && alpha < 0.5 && beta > 0 && beta < 0.5)) {
+            throw new IllegalArgumentException("Error rates must be between 0 and 0.5");
+        }
+        this.alpha = alpha;
+        this.beta = beta;
+    }
+
+    /**
+     * Sets the smallest difference from an even score worth detecting.
+     * Smaller effects need more games to decide.
+     *
+     * @param delta the score difference, between 0 and 0.5
+     * @throws IllegalArgumentException if delta is not between 0 and 0.5
+     */
+    public void setDelta(double delta) {
+        if (!(delta > 0 && delta < 0.5)) {
+            throw new IllegalArgumentException("Delta must be between 0 and 0.5");
+        }
+        this.delta = delta;
+    }
+
+    /**
+     * Sets the number of games after which an undecided comparison stops.
+     *
+     * @param maxGames the maximum number of games, rounded up to whole pairs
+     */
+    public void setMaxGames(int maxGames) {
+        this.maxGames = maxGames;
+    }
+
+    /**
+     * Sets the number of turns after which an unfinished game is stopped and
+     * scored as it stands.
+     *
+     * @param turnLimit the maximum number of turns per game
+     */
+    public void setTurnLimit(int turnLimit) {
+        this.turnLimit = turnLimit;
+    }
+
+    /**
+     * Sets the rule that decides when each game is over.
+     *
+     * @param endCondition the end condition, shared by every game
+     */
+    public void setEndCondition(EndCondition endCondition) {
+        this.endCondition = endCondition;
+    }
+
+    /**
+     * Runs the comparison on the common fork-join pool.
+     *
+     * @param seed the seed from which each pair's seed is derived
+     * @return the result of the comparison
+     */
+    public ComparisonResult run(long seed) {
+        return run(seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Runs the comparison on the given pool.
+     *
+     * @param seed the seed from which each pair's seed is derived
+     * @param pool the pool to play the games on
+     * @return the result of the comparison
+     */
+    public ComparisonResult run(long seed, ForkJoinPool pool) {
+        double lower = Math.log(beta / (1 - alpha));
+        double upper = Math.log((1 - beta) / alpha);
+        int maxPairs = (maxGames + 1) / 2;
+        int[] outcomes = new int[2 * BATCH_PAIRS];
+        RunningStats scores = new RunningStats();
+        long[] wins = new long[3];
+        double llr = 0;
+
+        for (int batch = 0; batch < maxPairs; batch += BATCH_PAIRS) {
+            int end = Math.min(batch + BATCH_PAIRS, maxPairs);
+            pool.invoke(new PairTask(seed, batch, end, batch, outcomes));
+            for (int pair = batch; pair < end; pair++) {
+                int first = outcomes[2 * (pair - batch)];
+                int second = outcomes[2 * (pair - batch) + 1];
+                wins[first]++;
+                wins[second]++;
+                scores.add((score(first) + score(second)) / 2);
+                llr = logLikelihoodRatio(scores);
+                if (scores.getCount() >= MIN_PAIRS && (llr >= upper || llr <= lower)) {
+                    return result(llr >= upper ? ComparisonResult.Verdict.A_BETTER
+                            : ComparisonResult.Verdict.B_BETTER, scores, wins, llr);
+                }
+            }
+        }
+        return result(ComparisonResult.Verdict.INCONCLUSIVE, scores, wins, llr);
+    }
+
+    /**
+     * Computes the log-likelihood ratio of A scoring 0.5 + delta against A
+     * scoring 0.5 - delta, given the pair scores so far. With the normal
+     * approximation this is n (s1 - s0) (2 mean - s0 - s1) / (2 variance).
+     *
+     * @param scores the statistics of the pair scores
+     * @return the log-likelihood ratio
+     */
+    private double logLikelihoodRatio(RunningStats scores) {
+        long n = scores.getCount();
+        double drift = 2 * scores.getMean() - 1;
+        double variance = n < 2 ? 0.0 : scores.getVariance() * (n - 1) / n;
+        if (variance == 0) {
+            // Every pair scored the same, so any imbalance is decisive
+            return drift == 0 ? 0.0 : drift * Double.POSITIVE_INFINITY;
+        }
+        return n * delta * drift / variance;
+    }
+
+    /**
+     * Gets A's score for one game outcome.
+     *
+     * @param outcome the outcome code
+     * @return 1 for a win, 0.5 for a tie, 0 for a loss
+     */
+    private static double score(int outcome) {
+        return outcome == A_WINS ? 1.0 : outcome == TIE ? 0.5 : 0.0;
+    }
+
+    /**
+     * Builds the result of a finished comparison.
+     *
+     * @param verdict the conclusion
+     * @param scores  the statistics of the pair scores
+     * @param wins    the number of games won by A, won by B and tied
+     * @param llr     the final log-likelihood ratio
+     * @return the result
+     */
+    private static ComparisonResult result(ComparisonResult.Verdict verdict, RunningStats scores, long[] wins,
+            double llr) {
+        return new ComparisonResult(verdict, scores.getCount(), wins[A_WINS], wins[B_WINS], wins[TIE],
+                scores.getMean(), scores.getVariance(), llr);
+    }
+
+    /**
+     * Plays one game and reports it from strategy A's point of view.
+     *
+     * @param seed     the game seed
+     * @param aIsFirst whether A plays seat 0
+     * @param finalAP  scratch array for the final APs
+     * @return the outcome code
+     */
+    private int playGame(long seed, boolean aIsFirst, int[] finalAP) {
+        App game = aIsFirst ? new App(seed, a, b) : new App(seed, b, a);
+        game.setEndCondition(endCondition);
+        game.playGame(turnLimit);
+        int winner = GameSimulator.scoreGame(game, finalAP);
+        if (winner < 0) {
+            return TIE;
+        }
+        return (winner == 0) == aIsFirst ? A_WINS : B_WINS;
+    }
+
+    /**
+     * Fork-join task that plays a range of game pairs, writing the two
+     * outcomes of pair i to slots 2 (i - base) and 2 (i - base) + 1.
+     */
+    private class PairTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final long seed;
+        private final int from;
+        private final int to;
+        private final int base;
+        private final int[] outcomes;
+
+        /**
+         * Constructs a task for the pairs with indices in [from, to).
+         *
+         * @param seed     the run seed
+         * @param from     the first pair index, inclusive
+         * @param to       the last pair index, exclusive
+         * @param base     the pair index of slot 0 of the outcomes
+         * @param outcomes the array that receives the outcomes
+         */
+        PairTask(long seed, int from, int to, int base, int[] outcomes) {
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+            this.base = base;
+            this.outcomes = outcomes;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PAIRS_PER_TASK) {
+                int[] finalAP = new int[2];
+                for (int pair = from; pair < to; pair++) {
+                    long pairSeed = GameSimulator.gameSeed(seed, pair);
+                    outcomes[2 * (pair - base)] = playGame(pairSeed, true, finalAP);
+                    outcomes[2 * (pair - base) + 1] = playGame(pairSeed, false, finalAP);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new PairTask(seed, from, middle, base, outcomes),
+                    new PairTask(seed, middle, to, base, outcomes));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.io.PrintStream;
+
+/**
+ * Writes game events as JSON lines, one object per event, for tools that
+ * analyse games. Every record has an "event" name, the number of turns
+ * started so far and the player involved, e.g.
+ * {"event":"purchase","turn":3,"player":"Player 1","card":"Framework"}.
+ */
+public class StructuredGameListener implements GameEventListener {
+    private final PrintStream out;
+    private int turn;
+
+    /**
+     * Constructs a listener that writes to the given stream.
+     *
+     * @param out the stream to write to
+     */
+    public StructuredGameListener(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void initialHandDealt(Player player) {
+        out.println(start("deal", player) + ",\"handSize\":" + player.getHandSize() + "}");
+    }
+
+    @Override
+    public void startingPlayerSelected(Player player) {
+        out.println(start("first", player) + "}");
+    }
+
+    @Override
+    public void turnStarted(Player player) {
+        turn++;
+        out.println(start("turn", player) + "}");
+    }
+
+    @Override
+    public void cardsPlayed(Player player, int buyingPower) {
+        out.println(start("play", player) + ",\"cards\":" + player.getPlayedCardsSize()
+                + ",\"buyingPower\":" + buyingPower + "}");
+    }
+
+    @Override
+    public void cardPurchased(Player player, CardType type) {
+        out.println(start("purchase", player) + ",\"card\":\"" + type.getName() + "\"}");
+    }
+
+    @Override
+    public void noCardPurchased(Player player) {
+        out.println(start("pass", player) + "}");
+    }
+
+    @Override
+    public void cleanupPhaseEnded(Player player, int discardedHand) {
+        out.println(start("cleanup", player) + ",\"discarded\":" + discardedHand
+                + ",\"handSize\":" + player.getHandSize() + "}");
+    }
+
+    /**
+     * Starts a JSON record with the fields every event has.
+     *
+     * @param event  the event name
+     * @param player the player involved
+     * @return the unterminated JSON object
+     */
+    private String start(String event, Player player) {
+        return "{\"event\":\"" + event + "\",\"turn\":" + turn + ",\"player\":\"" + escape(player.getName()) + "\"";
+    }
+
+    /**
+     * Escapes a string for use inside a JSON string literal.
+     *
+     * @param text the text to escape
+     * @return the escaped text
+     */
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
@@ -0,0 +1,75 @@
+package edu.brandeis.cosi103a.ip2;
+
+/**
+ * The common card supply of the Automation card game.
+ * Supply piles only ever hold cards of a single type, so the supply is just
+ * a count of remaining cards for each standard card type, indexed by type id.
+ */
+public class Supply implements SupplyView {
+    private final int[] counts;
+    private final SupplyView view;
+
+    /**
+     * Constructs an empty supply.
+     */
+    public Supply() {
+        this.counts = new int[CardType.STANDARD_COUNT];
+        this.view = this::remaining;
+    }
+
+    /**
+     * Sets the number of cards of a type in the supply.
+     *
+     * @param type     the card type
+     * @param quantity the number of cards
+     * @throws IllegalArgumentException if the quantity is negative
+     */
+    public void setRemaining(CardType type, int quantity) {
+        if (quantity < 0) {
+            throw new IllegalArgumentException("Quantity must not be negative: " + quantity);
+        }
+        counts[type.getId()] = quantity;
+    }
+
+    /**
+     * Takes one card of a type from the supply.
+     *
+     * @param type the card type
+     * @return true if a card was taken, false if none were left
+     */
+    public boolean take(CardType type) {
+        int id = type.getId();
+        if (counts[id] == 0) {
+            return false;
+        }
+        counts[id]--;
+        return true;
+    }
+
+    @Override
+    public int remaining(CardType type) {
+        return counts[type.getId()];
+    }
+
+    /**
+     * Gets a read-only view of this supply.
+     * The view reflects later changes to the supply.
+     *
+     * @return the read-only view
+     */
+    public SupplyView view() {
+        return view;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Supply{");
+        for (int id = 0; id < counts.length; id++) {
+            if (id > 0) {
+                sb.append(", ");
+            }
+            sb.append(CardType.byId(id)).append('=').append(counts[id]);
+        }
+        return sb.append('}').toString();
+    }
+}
@@ -0,0 +1,37 @@
+package edu.brandeis.cosi103a.ip2;
+
+/**
+ * Read-only view of the common card supply.
+ * Strategies use it to see how many cards of each type are left to buy.
+ */
+public interface SupplyView {
+
+    /**
+     * Gets the number of cards of a type left in the supply.
+     *
+     * @param type the card type
+     * @return the number of cards left, 0 for types not in the supply
+     */
+    int remaining(CardType type);
+
+    /**
+     * Checks whether the supply has run out of a card type.
+     *
+     * @param type the card type
+     * @return true if no cards of that type are left
+     */
+    default boolean isEmpty(CardType type) {
+        return remaining(type) == 0;
+    }
+
+    /**
+     * Checks whether a card type is left in the supply and affordable.
+     *
+     * @param type        the card type
+     * @param buyingPower the amount of cryptocoins available
+     * @return true if a card of that type can be bought
+     */
+    default boolean canBuy(CardType type, int buyingPower) {
+        return type.getCost() <= buyingPower && remaining(type) > 0;
+    }
+}
@@ -0,0 +1,385 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Ranks registered strategies by playing a heads-up round robin.
+ * Every pair of strategies plays one match. A match is a number of games
+ * played in seat-swapped pairs on the same seed, and every match uses the
+ * same seeds, so all strategies face the same deals and differences in
+ * score come from the strategies rather than the cards.
+ *
+ * Matches are scheduled with the circle method, so each round gives every
+ * strategy at most one match. All games run across a fork-join pool, but
+ * finished matches are folded into the {@link TournamentResult} in schedule
+ * order, so the ratings depend only on the seed and the settings, never on
+ * the number of threads.
+ *
+ * With a checkpoint file set, each finished match is appended to the file
+ * as soon as it is folded in. A run that finds an existing checkpoint for
+ * the same entrants, seed, match length, turn limit and end condition skips
+ * the matches it records, so an interrupted tournament resumes where it
+ * stopped.
+ */
+public class Tournament {
+    /** Default number of games in each match. */
+    public static final int DEFAULT_GAMES_PER_MATCH = 200;
+
+    /** Number of seed pairs below which a match task stops splitting. */
+    private static final int PAIRS_PER_TASK = 16;
+    /** First word of a checkpoint file, followed by the format version. */
+    private static final String CHECKPOINT_MAGIC = "tournament";
+    /** Version of the checkpoint format. */
+    private static final int CHECKPOINT_VERSION = 2;
+
+    private final String[] names;
+    private final Strategy[] strategies;
+    private int gamesPerMatch = DEFAULT_GAMES_PER_MATCH;
+    private int turnLimit = GameSimulator.DEFAULT_TURN_LIMIT;
+    private EndCondition endCondition = EndConditions.frameworkEmpty();
+    private Path checkpoint;
+
+    /**
+     * Constructs a tournament between registered strategies.
+     * Strategies are shared by all games, so they must be thread-safe.
+     *
+     * @param names the names the strategies are registered under in
+     *              {@link Strategies}
+     * @throws IllegalArgumentException if fewer than two names are given, a
+     *                                  name is repeated or a name is not
+     *                                  registered
+     */
+    public Tournament(String... names) {
+        if (names.length < 2) {
+            throw new IllegalArgumentException("A tournament needs at least 2 strategies but got " + names.length);
+        }
+        if (Arrays.stream(names).distinct().count() != names.length) {
+            throw new IllegalArgumentException("Strategy names must be distinct: " + Arrays.toString(names));
+        }
+        this.names = names.clone();
+        this.strategies = Strategies.forSeats(names);
+    }
+
+    /**
+     * Sets the number of games in each match.
+     *
+     * @param gamesPerMatch the number of games, rounded up to whole
+     *                      seat-swapped pairs
+     * @throws IllegalArgumentException if gamesPerMatch is not positive
+     */
+    public void setGamesPerMatch(int gamesPerMatch) {
+        if (gamesPerMatch <= 0) {
+            throw new IllegalArgumentException("Games per match must be positive: " + gamesPerMatch);
+        }
+        this.gamesPerMatch = gamesPerMatch + (gamesPerMatch & 1);
+    }
+
+    /**
+     * Sets the number of turns after which an unfinished game is stopped and
+     * scored as it stands.
+     *
+     * @param turnLimit the maximum number of turns per game
+     */
+    public void setTurnLimit(int turnLimit) {
+        this.turnLimit = turnLimit;
+    }
+
+    /**
+     * Sets the rule that decides when each game is over.
+     *
+     * @param endCondition the end condition, shared by every game
+     */
+    public void setEndCondition(EndCondition endCondition) {
+        this.endCondition = endCondition;
+    }
+
+    /**
+     * Sets the file that finished matches are saved to and resumed from.
+     * A resumed run must use the same settings as the run that wrote the
+     * file; the entrants, seed, match length, turn limit and end condition
+     * are checked. End conditions are compared by their toString(), which
+     * is the text form for the built-in conditions of {@link EndConditions}.
+     *
+     * @param checkpoint the checkpoint file, or null to keep no checkpoint
+     */
+    public void setCheckpoint(Path checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+
+    /**
+     * Lists the matches of a round robin in the order they are played,
+     * using the circle method: one entrant stays fixed while the others
+     * rotate, and with an odd number of entrants one sits out each round.
+     *
+     * @param entrants the number of entrants
+     * @return the entry indices of each match, in schedule order
+     */
+    static int[][] schedule(int entrants) {
+        int slots = entrants + (entrants & 1);
+        int[] circle = new int[slots];
+        for (int i = 0; i < slots; i++) {
+            circle[i] = i;
+        }
+        List<int[]> matches = new ArrayList<>();
+        for (int round = 0; round < slots - 1; round++) {
+            for (int i = 0; i < slots / 2; i++) {
+                int a = circle[i];
+                int b = circle[slots - 1 - i];
+                if (a < entrants && b < entrants) {
+                    matches.add(new int[] { Math.min(a, b), Math.max(a, b) });
+                }
+            }
+            // Keep slot 0 fixed and rotate the rest one step
+            int last = circle[slots - 1];
+            System.arraycopy(circle, 1, circle, 2, slots - 2);
+            circle[1] = last;
+        }
+        return matches.toArray(new int[0][]);
+    }
+
+    /**
+     * Runs the tournament on the common fork-join pool.
+     *
+     * @param seed the seed from which every match's game seeds are derived
+     * @return the final standings
+     * @throws IOException if the checkpoint cannot be read or written, or
+     *                     belongs to a different tournament
+     */
+    public TournamentResult run(long seed) throws IOException {
+        return run(seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Runs the tournament on the given pool.
+     *
+     * @param seed the seed from which every match's game seeds are derived
+     * @param pool the pool to play the games on
+     * @return the final standings
+     * @throws IOException if the checkpoint cannot be read or written, or
+     *                     belongs to a different tournament
+     */
+    public TournamentResult run(long seed, ForkJoinPool pool) throws IOException {
+        int[][] schedule = schedule(names.length);
+        TournamentResult result = new TournamentResult(names);
+        int done = checkpoint == null ? 0 : resume(seed, schedule, result);
+
+        // Queue every remaining match at once so the pool never runs dry,
+        // then fold the results in schedule order as they finish
+        List<ForkJoinTask<long[]>> tasks = new ArrayList<>();
+        for (int match = done; match < schedule.length; match++) {
+            int[] pairing = schedule[match];
+            tasks.add(pool.submit(new MatchTask(seed, pairing[0], pairing[1], 0, gamesPerMatch / 2)));
+        }
+        try {
+            for (int match = done; match < schedule.length; match++) {
+                int[] pairing = schedule[match];
+                long[] outcome = tasks.get(match - done).join();
+                result.recordMatch(pairing[0], pairing[1], outcome[0], outcome[1], outcome[2]);
+                if (checkpoint != null) {
+                    String line = pairing[0] + " " + pairing[1] + " " + outcome[0] + " " + outcome[1] + " "
+                            + outcome[2] + "\n";
+                    Files.write(checkpoint, line.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+                }
+            }
+        } finally {
+            for (ForkJoinTask<long[]> task : tasks) {
+                task.cancel(false);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Replays the matches recorded in the checkpoint into the result, or
+     * starts a new checkpoint if the file is missing or empty. A last line cut short by an
+     * interruption is ignored and the match is played again.
+     *
+     * @param seed     the run seed
+     * @param schedule the match schedule
+     * @param result   the standings to fold the recorded matches into
+     * @return the number of matches already played
+     * @throws IOException if the checkpoint cannot be read or written, or
+     *                     belongs to a different tournament
+     */
+    private int resume(long seed, int[][] schedule, TournamentResult result) throws IOException {
+        String header = CHECKPOINT_MAGIC + " " + CHECKPOINT_VERSION + " " + seed + " " + gamesPerMatch + " "
+                + turnLimit + " " + endCondition + " " + String.join(",", names);
+        if (!Files.exists(checkpoint) || Files.size(checkpoint) == 0) {
+            Files.write(checkpoint, (header + "\n").getBytes(StandardCharsets.UTF_8));
+            return 0;
+        }
+
+        String text = new String(Files.readAllBytes(checkpoint), StandardCharsets.UTF_8);
+        int complete = text.lastIndexOf('\n') + 1;
+        String[] lines = text.substring(0, complete).split("\n");
+        if (complete == 0 || !lines[0].equals(header)) {
+            throw new IOException("Checkpoint " + checkpoint + " belongs to a different tournament");
+        }
+        if (complete < text.length()) {
+            // Drop the partial line so the match is appended cleanly
+            Files.write(checkpoint, text.substring(0, complete).getBytes(StandardCharsets.UTF_8));
+        }
+
+        int done = lines.length - 1;
+        if (done > schedule.length) {
+            throw new IOException("Checkpoint " + checkpoint + " has more matches than the schedule");
+        }
+        for (int match = 0; match < done; match++) {
+            long[] fields = parseMatch(lines[match + 1]);
+            if (fields == null || fields[0] != schedule[match][0] || fields[1] != schedule[match][1]) {
+                throw new IOException("Checkpoint " + checkpoint + " line " + (match + 2)
+                        + " does not match the schedule");
+            }
+            result.recordMatch(schedule[match][0], schedule[match][1], fields[2], fields[3], fields[4]);
+        }
+        return done;
+    }
+
+    /**
+     * Parses one match line of a checkpoint: both entry indices, then the
+     * first strategy's wins, the second's wins and the ties.
+     *
+     * @param line the line, without its line break
+     * @return the five fields, or null if the line is malformed
+     */
+    private static long[] parseMatch(String line) {
+        String[] words = line.split(" ");
+        if (words.length != 5) {
+            return null;
+        }
+        long[] fields = new long[5];
+        try {
+            for (int i = 0; i < fields.length; i++) {
+                fields[i] = Long.parseLong(words[i]);
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return fields;
+    }
+
+    /**
+     * Plays one game and reports it from the first strategy's point of view.
+     *
+     * @param seed     the game seed
+     * @param a        the entry index of the first strategy
+     * @param b        the entry index of the second strategy
+     * @param aIsFirst whether a plays seat 0
+     * @param finalAP  scratch array for the final APs
+     * @return 0 if a won, 1 if b won, 2 for a tie
+     */
+    private int playGame(long seed, int a, int b, boolean aIsFirst, int[] finalAP) {
+        App game = aIsFirst ? new App(seed, strategies[a], strategies[b])
+                : new App(seed, strategies[b], strategies[a]);
+        game.setEndCondition(endCondition);
+        game.playGame(turnLimit);
+        int winner = GameSimulator.scoreGame(game, finalAP);
+        if (winner < 0) {
+            return 2;
+        }
+        return (winner == 0) == aIsFirst ? 0 : 1;
+    }
+
+    /**
+     * Fork-join task that plays a range of seed pairs of one match and
+     * counts the first strategy's wins, the second's wins and the ties.
+     */
+    private class MatchTask extends RecursiveTask<long[]> {
+        private static final long serialVersionUID = 1L;
+        private final long seed;
+        private final int a;
+        private final int b;
+        private final int from;
+        private final int to;
+
+        /**
+         * Constructs a task for the seed pairs with indices in [from, to).
+         *
+         * @param seed the run seed
+         * @param a    the entry index of the first strategy
+         * @param b    the entry index of the second strategy
+         * @param from the first seed pair, inclusive
+         * @param to   the last seed pair, exclusive
+         */
+        MatchTask(long seed, int a, int b, int from, int to) {
+            this.seed = seed;
+            this.a = a;
+            this.b = b;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from <= PAIRS_PER_TASK) {
+                long[] outcome = new long[3];
+                int[] finalAP = new int[2];
+                for (int pair = from; pair < to; pair++) {
+                    long pairSeed = GameSimulator.gameSeed(seed, pair);
+                    outcome[playGame(pairSeed, a, b, true, finalAP)]++;
+                    outcome[playGame(pairSeed, a, b, false, finalAP)]++;
+                }
+                return outcome;
+            }
+            int middle = (from + to) >>> 1;
+            MatchTask right = new MatchTask(seed, a, b, middle, to);
+            right.fork();
+            long[] outcome = new MatchTask(seed, a, b, from, middle).compute();
+            long[] other = right.join();
+            for (int i = 0; i < outcome.length; i++) {
+                outcome[i] += other[i];
+            }
+            return outcome;
+        }
+    }
+
+    /**
+     * Runs a tournament from the command line and prints the standings.
+     * Arguments are the strategy names, all registered strategies if none
+     * are given, optionally preceded by "-games N", "-seed S" and
+     * "-checkpoint FILE".
+     *
+     * @param args the command-line arguments
+     * @throws IOException if the checkpoint cannot be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        int games = DEFAULT_GAMES_PER_MATCH;
+        long seed = 1;
+        Path checkpoint = null;
+        int arg = 0;
+        while (arg + 1 < args.length && args[arg].startsWith("-")) {
+            switch (args[arg]) {
+                case "-games":
+                    games = Integer.parseInt(args[arg + 1]);
+                    break;
+                case "-seed":
+                    seed = Long.parseLong(args[arg + 1]);
+                    break;
+                case "-checkpoint":
+                    checkpoint = Paths.get(args[arg + 1]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + args[arg]);
+            }
+            arg += 2;
+        }
+        String[] names = arg < args.length ? Arrays.copyOfRange(args, arg, args.length)
+                : Strategies.names().toArray(new String[0]);
+
+        Tournament tournament = new Tournament(names);
+        tournament.setGamesPerMatch(games);
+        tournament.setCheckpoint(checkpoint);
+        System.out.print(tournament.run(seed).toTable());
+    }
+}
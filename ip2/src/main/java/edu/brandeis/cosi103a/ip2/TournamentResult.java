@@ -0,0 +1,294 @@
+package edu.brandeis.cosi103a.ip2;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * The standings of a {@link Tournament}: every pairing's game record and two
+ * ratings per strategy, updated after each match in schedule order.
+ *
+ * Both ratings count every game of a match. Only a match's totals are
+ * kept, so each game is scored at the match's average score, and both
+ * ratings are updated after every game in turn. The expected score then
+ * catches up with a lopsided result instead of overshooting it, as a single
+ * step for a long match does. The Glicko rating deviation shrinks with the
+ * number of games a strategy has played; its true strength lies within two
+ * deviations of its rating about 95% of the time.
+ */
+public class TournamentResult {
+    /** Rating every strategy starts from. */
+    public static final double INITIAL_RATING = 1500;
+    /** Glicko rating deviation every strategy starts from. */
+    public static final double INITIAL_DEVIATION = 350;
+    /** Elo rating change for a game won by the full expected margin. */
+    public static final double ELO_K = 32;
+
+    /** The Glicko scale factor, ln(10) / 400. */
+    private static final double Q = Math.log(10) / 400;
+
+    private final String[] names;
+    private final long[][] wins;
+    private final long[][] ties;
+    private final double[] elo;
+    private final double[] glicko;
+    private final double[] deviation;
+    private int matches;
+
+    /**
+     * Constructs empty standings.
+     *
+     * @param names the strategy names, in entry order
+     */
+    TournamentResult(String[] names) {
+        int n = names.length;
+        this.names = names.clone();
+        this.wins = new long[n][n];
+        this.ties = new long[n][n];
+        this.elo = new double[n];
+        this.glicko = new double[n];
+        this.deviation = new double[n];
+        Arrays.fill(elo, INITIAL_RATING);
+        Arrays.fill(glicko, INITIAL_RATING);
+        Arrays.fill(deviation, INITIAL_DEVIATION);
+    }
+
+    /**
+     * Records a finished match and updates both players' ratings.
+     *
+     * @param a     the entry index of the first strategy
+     * @param b     the entry index of the second strategy
+     * @param winsA the number of games a won
+     * @param winsB the number of games b won
+     * @param tied  the number of tied games
+     */
+    void recordMatch(int a, int b, long winsA, long winsB, long tied) {
+        wins[a][b] += winsA;
+        wins[b][a] += winsB;
+        ties[a][b] += tied;
+        ties[b][a] += tied;
+        matches++;
+
+        long games = winsA + winsB + tied;
+        if (games == 0) {
+            return;
+        }
+        double scoreA = (winsA + 0.5 * tied) / games;
+        for (long game = 0; game < games; game++) {
+            updateElo(a, b, scoreA);
+            updateGlicko(a, b, scoreA);
+        }
+    }
+
+    /**
+     * Applies the Elo update for one game.
+     *
+     * @param a      the first strategy
+     * @param b      the second strategy
+     * @param scoreA a's score in the game
+     */
+    private void updateElo(int a, int b, double scoreA) {
+        double expectedA = 1 / (1 + Math.pow(10, (elo[b] - elo[a]) / 400));
+        double change = ELO_K * (scoreA - expectedA);
+        elo[a] += change;
+        elo[b] -= change;
+    }
+
+    /**
+     * Applies the Glicko update for one game, treated as a rating period
+     * holding that game. Both updates use the ratings from before the game.
+     *
+     * @param a      the first strategy
+     * @param b      the second strategy
+     * @param scoreA a's score in the game
+     */
+    private void updateGlicko(int a, int b, double scoreA) {
+        double ratingA = glicko[a];
+        double deviationA = deviation[a];
+        updateGlicko(a, glicko[b], deviation[b], scoreA);
+        updateGlicko(b, ratingA, deviationA, 1 - scoreA);
+    }
+
+    /**
+     * Applies one side of a Glicko update.
+     *
+     * @param player            the strategy being updated
+     * @param opponent          the opponent's rating
+     * @param opponentDeviation the opponent's rating deviation
+     * @param score             the player's score
+     */
+    private void updateGlicko(int player, double opponent, double opponentDeviation, double score) {
+        double g = 1 / Math.sqrt(1 + 3 * Q * Q * opponentDeviation * opponentDeviation / (Math.PI * Math.PI));
+        double expected = 1 / (1 + Math.pow(10, -g * (glicko[player] - opponent) / 400));
+        double inverseDSquared = Q * Q * g * g * expected * (1 - expected);
+        double precision = 1 / (deviation[player] * deviation[player]) + inverseDSquared;
+        glicko[player] += Q / precision * g * (score - expected);
+        deviation[player] = Math.sqrt(1 / precision);
+    }
+
+    /**
+     * Gets the number of strategies entered.
+     *
+     * @return the number of strategies
+     */
+    public int getStrategyCount() {
+        return names.length;
+    }
+
+    /**
+     * Gets the name of a strategy.
+     *
+     * @param strategy the entry index
+     * @return the strategy's name
+     */
+    public String getName(int strategy) {
+        return names[strategy];
+    }
+
+    /**
+     * Gets the number of matches recorded so far.
+     *
+     * @return the number of finished pairings
+     */
+    public int getMatches() {
+        return matches;
+    }
+
+    /**
+     * Gets the number of games a strategy won against another.
+     *
+     * @param strategy the entry index of the winner
+     * @param opponent the entry index of the loser
+     * @return the number of wins
+     */
+    public long getWins(int strategy, int opponent) {
+        return wins[strategy][opponent];
+    }
+
+    /**
+     * Gets the number of games two strategies tied.
+     *
+     * @param strategy the entry index of one strategy
+     * @param opponent the entry index of the other
+     * @return the number of ties
+     */
+    public long getTies(int strategy, int opponent) {
+        return ties[strategy][opponent];
+    }
+
+    /**
+     * Gets the number of games a strategy has played.
+     *
+     * @param strategy the entry index
+     * @return the number of games
+     */
+    public long getGames(int strategy) {
+        long games = 0;
+        for (int opponent = 0; opponent < names.length; opponent++) {
+            games += wins[strategy][opponent] + wins[opponent][strategy] + ties[strategy][opponent];
+        }
+        return games;
+    }
+
+    /**
+     * Gets a strategy's average score per game against the whole field,
+     * counting a win as 1 and a tie as 1/2.
+     *
+     * @param strategy the entry index
+     * @return the average score, or 0.5 before any games
+     */
+    public double getScore(int strategy) {
+        long games = getGames(strategy);
+        if (games == 0) {
+            return 0.5;
+        }
+        double score = 0;
+        for (int opponent = 0; opponent < names.length; opponent++) {
+            score += wins[strategy][opponent] + 0.5 * ties[strategy][opponent];
+        }
+        return score / games;
+    }
+
+    /**
+     * Gets a strategy's Elo rating.
+     *
+     * @param strategy the entry index
+     * @return the Elo rating
+     */
+    public double getElo(int strategy) {
+        return elo[strategy];
+    }
+
+    /**
+     * Gets a strategy's Glicko rating.
+     *
+     * @param strategy the entry index
+     * @return the Glicko rating
+     */
+    public double getGlickoRating(int strategy) {
+        return glicko[strategy];
+    }
+
+    /**
+     * Gets the deviation of a strategy's Glicko rating.
+     *
+     * @param strategy the entry index
+     * @return the rating deviation
+     */
+    public double getGlickoDeviation(int strategy) {
+        return deviation[strategy];
+    }
+
+    /**
+     * Gets the strategies ordered from best to worst by Glicko rating, ties
+     * broken by entry order.
+     *
+     * @return the entry indices in ranking order
+     */
+    public int[] getStandings() {
+        Integer[] order = new Integer[names.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble((Integer i) -> -glicko[i]));
+        int[] standings = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            standings[i] = order[i];
+        }
+        return standings;
+    }
+
+    /**
+     * Formats the standings as a text table, best strategy first.
+     *
+     * @return the table
+     */
+    public String toTable() {
+        int width = 8;
+        for (String name : names) {
+            width = Math.max(width, name.length());
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%4s  %-" + width + "s %8s %7s %7s %7s %7s %7s %7s %7s%n",
+                "Rank", "Strategy", "Games", "Wins", "Losses", "Ties", "Score", "Elo", "Glicko", "+/-2RD"));
+        int rank = 1;
+        for (int strategy : getStandings()) {
+            long won = 0;
+            long lost = 0;
+            long tied = 0;
+            for (int opponent = 0; opponent < names.length; opponent++) {
+                won += wins[strategy][opponent];
+                lost += wins[opponent][strategy];
+                tied += ties[strategy][opponent];
+            }
+            sb.append(String.format("%4d  %-" + width + "s %8d %7d %7d %7d %6.1f%% %7.0f %7.0f %7.0f%n",
+                    rank++, names[strategy], won + lost + tied, won, lost, tied,
+                    100 * getScore(strategy), elo[strategy], glicko[strategy], 2 * deviation[strategy]));
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "TournamentResult{strategies=" + names.length + ", matches=" + matches + "}\n" + toTable();
+    }
+}
@@ -0,0 +1,140 @@
+package edu.brandeis.cosi103a.ip2;
+
+/**
+ * Decides whose turn it is in a game of two or more seats.
+ * Seats take turns in order, wrapping around from the last seat to the
+ * first, starting from a chosen seat. Advancing to the next turn is a
+ * compare and an increment whatever the number of seats, and the scheduler
+ * also knows which round a turn belongs to, where a round is one turn for
+ * every seat.
+ */
+public class TurnScheduler {
+    private final int seats;
+    private int startingSeat;
+    private int seat;
+    private int turn;
+
+    /**
+     * Constructs a scheduler whose first turn is taken by seat 0.
+     *
+     * @param seats the number of seats
+     * @throws IllegalArgumentException if there are fewer than two seats
+     */
+    public TurnScheduler(int seats) {
+        if (seats < 2) {
+            throw new IllegalArgumentException("A game needs at least 2 seats but got " + seats);
+        }
+        this.seats = seats;
+    }
+
+    /**
+     * Restarts the schedule at turn 0 with the given seat to play first.
+     *
+     * @param startingSeat the seat that takes the first turn
+     */
+    public void start(int startingSeat) {
+        this.startingSeat = checkSeat(startingSeat);
+        this.seat = startingSeat;
+        this.turn = 0;
+    }
+
+    /**
+     * Moves the schedule to a position, for example when a game is restored
+     * from a snapshot. The starting seat is derived from the position.
+     *
+     * @param seat the seat whose turn it is
+     * @param turn the number of turns completed so far
+     */
+    public void moveTo(int seat, int turn) {
+        this.seat = checkSeat(seat);
+        this.turn = turn;
+        this.startingSeat = Math.floorMod(seat - turn, seats);
+    }
+
+    /**
+     * Ends the current turn and passes play to the next seat.
+     *
+     * @return the seat whose turn it is now
+     */
+    public int advance() {
+        turn++;
+        seat = seat + 1 == seats ? 0 : seat + 1;
+        return seat;
+    }
+
+    /**
+     * Gets the seat whose turn it is.
+     *
+     * @return the current seat
+     */
+    public int getSeat() {
+        return seat;
+    }
+
+    /**
+     * Gets the seat that plays after a given seat.
+     *
+     * @param seat a seat
+     * @return the next seat in turn order
+     */
+    public int next(int seat) {
+        return seat + 1 == seats ? 0 : seat + 1;
+    }
+
+    /**
+     * Gets the number of turns completed so far.
+     *
+     * @return the number of completed turns
+     */
+    public int getTurn() {
+        return turn;
+    }
+
+    /**
+     * Gets the round the current turn belongs to. Every seat plays once per
+     * round, so a game cut off mid-round has given some seats one more turn
+     * than others.
+     *
+     * @return the round, starting at 0
+     */
+    public int getRound() {
+        return turn / seats;
+    }
+
+    /**
+     * Gets the seat that took the first turn.
+     *
+     * @return the starting seat
+     */
+    public int getStartingSeat() {
+        return startingSeat;
+    }
+
+    /**
+     * Gets the number of seats.
+     *
+     * @return the number of seats
+     */
+    public int getSeats() {
+        return seats;
+    }
+
+    /**
+     * Checks that a seat exists.
+     *
+     * @param seat the seat index
+     * @return the seat index
+     * @throws IllegalArgumentException if there is no such seat
+     */
+    private int checkSeat(int seat) {
+        if (seat < 0 || seat >= seats) {
+            throw new IllegalArgumentException("Seat " + seat + " of " + seats);
+        }
+        return seat;
+    }
+
+    @Override
+    public String toString() {
+        return "TurnScheduler{seat=" + seat + ", turn=" + turn + ", seats=" + seats + "}";
+    }
+}
@@ -82,11 +82,11 @@ public class AppTest {
         Player player = game.getCurrentPlayer();
         
         // Scenario: player has enough buying power for Framework
-        int initialSupply = game.getCardSupply().get("Framework").size();
+        int initialSupply = game.getCardSupply().remaining(CardType.FRAMEWORK);
         game.executeBuyPhase();
         
         // If card was purchased from supply, verify supply changed
-        int finalSupply = game.getCardSupply().get("Framework").size();
+        int finalSupply = game.getCardSupply().remaining(CardType.FRAMEWORK);
         assertTrue("Supply should not increase", finalSupply <= initialSupply);
     }
 
@@ -0,0 +1,73 @@
+package edu.brandeis.cosi103a.ip2;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for the CardType flyweight registry.
+ */
+public class CardTypeTest {
+
+    /**
+     * Test the standard types have the game's costs and values.
+     */
+    @Test
+    public void testStandardTypes() {
+        assertEquals(6, CardType.STANDARD_COUNT);
+        assertEquals(8, CardType.FRAMEWORK.getCost());
+        assertEquals(6, CardType.FRAMEWORK.getValue());
+        assertTrue(CardType.FRAMEWORK.isAutomation());
+        assertFalse(CardType.DOGECOIN.isAutomation());
+        assertSame(CardType.METHOD, CardType.byId(CardType.METHOD.getId()));
+    }
+
+    /**
+     * Test a card with a standard cost and value maps to the standard type.
+     */
+    @Test
+    public void testOfStandardCard() {
+        assertSame(CardType.ETHEREUM, new CryptocurrencyCard(3, 2).getType());
+        assertSame(CardType.MODULE, new AutomationCard(5, 3).getType());
+        assertSame(CardType.BITCOIN, CardType.BITCOIN.getCard().getType());
+    }
+
+    /**
+     * Test an Automation card that is not one of the standard types cannot be
+     * constructed.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonStandardAutomationCard() {
+        new AutomationCard(10, 5);
+    }
+
+    /**
+     * Test a Cryptocurrency card that is not one of the standard types cannot
+     * be constructed.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonStandardCryptocurrencyCard() {
+        new CryptocurrencyCard(1, 1);
+    }
+
+    /**
+     * Test cards of the same type are equal.
+     */
+    @Test
+    public void testCardEquality() {
+        assertEquals(CardType.DOGECOIN.getCard(), new CryptocurrencyCard(6, 3));
+        assertEquals(new AutomationCard(8, 6).hashCode(), CardType.FRAMEWORK.getCard().hashCode());
+        assertNotEquals(new AutomationCard(2, 1), new CryptocurrencyCard(0, 1));
+    }
+
+    /**
+     * Test equal cards always have the same type.
+     */
+    @Test
+    public void testEqualCardsShareType() {
+        Card card = new CryptocurrencyCard(0, 1);
+
+        assertEquals(CardType.BITCOIN.getCard(), card);
+        assertSame(CardType.BITCOIN.getCard().getType(), card.getType());
+    }
+}
@@ -0,0 +1,209 @@
+package edu.brandeis.cosi103a.ip2;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for the ring-buffer Deck.
+ */
+public class DeckTest {
+    private Deck deck;
+
+    @Before
+    public void setUp() {
+        deck = new Deck();
+    }
+
+    /**
+     * Test cards are drawn from the top in the order they were added, as the
+     * shared instances of their types.
+     */
+    @Test
+    public void testDrawInAddOrder() {
+        Card first = new CryptocurrencyCard(0, 1);
+        Card second = new AutomationCard(2, 1);
+        deck.add(first);
+        deck.add(second);
+
+        assertSame(CardType.BITCOIN.getCard(), deck.draw());
+        assertSame(CardType.METHOD.getCard(), deck.draw());
+        assertNull(deck.draw());
+        assertTrue(deck.isEmpty());
+    }
+
+    /**
+     * Test the deck keeps its order while wrapping around and growing.
+     */
+    @Test
+    public void testWrapAroundAndGrow() {
+        List<CardType> expected = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            CardType type = CardType.byId(i % CardType.STANDARD_COUNT);
+            deck.add(type);
+            expected.add(type);
+        }
+        for (int i = 0; i < 8; i++) {
+            assertSame(expected.remove(0), deck.drawType());
+        }
+        for (int i = 0; i < 40; i++) {
+            CardType type = CardType.byId((i * 5) % CardType.STANDARD_COUNT);
+            deck.add(type);
+            expected.add(type);
+        }
+
+        assertEquals(expected.size(), deck.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), deck.getType(i));
+        }
+    }
+
+    /**
+     * Test remove takes out the first occurrence and keeps the rest in order.
+     */
+    @Test
+    public void testRemove() {
+        Card a = new CryptocurrencyCard(0, 1);
+        Card b = new CryptocurrencyCard(3, 2);
+        Card c = new CryptocurrencyCard(6, 3);
+        deck.add(a);
+        deck.add(b);
+        deck.add(c);
+
+        assertTrue(deck.remove(b));
+        assertFalse(deck.contains(b));
+        assertEquals(2, deck.size());
+        assertEquals(a, deck.get(0));
+        assertEquals(c, deck.get(1));
+        assertFalse(deck.remove(b));
+    }
+
+    /**
+     * Test shuffle keeps exactly the same cards.
+     */
+    @Test
+    public void testShuffleKeepsCards() {
+        int[] counts = new int[CardType.STANDARD_COUNT];
+        for (int i = 0; i < 30; i++) {
+            CardType type = CardType.byId(i % CardType.STANDARD_COUNT);
+            deck.add(type);
+            counts[type.getId()]++;
+        }
+
+        deck.shuffle(new SplittableRandom(5));
+
+        assertEquals(30, deck.size());
+        for (int i = 0; i < deck.size(); i++) {
+            counts[deck.getType(i).getId()]--;
+        }
+        assertArrayEquals(new int[CardType.STANDARD_COUNT], counts);
+    }
+
+    /**
+     * Test the deck keeps AP and cryptocoin totals of its cards.
+     */
+    @Test
+    public void testValueTotals() {
+        deck.add(CardType.FRAMEWORK);
+        deck.add(CardType.DOGECOIN);
+        deck.add(CardType.METHOD);
+        assertEquals(7, deck.getAPValue());
+        assertEquals(3, deck.getCoinValue());
+
+        deck.drawType();
+        deck.remove(CardType.DOGECOIN.getCard());
+        assertEquals(1, deck.getAPValue());
+        assertEquals(0, deck.getCoinValue());
+
+        Deck other = new Deck();
+        other.add(CardType.ETHEREUM);
+        deck.swap(other);
+        assertEquals(0, deck.getAPValue());
+        assertEquals(2, deck.getCoinValue());
+        assertEquals(1, other.getAPValue());
+    }
+
+    /**
+     * Test the per-type counts follow cards moving between decks, and moved
+     * cards keep their order.
+     */
+    @Test
+    public void testTypeCounts() {
+        deck.add(CardType.BITCOIN);
+        deck.add(CardType.METHOD);
+        deck.add(CardType.ETHEREUM);
+        deck.add(CardType.BITCOIN);
+        assertEquals(2, deck.count(CardType.BITCOIN));
+        assertFalse(deck.contains(CardType.FRAMEWORK.getCard()));
+
+        Deck played = new Deck();
+        deck.moveCryptocurrencyTo(played);
+        assertEquals(1, deck.size());
+        assertEquals(0, deck.count(CardType.BITCOIN));
+        assertEquals(1, deck.count(CardType.METHOD));
+        assertEquals("[Bitcoin, Ethereum, Bitcoin]", played.toString());
+        assertEquals(4, played.getCoinValue());
+
+        Deck discard = new Deck();
+        discard.add(CardType.FRAMEWORK);
+        played.moveAllTo(discard);
+        deck.moveAllTo(discard);
+        assertTrue(played.isEmpty());
+        assertEquals(0, played.count(CardType.BITCOIN));
+        assertEquals("[Framework, Bitcoin, Ethereum, Bitcoin, Method]", discard.toString());
+        assertEquals(2, discard.count(CardType.BITCOIN));
+        assertEquals(7, discard.getAPValue());
+        assertEquals(discard.getType(4), discard.asList().get(4).getType());
+
+        discard.swap(deck);
+        assertEquals(1, deck.count(CardType.FRAMEWORK));
+        assertEquals(0, discard.count(CardType.FRAMEWORK));
+    }
+
+    /**
+     * Test swap exchanges the contents of two decks.
+     */
+    @Test
+    public void testSwap() {
+        Deck other = new Deck();
+        Card a = new CryptocurrencyCard(0, 1);
+        Card b = new AutomationCard(8, 6);
+        deck.add(a);
+        other.add(b);
+        other.add(a);
+
+        deck.swap(other);
+
+        assertEquals(2, deck.size());
+        assertEquals(1, other.size());
+        assertEquals(b, deck.draw());
+        assertEquals(a, other.draw());
+    }
+
+    /**
+     * Test moveTopTo moves top cards in order and stops at the target size.
+     */
+    @Test
+    public void testMoveTopTo() {
+        Deck hand = new Deck();
+        hand.add(CardType.METHOD);
+        deck.add(CardType.BITCOIN);
+        deck.add(CardType.FRAMEWORK);
+        deck.add(CardType.ETHEREUM);
+
+        assertEquals(2, deck.moveTopTo(hand, 3));
+
+        assertEquals(3, hand.size());
+        assertEquals(CardType.BITCOIN, hand.getType(1));
+        assertEquals(CardType.FRAMEWORK, hand.getType(2));
+        assertEquals(7, hand.getAPValue());
+        assertEquals(1, hand.getCoinValue());
+        assertEquals(1, deck.size());
+        assertEquals(2, deck.getCoinValue());
+        assertEquals(0, deck.moveTopTo(hand, 3));
+    }
+}
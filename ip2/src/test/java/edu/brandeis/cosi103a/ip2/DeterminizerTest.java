@@ -0,0 +1,95 @@
+package edu.brandeis.cosi103a.ip2;
+
+import static org.junit.Assert.*;
+
+import java.util.SplittableRandom;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for the hidden-information Determinizer.
+ */
+public class DeterminizerTest {
+    private GameState truth;
+    private GameState sample;
+    private Determinizer determinizer;
+    private SplittableRandom random;
+
+    @Before
+    public void setUp() {
+        App game = new App(21L, new BigMoneyStrategy(), new BigMoneyStrategy());
+        game.playGame(9);
+        truth = game.snapshot();
+        sample = new GameState(2);
+        determinizer = new Determinizer();
+        random = new SplittableRandom(4);
+    }
+
+    /**
+     * Test a sample keeps what the observer knows.
+     */
+    @Test
+    public void testKeepsKnownInformation() {
+        for (int i = 0; i < 100; i++) {
+            sample.copyFrom(truth);
+            determinizer.determinize(sample, 0, random);
+
+            for (int id = 0; id < CardType.STANDARD_COUNT; id++) {
+                CardType type = CardType.byId(id);
+                assertEquals(truth.getCount(0, GameState.HAND, type), sample.getCount(0, GameState.HAND, type));
+                assertEquals(truth.getCount(0, GameState.DRAW, type), sample.getCount(0, GameState.DRAW, type));
+                assertEquals(truth.getCount(1, GameState.DISCARD, type), sample.getCount(1, GameState.DISCARD, type));
+                assertEquals(truth.getCount(1, GameState.HAND, type) + truth.getCount(1, GameState.DRAW, type),
+                        sample.getCount(1, GameState.HAND, type) + sample.getCount(1, GameState.DRAW, type));
+            }
+            assertEquals(truth.getZoneSize(1, GameState.HAND), sample.getZoneSize(1, GameState.HAND));
+            assertEquals(truth.getAP(1), sample.getAP(1));
+            assertEquals(truth.getSupply(CardType.FRAMEWORK), sample.getSupply(CardType.FRAMEWORK));
+        }
+    }
+
+    /**
+     * Test the draw order counts match the draw counts and samples restore.
+     */
+    @Test
+    public void testSampleIsConsistent() {
+        sample.copyFrom(truth);
+        determinizer.determinize(sample, 1, random);
+
+        for (int player = 0; player < 2; player++) {
+            int[] counts = new int[CardType.STANDARD_COUNT];
+            int size = sample.getZoneSize(player, GameState.DRAW);
+            for (int i = 0; i < size; i++) {
+                counts[sample.getDrawCard(player, i).getId()]++;
+            }
+            for (int id = 0; id < counts.length; id++) {
+                assertEquals(sample.getCount(player, GameState.DRAW, CardType.byId(id)), counts[id]);
+            }
+        }
+
+        App game = new App(1L, new BigMoneyStrategy(), new BigMoneyStrategy());
+        game.restore(sample);
+        assertEquals(sample, game.snapshot());
+    }
+
+    /**
+     * Test the observer's top draw card is spread over the draw pile's cards.
+     */
+    @Test
+    public void testTopCardIsUniform() {
+        int drawSize = truth.getZoneSize(0, GameState.DRAW);
+        assertTrue("Draw pile should have cards", drawSize > 1);
+        int bitcoins = truth.getCount(0, GameState.DRAW, CardType.BITCOIN);
+        int samples = 20000;
+        int bitcoinOnTop = 0;
+        for (int i = 0; i < samples; i++) {
+            sample.copyFrom(truth);
+            determinizer.determinize(sample, 0, random);
+            if (sample.getDrawCard(0, 0) == CardType.BITCOIN) {
+                bitcoinOnTop++;
+            }
+        }
+
+        assertEquals((double) bitcoins / drawSize, (double) bitcoinOnTop / samples, 0.02);
+    }
+}
@@ -0,0 +1,119 @@
+package edu.brandeis.cosi103a.ip2;
+
+import static org.junit.Assert.*;
+
+import java.util.SplittableRandom;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for the hypergeometric DrawProbabilityEngine.
+ */
+public class DrawProbabilityEngineTest {
+    private DrawProbabilityEngine engine;
+
+    @Before
+    public void setUp() {
+        engine = new DrawProbabilityEngine();
+    }
+
+    /**
+     * Test the starting deck of 7 Bitcoins and 3 Methods.
+     */
+    @Test
+    public void testStartingDeck() {
+        // counts indexed by coin value: 3 Methods (0) and 7 Bitcoins (1)
+        HandDistribution hand = engine.nextHand(new int[] { 3, 7 }, new int[0], 5);
+
+        // P(k Bitcoins) = C(7, k) C(3, 5 - k) / C(10, 5)
+        assertEquals(21.0 / 252, hand.getProbability(2), 1e-12);
+        assertEquals(105.0 / 252, hand.getProbability(4), 1e-12);
+        assertEquals(21.0 / 252, hand.getProbability(5), 1e-12);
+        assertEquals(0.0, hand.getProbability(1), 0.0);
+        assertEquals(3.5, hand.getMean(), 1e-12);
+        assertEquals(1.0, hand.getProbabilityAtLeast(0), 1e-12);
+    }
+
+    /**
+     * Test a short draw pile is dealt whole before the discard is reshuffled.
+     */
+    @Test
+    public void testReshuffleBoundary() {
+        // Draw pile: 2 Dogecoins; discard: 1 Ethereum and 2 Methods
+        HandDistribution hand = engine.nextHand(new int[] { 0, 0, 0, 2 }, new int[] { 2, 0, 1 }, 5);
+
+        // 6 from the draw pile, then 3 of the 3 discards give 2 more
+        assertEquals(1.0, hand.getProbability(8), 1e-12);
+
+        // With 4 discards only 3 are drawn: both Ethereums are drawn half the time
+        hand = engine.nextHand(new int[] { 0, 0, 0, 2 }, new int[] { 2, 0, 2 }, 5);
+        assertEquals(0.5, hand.getProbability(10), 1e-12);
+        assertEquals(0.5, hand.getProbability(8), 1e-12);
+    }
+
+    /**
+     * Test results are cached by composition.
+     */
+    @Test
+    public void testCache() {
+        HandDistribution first = engine.nextHand(new int[] { 3, 7 }, new int[] { 1 }, 5);
+        HandDistribution second = engine.nextHand(new int[] { 3, 7 }, new int[] { 9, 9 }, 5);
+
+        assertSame(first, second);
+        assertEquals(1, engine.getCacheSize());
+    }
+
+    /**
+     * Test hand sizes too large for a cache key are computed uncached.
+     */
+    @Test
+    public void testLargeHandSizeIsNotCached() {
+        HandDistribution hand = engine.nextHand(new int[] { 100, 100 }, new int[0], 130);
+
+        assertEquals(65.0, hand.getMean(), 1e-9);
+        assertEquals(0, engine.getCacheSize());
+    }
+
+    /**
+     * Test the engine agrees with dealing real hands.
+     */
+    @Test
+    public void testMatchesSampledHands() {
+        Player player = new Player("Alice", 0, new SplittableRandom(2));
+        for (int i = 0; i < 4; i++) {
+            player.addCardToDrawPile(CardType.BITCOIN.getCard());
+        }
+        player.addCardToDrawPile(CardType.DOGECOIN.getCard());
+        for (int i = 0; i < 5; i++) {
+            player.addCardToDiscardPile(CardType.ETHEREUM.getCard());
+            player.addCardToDiscardPile(CardType.MODULE.getCard());
+        }
+        player.drawCard();
+        player.drawCard();
+        HandDistribution predicted = engine.nextHand(player, CardType.DOGECOIN);
+
+        // Sample by dealing from copies of the same piles
+        int samples = 20000;
+        double[] observed = new double[predicted.getMaxBuyingPower() + 1];
+        SplittableRandom random = new SplittableRandom(7);
+        for (int n = 0; n < samples; n++) {
+            Player copy = new Player("Copy", 0, random.split());
+            for (Card card : player.getDrawPile()) {
+                copy.addCardToDrawPile(card);
+            }
+            copy.shuffleDrawPile();
+            for (Card card : player.getDiscardPile()) {
+                copy.addCardToDiscardPile(card);
+            }
+            for (Card card : player.getHand()) {
+                copy.addCardToDiscardPile(card);
+            }
+            copy.addCardToDiscardPile(CardType.DOGECOIN.getCard());
+            copy.cleanupPhase();
+            observed[copy.getHandCoinValue()] += 1.0 / samples;
+        }
+        for (int power = 0; power < observed.length; power++) {
+            assertEquals(predicted.getProbability(power), observed[power], 0.015);
+        }
+    }
+}
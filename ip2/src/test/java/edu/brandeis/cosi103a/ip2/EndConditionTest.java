@@ -0,0 +1,130 @@
+package edu.brandeis.cosi103a.ip2;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for the built-in end conditions.
+ */
+public class EndConditionTest {
+
+    /**
+     * Test the standard rule ends games exactly when the Framework pile empties.
+     */
+    @Test
+    public void testFrameworkEmpty() {
+        App game = new App(11L, new HeuristicStrategy(), new HeuristicStrategy());
+        assertSame(EndConditions.frameworkEmpty(), game.getEndCondition());
+        while (!game.isGameOver()) {
+            assertTrue(game.getCardSupply().remaining(CardType.FRAMEWORK) > 0);
+            game.executeTurn();
+            game.endTurn();
+        }
+        assertEquals(0, game.getCardSupply().remaining(CardType.FRAMEWORK));
+    }
+
+    /**
+     * Test a turn limit ends the game after that many turns.
+     */
+    @Test
+    public void testTurnLimit() {
+        App game = new App(11L, new HeuristicStrategy(), new HeuristicStrategy());
+        game.setEndCondition(EndConditions.turnLimit(7));
+
+        assertEquals(7, game.playGame(GameSimulator.DEFAULT_TURN_LIMIT));
+        assertTrue(game.isGameOver());
+    }
+
+    /**
+     * Test an AP threshold ends the game the turn a seat reaches it.
+     */
+    @Test
+    public void testAPThreshold() {
+        App game = new App(11L, new HeuristicStrategy(), new HeuristicStrategy());
+        game.setEndCondition(EndConditions.apThreshold(10));
+        game.playGame(GameSimulator.DEFAULT_TURN_LIMIT);
+
+        int maxAP = Math.max(App.calculateFinalAP(game.getPlayers().get(0)),
+                App.calculateFinalAP(game.getPlayers().get(1)));
+        assertTrue(maxAP >= 10);
+        // The last purchase crossed the threshold; it can add at most 6 APs
+        assertTrue(maxAP < 10 + CardType.FRAMEWORK.getValue());
+    }
+
+    /**
+     * Test the empty pile rule counts every pile that runs out.
+     */
+    @Test
+    public void testPilesEmpty() {
+        App game = new App(11L, new GreedyApStrategy(), new GreedyApStrategy());
+        game.setEndCondition(EndConditions.pilesEmpty(2));
+        game.playGame(GameSimulator.DEFAULT_TURN_LIMIT);
+
+        assertTrue(game.isGameOver());
+        assertEquals(2, emptyPiles(game.getCardSupply()));
+    }
+
+    /**
+     * Test combined conditions end the game when the first of them is met,
+     * and that the tracker is rebuilt when a game is restored.
+     */
+    @Test
+    public void testAnyOfAndRestore() {
+        App game = new App(3L, new HeuristicStrategy(), new HeuristicStrategy());
+        game.setEndCondition(EndConditions.parse("framework, turns:12"));
+        GameState start = game.snapshot();
+
+        assertEquals(12, game.playGame(GameSimulator.DEFAULT_TURN_LIMIT));
+        assertTrue(game.isGameOver());
+        game.restore(start);
+        assertFalse(game.isGameOver());
+    }
+
+    /**
+     * Test built-in conditions print their text form.
+     */
+    @Test
+    public void testToStringIsTextForm() {
+        assertEquals("framework", EndConditions.frameworkEmpty().toString());
+        assertEquals("piles:3,turns:200,empty:Dogecoin",
+                EndConditions.parse("piles:3, turns:200, empty:dogecoin").toString());
+    }
+
+    /**
+     * Test the text form rejects unknown conditions.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseRejectsUnknownCondition() {
+        EndConditions.parse("piles:2,score:30");
+    }
+
+    /**
+     * Test the simulator plays rule variants without touching the game.
+     */
+    @Test
+    public void testSimulatorVariant() {
+        GameSimulator simulator = new GameSimulator(new BigMoneyStrategy(), new BigMoneyStrategy());
+        simulator.setEndCondition(EndConditions.parse("turns:20"));
+        SimulationResult result = simulator.run(50, 4L);
+
+        assertEquals(20.0, result.getMeanTurns(), 0.0);
+        assertEquals(20, result.getTurnQuantile(0.0));
+    }
+
+    /**
+     * Counts the empty standard supply piles.
+     *
+     * @param supply the supply
+     * @return the number of empty piles
+     */
+    private static int emptyPiles(SupplyView supply) {
+        int empty = 0;
+        for (int id = 0; id < CardType.STANDARD_COUNT; id++) {
+            if (supply.isEmpty(CardType.byId(id))) {
+                empty++;
+            }
+        }
+        return empty;
+    }
+}
@@ -0,0 +1,116 @@
+package edu.brandeis.cosi103a.ip2;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import org.junit.Test;
+
+/**
+ * Unit tests for the game event listeners.
+ */
+public class GameEventListenerTest {
+
+    /**
+     * Listener that counts turns and purchases.
+     */
+    private static class CountingListener implements GameEventListener {
+        private int turnsStarted;
+        private int turnsEnded;
+        private int purchases;
+        private int passes;
+
+        @Override
+        public void turnStarted(Player player) {
+            turnsStarted++;
+        }
+
+        @Override
+        public void turnEnded(Player player) {
+            turnsEnded++;
+        }
+
+        @Override
+        public void cardPurchased(Player player, CardType type) {
+            purchases++;
+        }
+
+        @Override
+        public void noCardPurchased(Player player) {
+            passes++;
+        }
+    }
+
+    /**
+     * Test a listener sees one start, one end and one buy decision per turn.
+     */
+    @Test
+    public void testListenerSeesEveryTurn() {
+        CountingListener listener = new CountingListener();
+        App game = new App(11L, listener, new HeuristicStrategy(), new HeuristicStrategy());
+
+        int turns = game.playGame(20);
+
+        assertEquals(turns, listener.turnsStarted);
+        assertEquals(turns, listener.turnsEnded);
+        assertEquals(turns, listener.purchases + listener.passes);
+    }
+
+    /**
+     * Test the structured listener writes one JSON line per purchase.
+     */
+    @Test
+    public void testStructuredListenerWritesPurchases() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CountingListener counter = new CountingListener();
+        App game = new App(5L, new StructuredGameListener(new PrintStream(bytes)),
+                new HeuristicStrategy(), new HeuristicStrategy());
+        App twin = new App(5L, counter, new HeuristicStrategy(), new HeuristicStrategy());
+        game.playGame(10);
+        twin.playGame(10);
+
+        int purchases = 0;
+        for (String line : bytes.toString().split("\n")) {
+            assertTrue(line.startsWith("{\"event\":\"") && line.endsWith("}"));
+            if (line.startsWith("{\"event\":\"purchase\"")) {
+                purchases++;
+            }
+        }
+        assertEquals(counter.purchases, purchases);
+    }
+
+    /**
+     * Test the console listener prints the turn banner.
+     */
+    @Test
+    public void testConsoleListenerPrintsTurn() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        App game = new App(3L, new ConsoleGameListener(new PrintStream(bytes)),
+                new HeuristicStrategy(), new HeuristicStrategy());
+        game.executeTurn();
+
+        String text = bytes.toString();
+        assertTrue(text.contains(" TURN =========="));
+        assertTrue(text.contains("Buying power: "));
+        assertTrue(text.contains("========== TURN COMPLETE =========="));
+    }
+
+    /**
+     * Test the default App is silent.
+     */
+    @Test
+    public void testDefaultAppPrintsNothing() {
+        PrintStream saved = System.out;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(bytes));
+        try {
+            App game = new App();
+            game.executeTurn();
+            game.endTurn();
+        } finally {
+            System.setOut(saved);
+        }
+
+        assertEquals(0, bytes.size());
+    }
+}
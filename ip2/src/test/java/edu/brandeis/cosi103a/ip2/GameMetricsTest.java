@@ -0,0 +1,171 @@
+package edu.brandeis.cosi103a.ip2;
+
+import static org.junit.Assert.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.concurrent.ForkJoinPool;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.Test;
+
+/**
+ * Unit tests for the game loop metrics registry.
+ */
+public class GameMetricsTest {
+
+    /**
+     * Test the counters agree with the results of the games they measured.
+     */
+    @Test
+    public void testCountersMatchSimulation() {
+        GameSimulator simulator = new GameSimulator(new HeuristicStrategy(), new HeuristicStrategy());
+        GameMetrics metrics = new GameMetrics();
+        simulator.setMetrics(metrics);
+        SimulationResult result = simulator.run(100, 3L);
+
+        assertEquals(100, metrics.getGames());
+        assertEquals(Math.round(result.getMeanTurns() * 100), metrics.getTurns());
+        assertEquals(metrics.getTurns(), metrics.getBuyPhaseNanos().getCount());
+        assertEquals(metrics.getTurns(), metrics.getCleanupPhaseNanos().getCount());
+        assertEquals(800, metrics.getPurchases(CardType.FRAMEWORK));
+        assertEquals(result.getMeanTurns(), metrics.getMeanTurnsPerGame(), 1e-9);
+        // Every cleanup deals a full hand of five from a ten-card deck
+        assertEquals(5 * metrics.getTurns(), metrics.getDraws());
+        assertTrue(metrics.getReshuffles() > 0);
+    }
+
+    /**
+     * Test parallel games all report to one shared registry.
+     */
+    @Test
+    public void testParallelRunSharesRegistry() {
+        GameSimulator simulator = new GameSimulator(new HeuristicStrategy(), new HeuristicStrategy());
+        GameMetrics sequential = new GameMetrics();
+        simulator.setMetrics(sequential);
+        simulator.run(1000, 9L);
+
+        GameMetrics parallel = new GameMetrics();
+        simulator.setMetrics(parallel);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            simulator.runParallel(1000, 9L, pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(sequential.getTurns(), parallel.getTurns());
+        assertEquals(sequential.getDraws(), parallel.getDraws());
+        assertEquals(sequential.getReshuffles(), parallel.getReshuffles());
+        assertEquals(sequential.getPurchases(), parallel.getPurchases());
+    }
+
+    /**
+     * Test games record nothing unless a registry is attached.
+     */
+    @Test
+    public void testMetricsOffByDefault() {
+        App game = new App(1L, new HeuristicStrategy(), new HeuristicStrategy());
+        assertNull(game.getMetrics());
+        game.playGame(GameSimulator.DEFAULT_TURN_LIMIT);
+
+        GameMetrics metrics = new GameMetrics();
+        App measured = new App(1L, new HeuristicStrategy(), new HeuristicStrategy());
+        measured.setMetrics(metrics);
+        measured.executeTurn();
+        measured.setMetrics(null);
+        measured.endTurn();
+        measured.executeTurn();
+
+        assertEquals(1, metrics.getTurns());
+        assertEquals(5, metrics.getDraws());
+    }
+
+    /**
+     * Test the histogram's quantiles stay within its relative error.
+     */
+    @Test
+    public void testLogHistogram() {
+        LogHistogram histogram = new LogHistogram();
+        for (int value = 1; value <= 100000; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(100000, histogram.getCount());
+        assertEquals(50000.5, histogram.getMean(), 1e-9);
+        assertEquals(100000, histogram.getMax());
+        assertEquals(50000, histogram.getValueAtQuantile(0.5), 50000 / 16.0);
+        assertEquals(99000, histogram.getValueAtQuantile(0.99), 99000 / 16.0);
+        assertEquals(1, histogram.getValueAtQuantile(0.0));
+        assertEquals(100000, histogram.getValueAtQuantile(1.0));
+        for (int value = 0; value < 32; value++) {
+            assertEquals(value, LogHistogram.highestValue(LogHistogram.bucketOf(value)));
+        }
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getValueAtQuantile(0.5));
+    }
+
+    /**
+     * Test the JSON snapshot stays valid in a locale with a decimal comma.
+     */
+    @Test
+    public void testJsonIgnoresDefaultLocale() {
+        Locale saved = Locale.getDefault();
+        Locale.setDefault(Locale.GERMANY);
+        try {
+            LogHistogram histogram = new LogHistogram();
+            histogram.record(1);
+            histogram.record(2);
+            StringBuilder json = new StringBuilder();
+            histogram.appendJson(json);
+            assertEquals("{\"count\":2,\"mean\":1.5,\"p50\":1,\"p90\":2,\"p99\":2,\"max\":2}",
+                    json.toString());
+
+            GameMetrics metrics = new GameMetrics();
+            App game = new App(5L, new HeuristicStrategy(), new HeuristicStrategy());
+            game.setMetrics(metrics);
+            game.playGame(GameSimulator.DEFAULT_TURN_LIMIT);
+            Matcher mean = Pattern.compile("\"mean\":([^,}]*)[,}]").matcher(metrics.toJson());
+            int means = 0;
+            while (mean.find()) {
+                Double.parseDouble(mean.group(1));
+                means++;
+            }
+            assertEquals(4, means);
+        } finally {
+            Locale.setDefault(saved);
+        }
+    }
+
+    /**
+     * Test the JSON snapshot and the JMX bean expose the same counters.
+     */
+    @Test
+    public void testJsonAndJmx() throws Exception {
+        GameMetrics metrics = new GameMetrics();
+        App game = new App(5L, new HeuristicStrategy(), new HeuristicStrategy());
+        game.setMetrics(metrics);
+        int turns = game.playGame(GameSimulator.DEFAULT_TURN_LIMIT);
+
+        String json = metrics.toJson();
+        assertTrue(json.startsWith("{\"games\":1,\"turns\":" + turns + ","));
+        assertTrue(json.contains("\"Framework\":"));
+        assertTrue(json.contains("\"buyPhaseNanos\":{\"count\":" + turns + ","));
+        assertTrue(json.contains("\"p99\":"));
+
+        ObjectName name = metrics.register("test");
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            assertEquals((long) turns, server.getAttribute(name, "Turns"));
+            assertEquals(metrics.getDraws(), server.getAttribute(name, "Draws"));
+            server.invoke(name, "reset", new Object[0], new String[0]);
+            assertEquals(0L, metrics.getGames());
+        } finally {
+            GameMetrics.unregister(name);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package edu.brandeis.cosi103a.ip2;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.junit.Test;
+
+/**
+ * Unit tests for the binary game log and its replay.
+ */
+public class GameRecorderTest {
+
+    /**
+     * Records a full game between the heuristic and big money.
+     *
+     * @param seed     the game seed
+     * @param recorder the recorder to record into
+     * @return the finished game
+     */
+    private App recordGame(long seed, GameRecorder recorder) {
+        App game = new App(seed, recorder, new HeuristicStrategy(), new BigMoneyStrategy());
+        game.playGame(GameSimulator.DEFAULT_TURN_LIMIT);
+        return game;
+    }
+
+    /**
+     * Test replaying a log rebuilds the exact final state of the game.
+     */
+    @Test
+    public void testReplayMatchesGame() {
+        for (long seed = 1; seed <= 5; seed++) {
+            GameRecorder recorder = new GameRecorder(seed, 2);
+            App game = recordGame(seed, recorder);
+
+            App replayed = GameReplayer.replay(recorder.toByteArray());
+            assertEquals(game.snapshot(), replayed.snapshot());
+            assertEquals(game.getTurn(), replayed.getTurn());
+        }
+    }
+
+    /**
+     * Test a whole game takes only a few bytes per turn.
+     */
+    @Test
+    public void testLogIsCompact() {
+        GameRecorder recorder = new GameRecorder(3L, 2);
+        App game = recordGame(3L, recorder);
+
+        assertTrue(recorder.length() < 20 * game.getTurn());
+    }
+
+    /**
+     * Test a default game between two heuristic players logs about 1.6 KB,
+     * as the class documentation states.
+     */
+    @Test
+    public void testDefaultGameSize() {
+        long bytes = 0;
+        for (long seed = 1; seed <= 100; seed++) {
+            GameRecorder recorder = new GameRecorder(seed, 2);
+            App game = new App(seed, recorder, new HeuristicStrategy(), new HeuristicStrategy());
+            game.playGame(GameSimulator.DEFAULT_TURN_LIMIT);
+            bytes += recorder.length();
+        }
+
+        double mean = bytes / 100.0;
+        assertTrue("mean log size " + mean, mean > 1400 && mean < 1800);
+    }
+
+    /**
+     * Test a log that was tampered with is detected on replay.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testDivergenceDetected() {
+        GameRecorder recorder = new GameRecorder(4L, 2);
+        recordGame(4L, recorder);
+        byte[] log = recorder.toByteArray();
+
+        // Byte 13 is the first card of the first dealt hand
+        log[13] ^= 1;
+        GameReplayer.replay(log);
+    }
+
+    /**
+     * Test several logs can be streamed to one file and read back.
+     */
+    @Test
+    public void testStreamManyLogs() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GameRecorder recorder = new GameRecorder(0L, 2);
+        byte[][] logs = new byte[3][];
+        for (int i = 0; i < logs.length; i++) {
+            recorder.reset(10L + i, 2);
+            recordGame(10L + i, recorder);
+            logs[i] = recorder.toByteArray();
+            recorder.writeTo(out);
+        }
+
+        ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+        for (byte[] log : logs) {
+            assertArrayEquals(log, GameReplayer.readLog(in));
+        }
+        assertNull(GameReplayer.readLog(in));
+    }
+}
@@ -0,0 +1,160 @@
+package edu.brandeis.cosi103a.ip2;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for the headless GameSimulator.
+ */
+public class GameSimulatorTest {
+    private GameSimulator simulator;
+
+    @Before
+    public void setUp() {
+        simulator = new GameSimulator(new HeuristicStrategy(), new HeuristicStrategy());
+    }
+
+    /**
+     * Test every game is counted exactly once as a win or a tie.
+     */
+    @Test
+    public void testRunCountsEveryGame() {
+        SimulationResult result = simulator.run(200, 42L);
+
+        assertEquals(200, result.getGames());
+        assertEquals(200, result.getWins(0) + result.getWins(1) + result.getTies());
+        assertEquals(200, Arrays.stream(result.getTurnHistogram()).sum());
+        assertEquals(200, Arrays.stream(result.getAPHistogram(0)).sum());
+    }
+
+    /**
+     * Test the same seed reproduces the same results.
+     */
+    @Test
+    public void testRunIsReproducible() {
+        SimulationResult first = simulator.run(100, 7L);
+        SimulationResult second = simulator.run(100, 7L);
+
+        assertEquals(first.getWins(0), second.getWins(0));
+        assertEquals(first.getTies(), second.getTies());
+        assertArrayEquals(first.getAPHistogram(1), second.getAPHistogram(1));
+        assertArrayEquals(first.getTurnHistogram(), second.getTurnHistogram());
+    }
+
+    /**
+     * Test parallel runs match the sequential run for any number of threads.
+     */
+    @Test
+    public void testRunParallelMatchesSequential() {
+        SimulationResult sequential = simulator.run(1000, 99L);
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool quad = new ForkJoinPool(4);
+        try {
+            for (ForkJoinPool pool : new ForkJoinPool[] { single, quad }) {
+                SimulationResult parallel = simulator.runParallel(1000, 99L, pool);
+                assertEquals(sequential.getGames(), parallel.getGames());
+                assertEquals(sequential.getWins(0), parallel.getWins(0));
+                assertEquals(sequential.getWins(1), parallel.getWins(1));
+                assertArrayEquals(sequential.getAPHistogram(0), parallel.getAPHistogram(0));
+                assertArrayEquals(sequential.getTurnHistogram(), parallel.getTurnHistogram());
+                assertEquals(sequential.getAPVariance(0), parallel.getAPVariance(0), 0.0);
+            }
+        } finally {
+            single.shutdown();
+            quad.shutdown();
+        }
+    }
+
+    /**
+     * Test games finish by emptying the Framework pile, so the winner has APs.
+     */
+    @Test
+    public void testGamesFinish() {
+        SimulationResult result = simulator.run(50, 1L);
+
+        assertTrue("Games should last more than one turn", result.getMeanTurns() > 1);
+        assertTrue("Frameworks should have been bought", result.getMeanAP(0) + result.getMeanAP(1) >= 48);
+    }
+
+    /**
+     * Test the streaming statistics agree with the histograms and the supply.
+     */
+    @Test
+    public void testStatistics() {
+        SimulationResult result = simulator.run(300, 12L);
+
+        double mean = result.getMeanAP(0);
+        double variance = 0;
+        long[] histogram = result.getAPHistogram(0);
+        for (int ap = 0; ap < histogram.length; ap++) {
+            variance += histogram[ap] * (ap - mean) * (ap - mean);
+        }
+        assertEquals(variance / 299, result.getAPVariance(0), 1e-9);
+        assertTrue(result.getAPQuantile(0, 0.1) <= result.getAPQuantile(0, 0.9));
+        assertTrue(result.getTurnQuantile(0.5) > 0);
+        assertEquals(8.0, result.getMeanPurchases(0, CardType.FRAMEWORK)
+                + result.getMeanPurchases(1, CardType.FRAMEWORK), 1e-9);
+    }
+
+    /**
+     * Test the turn limit stops games early.
+     */
+    @Test
+    public void testTurnLimit() {
+        simulator.setTurnLimit(3);
+        SimulationResult result = simulator.run(10, 3L);
+
+        assertEquals(3.0, result.getMeanTurns(), 0.0);
+    }
+
+    /**
+     * Test a seeded App rejects the wrong number of strategies.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongStrategyCount() {
+        new App(1L, new HeuristicStrategy());
+    }
+
+    /**
+     * Test a seeded App rejects more seats than the game supports.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooManyStrategies() {
+        Strategy[] strategies = new Strategy[App.MAX_PLAYERS + 1];
+        Arrays.fill(strategies, new HeuristicStrategy());
+        new App(1L, strategies);
+    }
+
+    /**
+     * Test games with more seats scale the supply and give every seat turns.
+     */
+    @Test
+    public void testMultiplayer() {
+        for (int players = App.MIN_PLAYERS; players <= App.MAX_PLAYERS; players++) {
+            Strategy[] strategies = new Strategy[players];
+            Arrays.fill(strategies, new BigMoneyStrategy());
+            App game = new App(players, strategies);
+            SupplyView supply = game.getCardSupply();
+            assertEquals(4 * players, supply.remaining(CardType.METHOD));
+            assertEquals(23 * players, supply.remaining(CardType.BITCOIN));
+            assertEquals(players == 2 ? 8 : 12, supply.remaining(CardType.FRAMEWORK));
+
+            int turns = game.playGame(GameSimulator.DEFAULT_TURN_LIMIT);
+            assertTrue(game.isGameOver());
+            assertEquals(turns % players, (game.getScheduler().getSeat()
+                    - game.getScheduler().getStartingSeat() + players) % players);
+
+            SimulationResult result = new GameSimulator(strategies).run(20, 6L);
+            assertEquals(players, result.getSeats());
+            double frameworks = 0;
+            for (int seat = 0; seat < players; seat++) {
+                frameworks += result.getMeanPurchases(seat, CardType.FRAMEWORK);
+            }
+            assertEquals(App.startingSupply(CardType.FRAMEWORK, players), frameworks, 1e-9);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package edu.brandeis.cosi103a.ip2;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for GameState snapshots.
+ */
+public class GameStateTest {
+    private App game;
+
+    @Before
+    public void setUp() {
+        game = new App(17L, new HeuristicStrategy(), new BigMoneyStrategy());
+    }
+
+    /**
+     * Test a new game's snapshot holds the starting decks and supply.
+     */
+    @Test
+    public void testInitialSnapshot() {
+        GameState state = game.snapshot();
+
+        for (int seat = 0; seat < 2; seat++) {
+            assertEquals(5, state.getZoneSize(seat, GameState.HAND));
+            assertEquals(5, state.getZoneSize(seat, GameState.DRAW));
+            assertEquals(3, state.getAP(seat));
+            assertEquals(7, state.getCount(seat, GameState.HAND, CardType.BITCOIN)
+                    + state.getCount(seat, GameState.DRAW, CardType.BITCOIN));
+        }
+        assertEquals(60 - 14, state.getSupply(CardType.BITCOIN));
+        assertEquals(8, state.getSupply(CardType.FRAMEWORK));
+    }
+
+    /**
+     * Test restoring a snapshot undoes the turns played since.
+     */
+    @Test
+    public void testRestoreRollsBack() {
+        game.playGame(6);
+        GameState before = game.snapshot();
+        int ap0 = App.calculateFinalAP(game.getPlayers().get(0));
+
+        game.playGame(30);
+        assertNotEquals(before, game.snapshot());
+
+        game.restore(before);
+        assertEquals(before, game.snapshot());
+        assertEquals(ap0, App.calculateFinalAP(game.getPlayers().get(0)));
+        assertEquals(6, game.getTurn());
+        assertEquals(before.getDrawCard(1, 0), game.getPlayers().get(1).getDrawPile().getType(0));
+    }
+
+    /**
+     * Test a restored game can be played to the end many times.
+     */
+    @Test
+    public void testBranchRepeatedly() {
+        game.playGame(4);
+        GameState root = game.snapshot();
+        GameState scratch = new GameState(2);
+
+        for (int i = 0; i < 20; i++) {
+            game.restore(root);
+            game.playGame(1000);
+            assertTrue(game.isGameOver());
+            game.snapshot(scratch);
+            assertEquals(0, scratch.getSupply(CardType.FRAMEWORK));
+        }
+        game.restore(root);
+        assertEquals(root, game.snapshot(scratch));
+    }
+
+    /**
+     * Test copies are equal and independent.
+     */
+    @Test
+    public void testCopy() {
+        GameState state = game.snapshot();
+        GameState copy = new GameState(state);
+        assertEquals(state, copy);
+        assertEquals(state.hashCode(), copy.hashCode());
+
+        game.playGame(3);
+        game.snapshot(state);
+        assertNotEquals(state, copy);
+        copy.copyFrom(state);
+        assertEquals(state, copy);
+    }
+
+    /**
+     * Test a state for the wrong number of players is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongPlayerCount() {
+        game.restore(new GameState(3));
+    }
+}
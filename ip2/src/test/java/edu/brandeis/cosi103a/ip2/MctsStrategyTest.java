@@ -0,0 +1,72 @@
+package edu.brandeis.cosi103a.ip2;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+/**
+ * Unit tests for the Monte-Carlo search strategy.
+ */
+public class MctsStrategyTest {
+
+    /**
+     * Test the search beats the original heuristic.
+     */
+    @Test
+    public void testBeatsHeuristic() {
+        MctsStrategy mcts = new MctsStrategy(300, 0, 1, new BigMoneyStrategy());
+        SimulationResult result = new GameSimulator(mcts, new HeuristicStrategy()).run(12, 3L);
+
+        assertTrue("MCTS won " + result.getWins(0) + " of 12", result.getWins(0) > 2 * result.getWins(1));
+    }
+
+    /**
+     * Test a rollout budget gives reproducible games, also with parallel
+     * workers.
+     */
+    @Test
+    public void testReproducibleWithWorkers() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            MctsStrategy mcts = new MctsStrategy(100, 0, 2, new BigMoneyStrategy(), pool);
+            SimulationResult first = new GameSimulator(mcts, new BigMoneyStrategy()).run(3, 8L);
+            SimulationResult second = new GameSimulator(mcts, new BigMoneyStrategy()).run(3, 8L);
+
+            assertArrayEquals(first.getAPHistogram(0), second.getAPHistogram(0));
+            assertArrayEquals(first.getTurnHistogram(), second.getTurnHistogram());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Test rollouts end under the real game's end condition.
+     */
+    @Test
+    public void testRolloutsUseGameEndCondition() {
+        AtomicInteger trackers = new AtomicInteger();
+        EndCondition turnLimit = EndConditions.turnLimit(6);
+        App game = new App(5L, new MctsStrategy(20, 0, 1, new BigMoneyStrategy()), new BigMoneyStrategy());
+        game.setEndCondition(() -> {
+            trackers.incrementAndGet();
+            return turnLimit.newTracker();
+        });
+
+        // The MCTS seat plays one of the first two turns
+        game.executeTurn();
+        game.endTurn();
+        game.executeTurn();
+
+        assertTrue("Rollouts created " + (trackers.get() - 1) + " trackers", trackers.get() > 1);
+    }
+
+    /**
+     * Test a search needs a budget.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testNoBudget() {
+        new MctsStrategy(0, 0, 1, new BigMoneyStrategy());
+    }
+}
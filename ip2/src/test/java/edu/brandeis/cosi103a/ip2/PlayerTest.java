@@ -4,10 +4,6 @@ import static org.junit.Assert.*;
 
 import org.junit.Before;
 import org.junit.Test;
-import java.util.HashMap;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
 
 /**
  * Unit tests for the Player class.
@@ -24,7 +20,7 @@ public class PlayerTest {
     @Before
     public void setUp() {
         player = new Player("Alice", 0);
-        automationCard = new AutomationCard(10, 5);
+        automationCard = new AutomationCard(5, 3);
         cryptoCard1 = new CryptocurrencyCard(3, 2);
         cryptoCard2 = new CryptocurrencyCard(6, 3);
         bitcoin = new CryptocurrencyCard(0, 1);
@@ -138,6 +134,46 @@ public class PlayerTest {
         assertEquals(6, player.calculatePlayedCardsValue());
     }
 
+    /**
+     * Test the running totals follow cards through a buy phase and cleanup.
+     */
+    @Test
+    public void testRunningTotals() {
+        player.addCardToDrawPile(automationCard); // 3 APs
+        player.addCardToHand(cryptoCard1); // value 2
+        player.addCardToHand(bitcoin); // value 1
+        assertEquals(3, player.getTotalAP());
+        assertEquals(3, player.getHandCoinValue());
+
+        player.playCardForBuying(cryptoCard1);
+        player.purchaseCard(new AutomationCard(8, 6));
+        assertEquals(1, player.getHandCoinValue());
+        assertEquals(2, player.calculatePlayedCardsValue());
+        assertEquals(9, player.getTotalAP());
+
+        player.cleanupPhase();
+        assertEquals(9, player.getTotalAP());
+        assertEquals(0, player.calculatePlayedCardsValue());
+        assertEquals(3, player.getHandCoinValue());
+    }
+
+    /**
+     * Test playAllCryptocurrency plays only cryptocurrency cards, in order.
+     */
+    @Test
+    public void testPlayAllCryptocurrency() {
+        player.addCardToHand(cryptoCard1);
+        player.addCardToHand(automationCard);
+        player.addCardToHand(bitcoin);
+
+        assertEquals(3, player.playAllCryptocurrency());
+        assertEquals(1, player.getHandSize());
+        assertEquals(automationCard, player.getHand().get(0));
+        assertEquals(cryptoCard1, player.getPlayedCards().get(0));
+        assertEquals(bitcoin, player.getPlayedCards().get(1));
+        assertEquals(0, player.getHandCoinValue());
+    }
+
     /**
      * Test purchaseCard adds card to discard pile.
      */
@@ -184,10 +220,7 @@ public class PlayerTest {
         player.addCardToHand(cryptoCard1);
         player.addCardToHand(bitcoin);
 
-        Map<String, List<Card>> supply = new HashMap<>();
-        supply.put("Framework", new ArrayList<>());
-        supply.put("Module", new ArrayList<>());
-        supply.put("Method", new ArrayList<>());
+        Supply supply = new Supply();
 
         boolean selected = player.selectCardsForBuying(supply);
 
@@ -204,10 +237,7 @@ public class PlayerTest {
         player.addCardToHand(cryptoCard1);
         player.addCardToHand(bitcoin);
 
-        Map<String, List<Card>> supply = new HashMap<>();
-        supply.put("Framework", new ArrayList<>());
-        supply.put("Module", new ArrayList<>());
-        supply.put("Method", new ArrayList<>());
+        Supply supply = new Supply();
 
         // Run selection multiple times - should sometimes select non-Bitcoin
         boolean selectedNonBitcoin = false;
@@ -217,7 +247,7 @@ public class PlayerTest {
             player.addCardToHand(bitcoin);
             player.selectCardsForBuying(supply);
 
-            if (player.getSelectedCardToPlay() == cryptoCard1) {
+            if (cryptoCard1.equals(player.getSelectedCardToPlay())) {
                 selectedNonBitcoin = true;
                 break;
             }
@@ -230,8 +260,7 @@ public class PlayerTest {
      */
     @Test
     public void testSelectCardsForBuyingNoCardsInHand() {
-        Map<String, List<Card>> supply = new HashMap<>();
-        supply.put("Framework", new ArrayList<>());
+        Supply supply = new Supply();
 
         boolean selected = player.selectCardsForBuying(supply);
 
@@ -262,10 +291,7 @@ public class PlayerTest {
         player.addCardToHand(cryptoCard1);
         player.playCardForBuying(cryptoCard1);
 
-        Map<String, List<Card>> supply = new HashMap<>();
-        supply.put("Framework", new ArrayList<>());
-        supply.put("Module", new ArrayList<>());
-        supply.put("Method", new ArrayList<>());
+        Supply supply = new Supply();
         player.selectCardsForBuying(supply);
 
         player.resetCardSelections();
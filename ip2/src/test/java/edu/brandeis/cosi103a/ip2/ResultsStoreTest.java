@@ -0,0 +1,120 @@
+package edu.brandeis.cosi103a.ip2;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for the memory-mapped results file.
+ */
+public class ResultsStoreTest {
+    private Path file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = Files.createTempFile("results", ".bin");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Test a record holds the game's seed, APs, winner and purchases.
+     */
+    @Test
+    public void testRecordMatchesGame() throws IOException {
+        App game = new App(8L, new HeuristicStrategy(), Strategies.get("big-money"));
+        int turns = game.playGame(GameSimulator.DEFAULT_TURN_LIMIT);
+        try (ResultsWriter writer = new ResultsWriter(file, 2)) {
+            writer.append(8L, game, turns);
+        }
+
+        try (ResultsReader reader = new ResultsReader(file)) {
+            assertEquals(1, reader.size());
+            assertEquals(8L, reader.getSeed(0));
+            assertEquals(turns, reader.getTurns(0));
+            assertEquals("big-money", reader.getStrategyName(reader.getStrategyId(0, 1)));
+
+            int[] finalAP = new int[2];
+            assertEquals(GameSimulator.scoreGame(game, finalAP), reader.getWinner(0));
+            int frameworks = 0;
+            List<Player> players = game.getPlayers();
+            for (int seat = 0; seat < 2; seat++) {
+                assertEquals(finalAP[seat], reader.getFinalAP(0, seat));
+                assertEquals(players.get(seat).countOwned(CardType.DOGECOIN),
+                        reader.getPurchases(0, seat, CardType.DOGECOIN));
+                frameworks += reader.getPurchases(0, seat, CardType.FRAMEWORK);
+            }
+            assertEquals(8, frameworks);
+        }
+    }
+
+    /**
+     * Test a parallel run writes the same records as a sequential one, and
+     * the file summarizes to the run's result.
+     */
+    @Test
+    public void testParallelRunMatchesSequential() throws IOException {
+        GameSimulator simulator = new GameSimulator(Strategies.forSeats("heuristic", "big-money"));
+        SimulationResult expected;
+        try (ResultsWriter writer = new ResultsWriter(file, 2)) {
+            expected = simulator.run(600, 5L, writer);
+        }
+        long[] seeds = new long[600];
+        try (ResultsReader reader = new ResultsReader(file)) {
+            for (int i = 0; i < seeds.length; i++) {
+                seeds[i] = reader.getSeed(i);
+            }
+            assertEquals(expected.toString(), reader.summarize().toString());
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try (ResultsWriter writer = new ResultsWriter(file, 2)) {
+            simulator.runParallel(600, 5L, pool, writer);
+        } finally {
+            pool.shutdown();
+        }
+        try (ResultsReader reader = new ResultsReader(file)) {
+            assertEquals(600, reader.size());
+            for (int i = 0; i < seeds.length; i++) {
+                assertEquals(seeds[i], reader.getSeed(i));
+            }
+            assertEquals(expected.toString(), reader.summarize().toString());
+        }
+    }
+
+    /**
+     * Test files that are not results files are rejected.
+     */
+    @Test(expected = IOException.class)
+    public void testRejectsOtherFiles() throws IOException {
+        Files.write(file, new byte[ResultsWriter.HEADER_SIZE]);
+        new ResultsReader(file).close();
+    }
+
+    /**
+     * Test a file with fewer records than its header claims is rejected.
+     */
+    @Test(expected = IOException.class)
+    public void testRejectsTruncatedFiles() throws IOException {
+        App game = new App(8L, new HeuristicStrategy(), Strategies.get("big-money"));
+        int turns = game.playGame(GameSimulator.DEFAULT_TURN_LIMIT);
+        try (ResultsWriter writer = new ResultsWriter(file, 2)) {
+            writer.append(8L, game, turns);
+            writer.append(9L, game, turns);
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+        new ResultsReader(file).close();
+    }
+}
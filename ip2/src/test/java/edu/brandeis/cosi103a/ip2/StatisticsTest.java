@@ -0,0 +1,77 @@
+package edu.brandeis.cosi103a.ip2;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Unit tests for the streaming statistics accumulators.
+ */
+public class StatisticsTest {
+
+    /**
+     * Test the running mean and variance match the textbook formulas.
+     */
+    @Test
+    public void testRunningStats() {
+        RunningStats stats = new RunningStats();
+        for (int value : new int[] { 2, 4, 4, 4, 5, 5, 7, 9 }) {
+            stats.add(value);
+        }
+
+        assertEquals(8, stats.getCount());
+        assertEquals(5.0, stats.getMean(), 1e-12);
+        assertEquals(32.0 / 7, stats.getVariance(), 1e-12);
+        assertEquals(2.0, stats.getMin(), 0.0);
+        assertEquals(9.0, stats.getMax(), 0.0);
+    }
+
+    /**
+     * Test merging partial statistics gives those of the whole sequence.
+     */
+    @Test
+    public void testRunningStatsMerge() {
+        Random random = new Random(5);
+        RunningStats whole = new RunningStats();
+        RunningStats left = new RunningStats();
+        RunningStats right = new RunningStats();
+        for (int i = 0; i < 10000; i++) {
+            double value = 1e6 + random.nextGaussian();
+            whole.add(value);
+            (i < 3000 ? left : right).add(value);
+        }
+        left.merge(right);
+        left.merge(new RunningStats());
+
+        assertEquals(whole.getCount(), left.getCount());
+        assertEquals(whole.getMean(), left.getMean(), 1e-6);
+        assertEquals(whole.getVariance(), left.getVariance(), 1e-6);
+        assertEquals(1.0, left.getVariance(), 0.05);
+    }
+
+    /**
+     * Test histogram quantiles, overflow and merging.
+     */
+    @Test
+    public void testHistogram() {
+        Histogram histogram = new Histogram(10);
+        Histogram other = new Histogram(10);
+        for (int value = 1; value <= 8; value++) {
+            histogram.add(value);
+        }
+        other.add(3);
+        other.add(50);
+        histogram.merge(other);
+
+        assertEquals(10, histogram.getTotal());
+        assertEquals(2, histogram.getCount(3));
+        assertEquals(1, histogram.getOverflow());
+        assertEquals(1, histogram.getQuantile(0.0));
+        assertEquals(4, histogram.getQuantile(0.5));
+        assertEquals(8, histogram.getQuantile(0.9));
+        assertEquals(10, histogram.getQuantile(1.0));
+        assertEquals(9, histogram.toArray().length);
+        assertEquals(-1, new Histogram(10).getQuantile(0.5));
+    }
+}
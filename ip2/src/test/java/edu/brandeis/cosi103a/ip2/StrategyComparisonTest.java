@@ -0,0 +1,69 @@
+package edu.brandeis.cosi103a.ip2;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+
+/**
+ * Unit tests for the early-stopping strategy comparison.
+ */
+public class StrategyComparisonTest {
+
+    /**
+     * Test a lopsided matchup is decided after a few pairs, in either order.
+     */
+    @Test
+    public void testStopsEarly() {
+        ComparisonResult result = new StrategyComparison(Strategies.get("random"), Strategies.get("big-money"))
+                .run(3L);
+        assertEquals(ComparisonResult.Verdict.B_BETTER, result.getVerdict());
+        assertTrue(result.getGames() < 200);
+
+        result = new StrategyComparison(Strategies.get("big-money"), Strategies.get("random")).run(3L);
+        assertEquals(ComparisonResult.Verdict.A_BETTER, result.getVerdict());
+        assertTrue(result.getScore() > 0.5);
+    }
+
+    /**
+     * Test the stopping point depends only on the seed, not on the threads.
+     */
+    @Test
+    public void testReproducibleAcrossPools() {
+        StrategyComparison comparison = new StrategyComparison(Strategies.get("random"),
+                Strategies.get("greedy-ap"));
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool quad = new ForkJoinPool(4);
+        try {
+            assertEquals(comparison.run(9L, single).toString(), comparison.run(9L, quad).toString());
+        } finally {
+            single.shutdown();
+            quad.shutdown();
+        }
+    }
+
+    /**
+     * Test seat swapping makes a strategy exactly even with itself, so the
+     * comparison runs to the game limit without a verdict.
+     */
+    @Test
+    public void testMirrorMatchIsInconclusive() {
+        StrategyComparison comparison = new StrategyComparison(Strategies.get("heuristic"),
+                Strategies.get("heuristic"));
+        comparison.setMaxGames(100);
+        ComparisonResult result = comparison.run(4L);
+
+        assertEquals(ComparisonResult.Verdict.INCONCLUSIVE, result.getVerdict());
+        assertEquals(100, result.getGames());
+        assertEquals(0.5, result.getScore(), 0.0);
+        assertEquals(result.getWinsA(), result.getWinsB());
+    }
+
+    /**
+     * Test error rates outside (0, 0.5) are rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidErrorRates() {
+        new StrategyComparison(new HeuristicStrategy(), new BigMoneyStrategy()).setErrorRates(0.0, 0.05);
+    }
+}
@@ -0,0 +1,174 @@
+package edu.brandeis.cosi103a.ip2;
+
+import static org.junit.Assert.*;
+
+import java.util.SplittableRandom;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for the built-in buy strategies and the Strategies registry.
+ */
+public class StrategyTest {
+    private Supply supply;
+    private StubView view;
+    private SplittableRandom random;
+
+    /**
+     * A game view with a fixed buying power over a test supply.
+     */
+    private class StubView implements GameView {
+        private int buyingPower;
+
+        @Override
+        public int getSeat() {
+            return 0;
+        }
+
+        @Override
+        public int getPlayerCount() {
+            return 2;
+        }
+
+        @Override
+        public int getTurn() {
+            return 0;
+        }
+
+        @Override
+        public int getBuyingPower() {
+            return buyingPower;
+        }
+
+        @Override
+        public SupplyView getSupply() {
+            return supply.view();
+        }
+
+        @Override
+        public int getAP(int seat) {
+            return 0;
+        }
+
+        @Override
+        public int getDeckSize(int seat) {
+            return 10;
+        }
+    }
+
+    @Before
+    public void setUp() {
+        supply = new Supply();
+        for (int id = 0; id < CardType.STANDARD_COUNT; id++) {
+            supply.setRemaining(CardType.byId(id), 5);
+        }
+        view = new StubView();
+        random = new SplittableRandom(1);
+    }
+
+    /**
+     * Test the heuristic buys the best affordable Automation card.
+     */
+    @Test
+    public void testHeuristicPrefersAutomation() {
+        Strategy strategy = Strategies.get("heuristic");
+
+        view.buyingPower = 8;
+        assertSame(CardType.FRAMEWORK, strategy.chooseCardToBuy(view, random));
+        view.buyingPower = 5;
+        assertSame(CardType.MODULE, strategy.chooseCardToBuy(view, random));
+        supply.setRemaining(CardType.MODULE, 0);
+        assertSame(CardType.METHOD, strategy.chooseCardToBuy(view, random));
+    }
+
+    /**
+     * Test the heuristic falls back to cryptocurrency, avoiding Bitcoin.
+     */
+    @Test
+    public void testHeuristicCryptoFallback() {
+        Strategy strategy = Strategies.get("heuristic");
+        supply.setRemaining(CardType.METHOD, 0);
+
+        view.buyingPower = 4;
+        assertSame(CardType.ETHEREUM, strategy.chooseCardToBuy(view, random));
+        view.buyingPower = 1;
+        assertSame(CardType.BITCOIN, strategy.chooseCardToBuy(view, random));
+    }
+
+    /**
+     * Test big money only buys Frameworks and the best affordable coin.
+     */
+    @Test
+    public void testBigMoney() {
+        Strategy strategy = Strategies.get("big-money");
+
+        view.buyingPower = 9;
+        assertSame(CardType.FRAMEWORK, strategy.chooseCardToBuy(view, random));
+        view.buyingPower = 7;
+        assertSame(CardType.DOGECOIN, strategy.chooseCardToBuy(view, random));
+        view.buyingPower = 3;
+        assertSame(CardType.ETHEREUM, strategy.chooseCardToBuy(view, random));
+        view.buyingPower = 2;
+        assertNull(strategy.chooseCardToBuy(view, random));
+    }
+
+    /**
+     * Test greedy AP buys any affordable Automation card before coins.
+     */
+    @Test
+    public void testGreedyAp() {
+        Strategy strategy = Strategies.get("greedy-ap");
+
+        view.buyingPower = 7;
+        assertSame(CardType.MODULE, strategy.chooseCardToBuy(view, random));
+        view.buyingPower = 0;
+        assertSame(CardType.BITCOIN, strategy.chooseCardToBuy(view, random));
+    }
+
+    /**
+     * Test the random strategy only picks affordable types left in the supply.
+     */
+    @Test
+    public void testRandomPicksAffordable() {
+        Strategy strategy = Strategies.get("random");
+        supply.setRemaining(CardType.METHOD, 0);
+        view.buyingPower = 3;
+
+        for (int i = 0; i < 100; i++) {
+            CardType type = strategy.chooseCardToBuy(view, random);
+            assertTrue(type == CardType.BITCOIN || type == CardType.ETHEREUM);
+        }
+    }
+
+    /**
+     * Test strategies can be looked up by name for each seat.
+     */
+    @Test
+    public void testRegistry() {
+        Strategy[] seats = Strategies.forSeats("big-money", "random");
+
+        assertEquals(2, seats.length);
+        assertEquals("big-money", Strategies.nameOf(seats[0]));
+        assertTrue(Strategies.names().contains("greedy-ap"));
+    }
+
+    /**
+     * Test unknown strategy names are rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownStrategy() {
+        Strategies.get("no-such-bot");
+    }
+
+    /**
+     * Test every built-in strategy can play complete games.
+     */
+    @Test
+    public void testBuiltInsPlayFullGames() {
+        for (String name : Strategies.names()) {
+            GameSimulator simulator = new GameSimulator(Strategies.forSeats(name, "heuristic"));
+            SimulationResult result = simulator.run(20, 11L);
+            assertEquals(20, result.getGames());
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package edu.brandeis.cosi103a.ip2;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for the counted card Supply.
+ */
+public class SupplyTest {
+    private Supply supply;
+
+    @Before
+    public void setUp() {
+        supply = new Supply();
+        supply.setRemaining(CardType.FRAMEWORK, 2);
+    }
+
+    /**
+     * Test take removes one card until the pile is empty.
+     */
+    @Test
+    public void testTake() {
+        assertTrue(supply.take(CardType.FRAMEWORK));
+        assertEquals(1, supply.remaining(CardType.FRAMEWORK));
+        assertTrue(supply.take(CardType.FRAMEWORK));
+        assertTrue(supply.isEmpty(CardType.FRAMEWORK));
+        assertFalse(supply.take(CardType.FRAMEWORK));
+        assertEquals(0, supply.remaining(CardType.FRAMEWORK));
+    }
+
+    /**
+     * Test the view reflects later changes and cannot be used to take cards.
+     */
+    @Test
+    public void testView() {
+        SupplyView view = supply.view();
+        supply.take(CardType.FRAMEWORK);
+
+        assertEquals(1, view.remaining(CardType.FRAMEWORK));
+        assertFalse(view instanceof Supply);
+    }
+
+    /**
+     * Test negative quantities are rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeQuantity() {
+        supply.setRemaining(CardType.METHOD, -1);
+    }
+}
@@ -0,0 +1,183 @@
+package edu.brandeis.cosi103a.ip2;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for the round-robin tournament.
+ */
+public class TournamentTest {
+    private static final String[] ENTRANTS = { "heuristic", "big-money", "greedy-ap", "random" };
+
+    private Path checkpoint;
+
+    @Before
+    public void setUp() throws IOException {
+        checkpoint = Files.createTempFile("tournament", ".txt");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(checkpoint);
+    }
+
+    /**
+     * Test the schedule pairs every two entrants once, one match per
+     * entrant per round.
+     */
+    @Test
+    public void testSchedule() {
+        for (int entrants = 2; entrants <= 9; entrants++) {
+            int[][] schedule = Tournament.schedule(entrants);
+            assertEquals(entrants * (entrants - 1) / 2, schedule.length);
+
+            boolean[][] seen = new boolean[entrants][entrants];
+            for (int[] match : schedule) {
+                assertTrue(match[0] < match[1]);
+                assertFalse(seen[match[0]][match[1]]);
+                seen[match[0]][match[1]] = true;
+            }
+
+            int perRound = entrants / 2;
+            for (int round = 0; round * perRound < schedule.length; round++) {
+                boolean[] playing = new boolean[entrants];
+                for (int i = round * perRound; i < (round + 1) * perRound; i++) {
+                    assertFalse(playing[schedule[i][0]]);
+                    assertFalse(playing[schedule[i][1]]);
+                    playing[schedule[i][0]] = true;
+                    playing[schedule[i][1]] = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Test every match has the same length and the standings reflect the
+     * results, whatever the number of threads.
+     */
+    @Test
+    public void testRunIsDeterministic() throws IOException {
+        Tournament tournament = new Tournament(ENTRANTS);
+        tournament.setGamesPerMatch(39);
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        TournamentResult sequential;
+        TournamentResult parallel;
+        try {
+            sequential = tournament.run(5L, single);
+            parallel = tournament.run(5L, pool);
+        } finally {
+            single.shutdown();
+            pool.shutdown();
+        }
+
+        assertEquals(6, sequential.getMatches());
+        for (int i = 0; i < ENTRANTS.length; i++) {
+            assertEquals(3 * 40, sequential.getGames(i));
+            assertEquals(sequential.getElo(i), parallel.getElo(i), 0.0);
+            assertEquals(sequential.getGlickoRating(i), parallel.getGlickoRating(i), 0.0);
+            for (int j = 0; j < ENTRANTS.length; j++) {
+                assertEquals(sequential.getWins(i, j), parallel.getWins(i, j));
+            }
+        }
+
+        // Big money beats every other built-in strategy heads-up
+        int[] standings = sequential.getStandings();
+        assertEquals("big-money", sequential.getName(standings[0]));
+        assertEquals("random", sequential.getName(standings[3]));
+        assertTrue(sequential.getElo(standings[0]) > TournamentResult.INITIAL_RATING);
+        assertTrue(sequential.getGlickoDeviation(0) < TournamentResult.INITIAL_DEVIATION);
+        assertTrue(sequential.toTable().contains("big-money"));
+    }
+
+    /**
+     * Test ratings count every game, so a longer match with the same score
+     * moves them further and narrows the Glicko deviation more.
+     */
+    @Test
+    public void testRatingsCountEveryGame() {
+        TournamentResult one = new TournamentResult(new String[] { "a", "b" });
+        TournamentResult ten = new TournamentResult(new String[] { "a", "b" });
+        one.recordMatch(0, 1, 1, 0, 0);
+        ten.recordMatch(0, 1, 10, 0, 0);
+
+        assertTrue(ten.getElo(0) > one.getElo(0));
+        assertTrue(ten.getGlickoRating(0) > one.getGlickoRating(0));
+        assertTrue(ten.getGlickoDeviation(0) < one.getGlickoDeviation(0));
+        assertEquals(2 * TournamentResult.INITIAL_RATING, ten.getElo(0) + ten.getElo(1), 1e-9);
+        assertTrue(ten.toTable().contains("+/-2RD"));
+    }
+
+    /**
+     * Test an interrupted tournament resumes from its checkpoint with the
+     * same standings as an uninterrupted run.
+     */
+    @Test
+    public void testResumeFromCheckpoint() throws IOException {
+        Tournament tournament = new Tournament(ENTRANTS);
+        tournament.setGamesPerMatch(20);
+        tournament.setCheckpoint(checkpoint);
+        TournamentResult whole = tournament.run(9L);
+
+        // Keep the header and two matches, plus half of the third line
+        List<String> lines = Files.readAllLines(checkpoint, StandardCharsets.UTF_8);
+        assertEquals(7, lines.size());
+        String cut = lines.get(0) + "\n" + lines.get(1) + "\n" + lines.get(2) + "\n" + lines.get(3).substring(0, 3);
+        Files.write(checkpoint, cut.getBytes(StandardCharsets.UTF_8));
+
+        TournamentResult resumed = tournament.run(9L);
+        assertEquals(7, Files.readAllLines(checkpoint, StandardCharsets.UTF_8).size());
+        for (int i = 0; i < ENTRANTS.length; i++) {
+            assertEquals(whole.getElo(i), resumed.getElo(i), 0.0);
+            assertEquals(whole.getGlickoRating(i), resumed.getGlickoRating(i), 0.0);
+            assertEquals(whole.getGames(i), resumed.getGames(i));
+        }
+    }
+
+    /**
+     * Test a checkpoint from another tournament is rejected.
+     */
+    @Test(expected = IOException.class)
+    public void testCheckpointMismatch() throws IOException {
+        Tournament tournament = new Tournament(ENTRANTS);
+        tournament.setGamesPerMatch(2);
+        tournament.setCheckpoint(checkpoint);
+        tournament.run(1L);
+        tournament.run(2L);
+    }
+
+    /**
+     * Test a checkpoint written under another end condition is rejected.
+     */
+    @Test(expected = IOException.class)
+    public void testCheckpointEndConditionMismatch() throws IOException {
+        Tournament tournament = new Tournament(ENTRANTS);
+        tournament.setGamesPerMatch(2);
+        tournament.setCheckpoint(checkpoint);
+        tournament.run(1L);
+        tournament.setEndCondition(EndConditions.parse("piles:3"));
+        tournament.run(1L);
+    }
+
+    /**
+     * Test a checkpoint written under another turn limit is rejected.
+     */
+    @Test(expected = IOException.class)
+    public void testCheckpointTurnLimitMismatch() throws IOException {
+        Tournament tournament = new Tournament(ENTRANTS);
+        tournament.setGamesPerMatch(2);
+        tournament.setCheckpoint(checkpoint);
+        tournament.run(1L);
+        tournament.setTurnLimit(50);
+        tournament.run(1L);
+    }
+}
@@ -0,0 +1,50 @@
+package edu.brandeis.cosi103a.ip2;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for the turn scheduler.
+ */
+public class TurnSchedulerTest {
+
+    /**
+     * Test seats play in order from the starting seat and wrap around.
+     */
+    @Test
+    public void testAdvanceWrapsAround() {
+        TurnScheduler scheduler = new TurnScheduler(4);
+        scheduler.start(2);
+
+        int[] expected = { 3, 0, 1, 2, 3 };
+        for (int seat : expected) {
+            assertEquals(seat, scheduler.advance());
+        }
+        assertEquals(5, scheduler.getTurn());
+        assertEquals(1, scheduler.getRound());
+        assertEquals(2, scheduler.getStartingSeat());
+    }
+
+    /**
+     * Test moving to a position derives the seat that started.
+     */
+    @Test
+    public void testMoveTo() {
+        TurnScheduler scheduler = new TurnScheduler(3);
+        scheduler.moveTo(0, 7);
+
+        assertEquals(0, scheduler.getSeat());
+        assertEquals(2, scheduler.getStartingSeat());
+        assertEquals(1, scheduler.next(0));
+        assertEquals(0, scheduler.next(2));
+    }
+
+    /**
+     * Test a scheduler needs at least two seats.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsSingleSeat() {
+        new TurnScheduler(1);
+    }
+}